@@ -0,0 +1,211 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cfs.CFSScheduler;
+import fcfs.FCFSScheduler;
+import fcfs.FCFSSimulator;
+import fcfs.IncrementalFCFS;
+import fcfs.IncrementalScheduler;
+import fcfs.ScheduleResult;
+import mlfq.MLFQScheduler;
+import model.JobSpec;
+import model.Process;
+import model.Workload;
+import priority.IncrementalPriority;
+import priority.PreemptivePriorityScheduler;
+import rr.IncrementalRoundRobin;
+import rr.RoundRobinScheduler;
+import srtf.SRTFScheduler;
+
+/**
+ * Throughput of every scheduler over the skewed FCFSSimulator workload shape.
+ * The "processes" secondary metric is the number of scheduled processes per
+ * second; run with {@code -prof gc} to get allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx8g" })
+public class SchedulerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class WorkloadState {
+        @Param({ "1000", "100000", "1000000", "10000000" })
+        public int processCount;
+
+        // multiplier applied to the ~15% huge bursts
+        @Param({ "1", "3", "10" })
+        public int burstSkew;
+
+        List<Process> template;
+        Workload columns;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            template = FCFSSimulator.generateExtremeWorkload(processCount, 0, 5, 100, burstSkew);
+            columns = Workload.fromProcesses(template);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FcfsConfig {
+        @Param({ "0", "2", "10" })
+        public int contextSwitch;
+    }
+
+    @State(Scope.Benchmark)
+    public static class RrConfig {
+        @Param({ "1", "10", "100" })
+        public int quantum;
+    }
+
+    @State(Scope.Benchmark)
+    public static class SnapshotConfig {
+        // wall time between snapshots; 0 runs without snapshots, as the baseline
+        @Param({ "0", "1000", "10000" })
+        public int snapshotMillis;
+
+        Path dir;
+
+        @Setup(Level.Trial)
+        public void createDir() throws IOException {
+            dir = Files.createTempDirectory("rr-snapshots");
+        }
+
+        @TearDown(Level.Trial)
+        public void deleteDir() throws IOException {
+            try (var files = Files.list(dir)) {
+                for (Path p : (Iterable<Path>) files::iterator)
+                    Files.deleteIfExists(p);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class IncrementalState {
+        // edited job as a fraction of the workload; later edits leave a shorter tail to re-simulate
+        @Param({ "0.5", "0.99" })
+        public double editAt;
+
+        // Round Robin with quantum 10
+        @Param({ "fcfs", "rr", "priority" })
+        public String scheduler;
+
+        IncrementalScheduler inc;
+        int job;
+        JobSpec original;
+        JobSpec longer;
+        boolean flip;
+
+        @Setup(Level.Trial)
+        public void build(WorkloadState w) {
+            switch (scheduler) {
+                case "rr":
+                    inc = new IncrementalRoundRobin(w.columns, 10);
+                    break;
+                case "priority":
+                    inc = new IncrementalPriority(w.columns);
+                    break;
+                default:
+                    inc = new IncrementalFCFS(w.columns);
+            }
+            job = (int) (editAt * (w.columns.size() - 1));
+            original = w.columns.spec(job);
+            longer = new JobSpec(original.getId(), original.getPriority(), original.getArrivalTime(),
+                    original.getBurst() + 1);
+        }
+
+        // alternate so every invocation is a real edit
+        JobSpec next() {
+            flip = !flip;
+            return flip ? longer : original;
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long processes;
+    }
+
+    @Benchmark
+    public ScheduleResult fcfs(WorkloadState w, FcfsConfig cfg, Counters c) {
+        c.processes += w.template.size();
+        return new FCFSScheduler(cfg.contextSwitch).run(w.template);
+    }
+
+    @Benchmark
+    public ScheduleResult fcfsColumnar(WorkloadState w, FcfsConfig cfg, Counters c) {
+        c.processes += w.columns.size();
+        return new FCFSScheduler(cfg.contextSwitch).run(w.columns);
+    }
+
+    /** One job edited, then re-run incrementally; compare with the full runs of the same scheduler. */
+    @Benchmark
+    public ScheduleResult incrementalEdit(WorkloadState w, IncrementalState s, Counters c) {
+        c.processes += w.columns.size();
+        return s.inc.edit(s.job, s.next());
+    }
+
+    @Benchmark
+    public ScheduleResult roundRobin(WorkloadState w, RrConfig cfg, Counters c) {
+        c.processes += w.template.size();
+        return new RoundRobinScheduler(cfg.quantum).run(w.template);
+    }
+
+    @Benchmark
+    public ScheduleResult roundRobinSnapshots(WorkloadState w, RrConfig cfg, SnapshotConfig snap, Counters c) {
+        c.processes += w.columns.size();
+        if (snap.snapshotMillis == 0)
+            return new RoundRobinScheduler(cfg.quantum).run(w.columns);
+        return new RoundRobinScheduler(cfg.quantum, snap.dir.resolve("rr.snap"),
+                Duration.ofMillis(snap.snapshotMillis)).run(w.columns);
+    }
+
+    @Benchmark
+    public ScheduleResult srtf(WorkloadState w, Counters c) {
+        c.processes += w.template.size();
+        return new SRTFScheduler().run(w.template);
+    }
+
+    @Benchmark
+    public ScheduleResult priority(WorkloadState w, Counters c) {
+        c.processes += w.template.size();
+        return new PreemptivePriorityScheduler().run(w.template);
+    }
+
+    @Benchmark
+    public ScheduleResult mlfq(WorkloadState w, Counters c) {
+        c.processes += w.columns.size();
+        return new MLFQScheduler().run(w.columns);
+    }
+
+    @Benchmark
+    public ScheduleResult cfs(WorkloadState w, Counters c) {
+        c.processes += w.columns.size();
+        return new CFSScheduler().run(w.columns);
+    }
+}
@@ -1,3 +1,4 @@
+import fcfs.ScheduleResult;
 import model.Process;
 import priority.PreemptivePriorityScheduler;
 
@@ -11,6 +12,7 @@ public class Main {
                 new model.Process("P3", 3, 4, 2),
                 new Process("P4", 5, 5, 4)
         );
-        new PreemptivePriorityScheduler().run(processes);
+        ScheduleResult r = new PreemptivePriorityScheduler(System.out::println).run(processes);
+        PreemptivePriorityScheduler.printMetrics(r);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+package cache;
+
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import model.Workload;
+import util.BinaryFormat;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Content-addressed on-disk cache of schedule results. An entry is keyed by
+ * the workload {@link Workload#fingerprint() fingerprint}, its time unit and
+ * the scheduler {@link Scheduler#config() config}, and holds the result in
+ * {@link BinaryFormat} (summary, per-job times and the whole timeline).
+ *
+ * The directory is bounded to {@code maxBytes}; least recently used entries
+ * are evicted first. Recency is kept in the files' modification times, so it
+ * survives restarts. Entries are written to a temporary file and moved into
+ * place, so readers never see a partial entry; an unreadable entry counts as a
+ * miss and is dropped. Safe to share between threads.
+ */
+public final class ResultCache {
+    private static final String SUFFIX = ".bin";
+
+    private final Path dir;
+    private final long maxBytes;
+    // entry name -> size in bytes, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+
+    public ResultCache(Path dir, long maxBytes) throws IOException {
+        if (maxBytes <= 0)
+            throw new IllegalArgumentException("maxBytes > 0");
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(dir);
+
+        List<Path> found = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+            for (Path p : ds) {
+                String name = p.getFileName().toString();
+                if (name.endsWith(".tmp"))
+                    Files.deleteIfExists(p); // left over from a crash mid-write
+                else if (name.endsWith(SUFFIX))
+                    found.add(p);
+            }
+        }
+        Map<Path, FileTime> modified = new HashMap<>();
+        for (Path p : found)
+            modified.put(p, Files.getLastModifiedTime(p));
+        found.sort(Comparator.comparing(modified::get));
+        for (Path p : found) {
+            long size = Files.size(p);
+            entries.put(p.getFileName().toString(), size);
+            totalBytes += size;
+        }
+        evict(null);
+    }
+
+    /**
+     * Entry name for this scheduler and workload, or {@code null} when the
+     * scheduler has no config and so cannot be cached.
+     */
+    public static String key(Scheduler scheduler, Workload w) {
+        String config = scheduler.config();
+        if (config == null)
+            return null;
+        return w.fingerprint() + "-" + String.format("%016x", hash(config + "|" + w.timeUnit())) + SUFFIX;
+    }
+
+    /** The cached result, or runs {@code scheduler} and caches what it returns. */
+    public ScheduleResult run(Scheduler scheduler, Workload w) throws IOException {
+        ScheduleResult r = get(scheduler, w);
+        if (r != null)
+            return r;
+        r = scheduler.run(w);
+        put(scheduler, w, r);
+        return r;
+    }
+
+    /** The cached result, or {@code null} on a miss. */
+    public ScheduleResult get(Scheduler scheduler, Workload w) throws IOException {
+        String key = key(scheduler, w);
+        if (key == null)
+            return null;
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                misses++;
+                return null;
+            }
+        }
+        Path file = dir.resolve(key);
+        try {
+            ScheduleResult r = BinaryFormat.readSchedule(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            synchronized (this) {
+                hits++;
+            }
+            return r;
+        } catch (NoSuchFileException ex) {
+            // evicted by another thread between the lookup and the read
+            remove(key);
+        } catch (IOException ex) {
+            remove(key);
+            Files.deleteIfExists(file);
+        }
+        synchronized (this) {
+            misses++;
+        }
+        return null;
+    }
+
+    /** Stores {@code r}; a no-op for schedulers without a config or results larger than the cache. */
+    public void put(Scheduler scheduler, Workload w, ScheduleResult r) throws IOException {
+        String key = key(scheduler, w);
+        if (key == null)
+            return;
+        Path tmp = Files.createTempFile(dir, "entry", ".tmp");
+        try {
+            BinaryFormat.writeSchedule(r, tmp);
+            long size = Files.size(tmp);
+            if (size > maxBytes)
+                return;
+            Files.move(tmp, dir.resolve(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                Long old = entries.put(key, size);
+                totalBytes += size - (old == null ? 0 : old);
+                evict(key);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized int entries() {
+        return entries.size();
+    }
+
+    public synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    private synchronized void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null)
+            totalBytes -= size;
+    }
+
+    // drops least recently used entries until the cache fits, never {@code keep}
+    private void evict(String keep) throws IOException {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> e = it.next();
+            if (e.getKey().equals(keep))
+                continue;
+            it.remove();
+            totalBytes -= e.getValue();
+            Files.deleteIfExists(dir.resolve(e.getKey()));
+        }
+    }
+
+    private static long hash(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++)
+            h = (h ^ s.charAt(i)) * 0x100000001B3L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,196 @@
+package cfs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import metrics.JobMetrics;
+import metrics.SchedulerListener;
+import model.ExecutionState;
+import model.Workload;
+
+/**
+ * Weighted fair sharing in the style of Linux's Completely Fair Scheduler.
+ * Every runnable process accumulates virtual runtime at a rate inversely
+ * proportional to its weight, and the one with the smallest vruntime runs
+ * next. The run queue is a red-black tree ({@link TreeSet}) ordered by
+ * vruntime, so enqueue and pick-next are O(log n).
+ *
+ * A picked process gets {@code period * weight / totalWeight}, where the
+ * period is {@code targetLatency} stretched to {@code minGranularity} per
+ * runnable process once there are too many to fit. New arrivals start at the
+ * queue's min_vruntime so they cannot monopolise the CPU, and are placed when
+ * the running slice ends (there is no wake-up preemption).
+ *
+ * Weights come from the kernel's nice table via {@link #niceOf(int)}: a
+ * higher priority number means a lower nice value and a bigger share.
+ *
+ * With 64-bit ticks vruntime can pass {@link Long#MAX_VALUE} on long
+ * nanosecond traces (after about 2e12 ticks at nice 19), so, as in the
+ * kernel, vruntimes are only ever compared by their signed difference and
+ * are allowed to wrap.
+ */
+public class CFSScheduler implements Scheduler {
+    /** Kernel sched_prio_to_weight, nice -20 .. 19; nice 0 is 1024. */
+    static final int[] NICE_TO_WEIGHT = {
+            88761, 71755, 56483, 46273, 36291,
+            29154, 23254, 18705, 14949, 11916,
+            9548, 7620, 6100, 4904, 3906,
+            3121, 2501, 1991, 1586, 1277,
+            1024, 820, 655, 526, 423,
+            335, 272, 215, 172, 137,
+            110, 87, 70, 56, 45,
+            36, 29, 23, 18, 15,
+    };
+    // vruntime is kept in 1/65536 ticks of a nice-0 process; one slice (an int) times this stays below 2^57
+    private static final long VR_SCALE = 1024L << 16;
+
+    private final int targetLatency;
+    private final int minGranularity;
+
+    /** Kernel defaults (6 ms latency, 0.75 ms granularity) with 1 tick = 0.25 ms. */
+    public CFSScheduler() {
+        this(24, 3);
+    }
+
+    public CFSScheduler(int targetLatency, int minGranularity) {
+        if (minGranularity <= 0)
+            throw new IllegalArgumentException("minGranularity > 0");
+        if (targetLatency < minGranularity)
+            throw new IllegalArgumentException("targetLatency >= minGranularity");
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+    }
+
+    @Override
+    public String config() {
+        return "cfs latency=" + targetLatency + " granularity=" + minGranularity;
+    }
+
+    /** Priority 0 is nice 0, each priority step is one nice level, clamped to -20 .. 19. */
+    public static int niceOf(int priority) {
+        return Math.max(-20, Math.min(19, -priority));
+    }
+
+    public static int weightOf(int priority) {
+        return NICE_TO_WEIGHT[niceOf(priority) + 20];
+    }
+
+    @Override
+    public ScheduleResult run(Workload w, SchedulerListener listener) {
+        if (w.hasIo())
+            throw new IllegalArgumentException("CFS scheduler does not model I/O bursts");
+        long t0 = System.nanoTime();
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        ExecutionState state = w.newExecutionState();
+        int[] weight = new int[n];
+        for (int j = 0; j < n; j++)
+            weight[j] = weightOf(w.priority(j));
+        long[] vruntime = new long[n];
+        long[] seq = new long[n]; // FIFO among equal vruntimes
+        TreeSet<Integer> runQueue = new TreeSet<>((a, b) -> {
+            int c = Long.signum(vruntime[a] - vruntime[b]);
+            return c != 0 ? c : Long.compare(seq[a], seq[b]);
+        });
+        long t1 = System.nanoTime();
+        listener.phase("prepare", t1 - t0);
+
+        List<GanttEntry> gantt = new ArrayList<>();
+        int finished = 0;
+        long time = 0;
+        long totalBusy = 0;
+        JobMetrics metrics = new JobMetrics();
+        int nextArr = 0;
+        long nextSeq = 0;
+        long minVruntime = 0;
+        long totalWeight = 0; // runnable, including the running process
+        int last = -1;
+
+        while (finished < n) {
+            while (nextArr < n && w.arrival(order[nextArr]) <= time) {
+                int j = order[nextArr++];
+                vruntime[j] = minVruntime;
+                seq[j] = nextSeq++;
+                runQueue.add(j);
+                totalWeight += weight[j];
+            }
+
+            if (runQueue.isEmpty()) {
+                long next = w.arrival(order[nextArr]);
+                gantt.add(new GanttEntry("idle", time, next));
+                listener.idle(time, next, 0);
+                time = next;
+                continue;
+            }
+
+            int cur = runQueue.pollFirst();
+            if (cur != last) {
+                if (last >= 0) {
+                    if (!state.isFinished(last))
+                        listener.preempt(time, 0, last);
+                    listener.contextSwitch(time, 0, 0);
+                }
+                listener.dispatch(time, 0, cur, runQueue.size());
+            }
+            last = cur;
+
+            int runnable = runQueue.size() + 1;
+            long period = Math.max(targetLatency, (long) runnable * minGranularity);
+            long slice = Math.max(1, period * weight[cur] / totalWeight);
+            if (runQueue.isEmpty()) {
+                // alone: it would be picked again after every slice until something arrives
+                if (nextArr < n) {
+                    long gap = w.arrival(order[nextArr]) - time;
+                    slice = Math.max(1, (gap + slice - 1) / slice) * slice;
+                } else {
+                    slice = Integer.MAX_VALUE;
+                }
+            }
+
+            long start = time;
+            int run = state.runFor(cur, (int) Math.min(slice, Integer.MAX_VALUE), start);
+            time += run;
+            totalBusy += run;
+            vruntime[cur] += run * VR_SCALE / weight[cur];
+            GanttEntry.appendMerged(gantt, w.id(cur), start, time);
+
+            // min_vruntime only moves forward
+            boolean any = !state.isFinished(cur);
+            long floor = vruntime[cur];
+            if (!runQueue.isEmpty()) {
+                long first = vruntime[runQueue.first()];
+                if (!any || first - floor < 0)
+                    floor = first;
+                any = true;
+            }
+            if (any && floor - minVruntime > 0)
+                minVruntime = floor;
+
+            if (state.isFinished(cur)) {
+                finished++;
+                totalWeight -= weight[cur];
+                // preemptive -> waiting = turnaround - original burst
+                metrics.record(w.arrival(cur), state.start(cur), time, w.burst(cur));
+                listener.complete(time, 0, cur);
+            } else {
+                // ahead of arrivals placed at the same vruntime, which is what the kernel's start debit does
+                seq[cur] = nextSeq++;
+                runQueue.add(cur);
+            }
+        }
+        long t2 = System.nanoTime();
+        listener.phase("simulate", t2 - t1);
+
+        double avgTurnaround = metrics.turnaround.mean();
+        double avgWaiting = metrics.waiting.mean();
+        double cpuUtil = time == 0 ? 0.0 : (100.0 * totalBusy / time);
+        ScheduleResult r = new ScheduleResult(w.resultView(order, state), gantt, avgTurnaround, avgWaiting, cpuUtil,
+                time, metrics);
+        listener.phase("collect", System.nanoTime() - t2);
+        return r;
+    }
+}
@@ -1,9 +1,13 @@
 package fcfs;
 
-import model.Process;
+import metrics.JobMetrics;
+import metrics.SchedulerListener;
+import model.ExecutionState;
+import model.Workload;
+import util.IntRingQueue;
+import util.LongMinHeap;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -24,51 +28,161 @@ public class FCFSScheduler implements Scheduler {
         this.contextSwitchTime = contextSwitchTime;
     }
 
-    public ScheduleResult run(List<Process> processes) {
-        // Defensive copy and sort by arrival
-        List<Process> procs = new ArrayList<>(processes);
-        procs.sort(Comparator.comparingInt(Process::getArrivalTime));
+    @Override
+    public String config() {
+        return "fcfs cs=" + contextSwitchTime;
+    }
+
+    /**
+     * Works directly on the workload columns: the arrival order is a primitive
+     * sort and metrics are summed in the same pass, so no per-job objects are
+     * created except Gantt entries.
+     */
+    @Override
+    public ScheduleResult run(Workload w, SchedulerListener listener) {
+        if (w.hasIo())
+            return runWithIo(w, listener);
+        long t0 = System.nanoTime();
+        int n = w.size();
+        // stable: same arrival keeps input order
+        int[] order = w.arrivalOrder();
+        ExecutionState state = w.newExecutionState();
+        long t1 = System.nanoTime();
+        listener.phase("prepare", t1 - t0);
 
-        int time = 0;
+        long time = 0;
         long totalBusy = 0;
-        List<GanttEntry> gantt = new ArrayList<>();
+        JobMetrics metrics = new JobMetrics();
+        List<GanttEntry> gantt = new ArrayList<>(n + 16);
+        int arrived = 0; // processes with arrival <= time, for the queue depth
 
-        for (int i = 0; i < procs.size(); i++) {
-            Process p = procs.get(i);
+        for (int k = 0; k < n; k++) {
+            int i = order[k];
+            long arrival = w.arrival(i);
 
-            if (p.getArrivalTime() > time) {
+            if (arrival > time) {
                 // idle
-                gantt.add(new GanttEntry("idle", time, p.getArrivalTime()));
-                time = p.getArrivalTime();
+                gantt.add(new GanttEntry("idle", time, arrival));
+                listener.idle(time, arrival, 0);
+                time = arrival;
             }
 
             // context switch before starting this process (if it's not immediate
             // continuation)
             if (!gantt.isEmpty() && contextSwitchTime > 0) {
-                int csStart = time;
+                long csStart = time;
                 time += contextSwitchTime;
                 gantt.add(new GanttEntry("CS", csStart, time));
+                listener.contextSwitch(csStart, 0, contextSwitchTime);
+            } else if (k > 0) {
+                listener.contextSwitch(time, 0, 0);
             }
 
-            int start = time;
-            int run = p.getRemainingBurst();
-            p.runFor(run, start);
-            int end = p.getCompletionTime();
+            long start = time;
+            while (arrived < n && w.arrival(order[arrived]) <= start)
+                arrived++;
+            listener.dispatch(start, 0, i, arrived - k - 1);
+            int run = state.runFor(i, w.burst(i), start);
+            long end = start + run;
 
-            gantt.add(new GanttEntry(p.getId(), start, end));
-            totalBusy += (end - start);
+            gantt.add(new GanttEntry(w.id(i), start, end));
+            totalBusy += run;
+            metrics.record(arrival, start, end, run);
+            listener.complete(end, 0, i);
             time = end;
         }
+        long t2 = System.nanoTime();
+        listener.phase("simulate", t2 - t1);
 
-        // Calculate metrics
-        double avgTurnaround = procs.stream()
-                .mapToInt(pr -> pr.getCompletionTime() - pr.getArrivalTime())
-                .average().orElse(0.0);
-        double avgWaiting = procs.stream()
-                .mapToInt(pr -> pr.getStartTime() - pr.getArrivalTime())
-                .average().orElse(0.0);
+        double avgTurnaround = metrics.turnaround.mean();
+        double avgWaiting = metrics.waiting.mean();
         double cpuUtil = time == 0 ? 0.0 : (100.0 * totalBusy / time);
 
-        return new ScheduleResult(procs, gantt, avgTurnaround, avgWaiting, cpuUtil, time);
+        ScheduleResult r = new ScheduleResult(w.resultView(order, state), gantt, avgTurnaround, avgWaiting, cpuUtil,
+                time, metrics);
+        listener.phase("collect", System.nanoTime() - t2);
+        return r;
+    }
+
+    /**
+     * FCFS over CPU bursts: a job runs its current CPU burst to the end, then
+     * either finishes or blocks for I/O in a timer heap keyed by wake-up time
+     * and rejoins the back of the ready queue when the I/O is done. At equal
+     * times arrivals are queued before wake-ups.
+     */
+    private ScheduleResult runWithIo(Workload w, SchedulerListener listener) {
+        long t0 = System.nanoTime();
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        ExecutionState state = w.newExecutionState();
+        IntRingQueue ready = new IntRingQueue();
+        LongMinHeap blocked = new LongMinHeap();
+        long t1 = System.nanoTime();
+        listener.phase("prepare", t1 - t0);
+
+        long time = 0;
+        long totalBusy = 0;
+        JobMetrics metrics = new JobMetrics();
+        List<GanttEntry> gantt = new ArrayList<>(n + 16);
+        int nextArr = 0;
+        int finished = 0;
+        int last = -1;
+
+        while (finished < n) {
+            while (true) {
+                long arrival = nextArr < n ? w.arrival(order[nextArr]) : Long.MAX_VALUE;
+                long wake = blocked.minKey();
+                if (Math.min(arrival, wake) > time)
+                    break;
+                if (arrival <= wake)
+                    ready.addLast(order[nextArr++]);
+                else
+                    ready.addLast(blocked.poll());
+            }
+
+            if (ready.isEmpty()) {
+                long arrival = nextArr < n ? w.arrival(order[nextArr]) : Long.MAX_VALUE;
+                long next = Math.min(arrival, blocked.minKey());
+                gantt.add(new GanttEntry("idle", time, next));
+                listener.idle(time, next, 0);
+                time = next;
+                continue;
+            }
+
+            int cur = ready.removeFirst();
+            if (!gantt.isEmpty() && contextSwitchTime > 0) {
+                long csStart = time;
+                time += contextSwitchTime;
+                gantt.add(new GanttEntry("CS", csStart, time));
+                listener.contextSwitch(csStart, 0, contextSwitchTime);
+            } else if (last >= 0) {
+                listener.contextSwitch(time, 0, 0);
+            }
+            listener.dispatch(time, 0, cur, ready.size());
+            last = cur;
+
+            long start = time;
+            int run = state.runFor(cur, Integer.MAX_VALUE, start);
+            time = start + run;
+            totalBusy += run;
+            gantt.add(new GanttEntry(w.id(cur), start, time));
+
+            if (state.isFinished(cur)) {
+                finished++;
+                metrics.record(w.arrival(cur), state.start(cur), time, (long) w.burst(cur) + w.ioTime(cur));
+                listener.complete(time, 0, cur);
+            } else {
+                blocked.add(state.startIo(cur, time), cur);
+            }
+        }
+        long t2 = System.nanoTime();
+        listener.phase("simulate", t2 - t1);
+
+        double cpuUtil = time == 0 ? 0.0 : (100.0 * totalBusy / time);
+        double ioUtil = time == 0 ? 0.0 : (100.0 * state.ioBusyTime() / time);
+        ScheduleResult r = new ScheduleResult(w.resultView(order, state), gantt, metrics.turnaround.mean(),
+                metrics.waiting.mean(), cpuUtil, time, metrics, ioUtil);
+        listener.phase("collect", System.nanoTime() - t2);
+        return r;
     }
 }
@@ -22,8 +22,12 @@ public class FCFSSimulator {
             return;
         }
 
-        // Simple CLI parsing: --demo | --extreme | --from-csv <path> [--context-switch
-        // N]
+        // Simple CLI parsing: --demo | --extreme | --from-csv <path> | --from-bin
+        // <path> | --stream-csv <path|-> | --csv-to-bin <in> <out> | --bin-to-csv
+        // <in> <out> | --show-bin <schedule> [--context-switch N] [--export-html
+        // <path>] [--export-canvas <path>] [--export-bin <path>] [--prometheus
+        // <path>] [--partition-by <separator> [--threads N]] [--max-rows N]
+        // [--time-unit ns|us|ms|s] [--cache <dir> [--cache-mb N]]
         int contextSwitch = 0;
         for (int i = 0; i < args.length; i++) {
             switch (args[i]) {
@@ -34,39 +38,66 @@ public class FCFSSimulator {
                     runExtreme();
                     return;
                 case "--from-csv":
+                case "--from-bin":
                     if (i + 1 >= args.length) {
-                        System.out.println("--from-csv requires a path");
+                        System.out.println(args[i] + " requires a path");
                         return;
                     }
+                    boolean binary = "--from-bin".equals(args[i]);
                     String path = args[++i];
+                    model.Workload procs;
                     try {
-                        java.util.List<Process> procs = util.CSVLoader.load(path);
-                        // look for context-switch override
-                        for (int j = 0; j < args.length; j++) {
-                            if ("--context-switch".equals(args[j]) && j + 1 < args.length) {
-                                contextSwitch = Integer.parseInt(args[j + 1]);
-                            }
-                            if ("--export-html".equals(args[j]) && j + 1 < args.length) {
-                                // handle after schedule
-                            }
-                        }
-                        FCFSScheduler scheduler = new FCFSScheduler(contextSwitch);
-                        ScheduleResult r = scheduler.run(procs);
-                        printResult(r);
-                        // handle export-html if present
-                        for (int j = 0; j < args.length; j++) {
-                            if ("--export-html".equals(args[j]) && j + 1 < args.length) {
-                                String out = args[j + 1];
-                                try {
-                                    util.HtmlGanttExporter.export(r, out);
-                                    System.out.println("Exported HTML to " + out);
-                                } catch (Exception ex) {
-                                    System.out.println("Export failed: " + ex.getMessage());
-                                }
-                            }
+                        procs = binary ? util.BinaryFormat.readWorkload(java.nio.file.Path.of(path))
+                                : util.MappedCSVLoader.loadWorkload(path);
+                        java.util.concurrent.TimeUnit unit = timeUnit(args);
+                        if (unit != null)
+                            procs = procs.withTimeUnit(unit);
+                    } catch (Exception ex) {
+                        System.out.println("Failed to load " + (binary ? "binary workload" : "CSV") + ": "
+                                + ex.getMessage());
+                        return;
+                    }
+                    runLoaded(procs, args);
+                    return;
+                case "--csv-to-bin":
+                case "--bin-to-csv":
+                    if (i + 2 >= args.length) {
+                        System.out.println(args[i] + " requires <in> <out>");
+                        return;
+                    }
+                    try {
+                        convert("--csv-to-bin".equals(args[i]), args[i + 1], args[i + 2], timeUnit(args));
+                        System.out.println("Wrote " + args[i + 2]);
+                    } catch (Exception ex) {
+                        System.out.println("Conversion failed: " + ex.getMessage());
+                    }
+                    return;
+                case "--show-bin":
+                    if (i + 1 >= args.length) {
+                        System.out.println("--show-bin requires a path");
+                        return;
+                    }
+                    try {
+                        printResult(util.BinaryFormat.readSchedule(java.nio.file.Path.of(args[i + 1])),
+                                maxRows(args));
+                    } catch (Exception ex) {
+                        System.out.println("Failed to read schedule: " + ex.getMessage());
+                    }
+                    return;
+                case "--stream-csv":
+                    if (i + 1 >= args.length) {
+                        System.out.println("--stream-csv requires a path (or - for stdin)");
+                        return;
+                    }
+                    for (int j = 0; j < args.length; j++) {
+                        if ("--context-switch".equals(args[j]) && j + 1 < args.length) {
+                            contextSwitch = Integer.parseInt(args[j + 1]);
                         }
+                    }
+                    try {
+                        runStream(args[i + 1], contextSwitch);
                     } catch (Exception ex) {
-                        System.out.println("Failed to load CSV: " + ex.getMessage());
+                        System.out.println("Stream failed: " + ex.getMessage());
                     }
                     return;
                 case "--context-switch":
@@ -74,6 +105,16 @@ public class FCFSSimulator {
                         contextSwitch = Integer.parseInt(args[++i]);
                     }
                     break;
+                case "--partition-by":
+                case "--max-rows":
+                case "--threads":
+                case "--prometheus":
+                case "--time-unit":
+                case "--cache":
+                case "--cache-mb":
+                    // only meaningful with --from-csv/--from-bin, handled in runLoaded
+                    i++;
+                    break;
                 default:
                     System.out.println("Unknown arg: " + args[i]);
                     return;
@@ -81,6 +122,131 @@ public class FCFSSimulator {
         }
     }
 
+    private static void runLoaded(model.Workload procs, String[] args) {
+        int contextSwitch = 0;
+        // look for context-switch override
+        for (int j = 0; j < args.length; j++) {
+            if ("--context-switch".equals(args[j]) && j + 1 < args.length) {
+                contextSwitch = Integer.parseInt(args[j + 1]);
+            }
+        }
+        FCFSScheduler scheduler = new FCFSScheduler(contextSwitch);
+        String partitionBy = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int j = 0; j + 1 < args.length; j++) {
+            if ("--partition-by".equals(args[j]))
+                partitionBy = args[j + 1];
+            else if ("--threads".equals(args[j]))
+                threads = Integer.parseInt(args[j + 1]);
+        }
+        if (partitionBy != null) {
+            // every id prefix is an independent machine; no single timeline to export
+            java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(threads);
+            try {
+                partition.PartitionedSimulation.printTable(partition.PartitionedSimulation.run(procs,
+                        partition.PartitionedSimulation.idPrefix(partitionBy.charAt(0)), scheduler, pool));
+            } finally {
+                pool.shutdown();
+            }
+            return;
+        }
+        metrics.SchedulerCounters counters = new metrics.SchedulerCounters();
+        String cacheDir = null;
+        long cacheMb = 256;
+        boolean prometheus = false;
+        for (int j = 0; j < args.length; j++) {
+            if ("--cache".equals(args[j]) && j + 1 < args.length)
+                cacheDir = args[j + 1];
+            else if ("--cache-mb".equals(args[j]) && j + 1 < args.length)
+                cacheMb = Long.parseLong(args[j + 1]);
+            else if ("--prometheus".equals(args[j]))
+                prometheus = true;
+        }
+        ScheduleResult r;
+        // a cached result has no scheduler counters, so --prometheus always runs
+        if (cacheDir != null && !prometheus) {
+            try {
+                cache.ResultCache rc = new cache.ResultCache(java.nio.file.Path.of(cacheDir), cacheMb << 20);
+                r = rc.run(scheduler, procs);
+                System.out.println(rc.hits() > 0 ? "Result from cache" : "Result cached in " + cacheDir);
+            } catch (java.io.IOException ex) {
+                System.out.println("Cache unavailable (" + ex.getMessage() + "), running without it");
+                r = scheduler.run(procs, counters);
+            }
+        } else {
+            r = scheduler.run(procs, counters);
+        }
+        printResult(r, maxRows(args));
+        if (procs.timeUnit() != java.util.concurrent.TimeUnit.MILLISECONDS)
+            System.out.printf("Simulated time: %.3f s (1 tick = 1 %s)%n",
+                    r.makespan / (double) procs.timeUnit().convert(1, java.util.concurrent.TimeUnit.SECONDS),
+                    procs.timeUnit().name().toLowerCase());
+        // handle exports if present
+        for (int j = 0; j < args.length; j++) {
+            if (j + 1 >= args.length)
+                break;
+            String out = args[j + 1];
+            try {
+                if ("--export-html".equals(args[j])) {
+                    util.HtmlGanttExporter.export(r, out);
+                    System.out.println("Exported HTML to " + out);
+                } else if ("--export-canvas".equals(args[j])) {
+                    util.HtmlGanttExporter.export(r, java.nio.file.Path.of(out),
+                            new util.HtmlGanttExporter.Options(util.HtmlGanttExporter.Lanes.PROCESS,
+                                    util.HtmlGanttExporter.Format.CANVAS, 1600, 1000));
+                    System.out.println("Exported HTML canvas to " + out);
+                } else if ("--prometheus".equals(args[j])) {
+                    metrics.PrometheusExporter.write(java.nio.file.Path.of(out),
+                            java.util.Map.of("scheduler", "fcfs"), counters, r.metrics);
+                    System.out.println("Exported metrics to " + out);
+                } else if ("--export-bin".equals(args[j])) {
+                    util.BinaryFormat.writeSchedule(r, java.nio.file.Path.of(out));
+                    System.out.println("Exported binary schedule to " + out);
+                }
+            } catch (Exception ex) {
+                System.out.println("Export failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    private static void convert(boolean csvToBin, String in, String out, java.util.concurrent.TimeUnit unit)
+            throws java.io.IOException {
+        if (csvToBin) {
+            model.Workload w = util.MappedCSVLoader.loadWorkload(in);
+            util.BinaryFormat.writeWorkload(unit == null ? w : w.withTimeUnit(unit), java.nio.file.Path.of(out));
+            return;
+        }
+        model.Workload w = util.BinaryFormat.readWorkload(java.nio.file.Path.of(in));
+        try (java.io.BufferedWriter bw = java.nio.file.Files.newBufferedWriter(java.nio.file.Path.of(out))) {
+            bw.write(w.hasIo() ? "# id,priority,arrival,burst[,io,burst]...\n" : "# id,priority,arrival,burst\n");
+            for (int k = 0; k < w.size(); k++) {
+                bw.write(w.id(k) + "," + w.priority(k) + "," + w.arrival(k));
+                for (int b = 0; b < w.phaseCount(k); b++)
+                    bw.write("," + w.phase(k, b));
+                bw.write("\n");
+            }
+        }
+    }
+
+    /**
+     * Schedules an arrival-ordered CSV stream (file or stdin) as it is read,
+     * printing each Gantt entry when it completes and running averages at the
+     * end. Memory use does not grow with the length of the stream.
+     */
+    private static void runStream(String path, int contextSwitch) throws java.io.IOException {
+        StreamingFCFSScheduler scheduler = new StreamingFCFSScheduler(contextSwitch);
+        java.io.Reader in = "-".equals(path) ? new java.io.InputStreamReader(System.in)
+                : new java.io.FileReader(path);
+        try (java.io.BufferedReader br = new java.io.BufferedReader(in)) {
+            java.util.Iterator<GanttEntry> it = scheduler.schedule(util.CSVLoader.iterate(br));
+            while (it.hasNext()) {
+                GanttEntry e = it.next();
+                System.out.println(e.id + " " + e.start + "-" + e.end);
+            }
+        }
+        System.out.println(scheduler.stats());
+    }
+
     private static void interactiveMode() {
         try (Scanner sc = new Scanner(System.in)) {
             System.out.println(
@@ -137,7 +303,12 @@ public class FCFSSimulator {
         printResult(r);
     }
 
-    private static List<Process> generateExtremeWorkload(int count, int arrivalJitter, int minBurst, int maxBurst,
+    /**
+     * Deterministic (fixed seed) skewed workload: many small bursts, ~15% huge
+     * ones ({@code maxBurst * burstSkewFactor}), clustered and out-of-order
+     * arrivals. Also used by the JMH benchmarks.
+     */
+    public static List<Process> generateExtremeWorkload(int count, int arrivalJitter, int minBurst, int maxBurst,
             int burstSkewFactor) {
         // Extreme: mixture of tiny and huge bursts, out-of-order arrivals, same
         // timestamps
@@ -155,25 +326,72 @@ public class FCFSSimulator {
         return out;
     }
 
+    private static int maxRows(String[] args) {
+        for (int j = 0; j + 1 < args.length; j++)
+            if ("--max-rows".equals(args[j]))
+                return Integer.parseInt(args[j + 1]);
+        return 0;
+    }
+
+    /** {@code --time-unit ns|us|ms|s}, or null when absent. */
+    private static java.util.concurrent.TimeUnit timeUnit(String[] args) {
+        for (int j = 0; j + 1 < args.length; j++) {
+            if (!"--time-unit".equals(args[j]))
+                continue;
+            switch (args[j + 1]) {
+                case "ns":
+                    return java.util.concurrent.TimeUnit.NANOSECONDS;
+                case "us":
+                    return java.util.concurrent.TimeUnit.MICROSECONDS;
+                case "ms":
+                    return java.util.concurrent.TimeUnit.MILLISECONDS;
+                case "s":
+                    return java.util.concurrent.TimeUnit.SECONDS;
+                default:
+                    throw new IllegalArgumentException("--time-unit must be ns, us, ms or s: " + args[j + 1]);
+            }
+        }
+        return null;
+    }
+
     private static void printResult(ScheduleResult r) {
+        printResult(r, 0);
+    }
+
+    /** @param maxRows cap on per-process table rows (head and tail), 0 for all */
+    private static void printResult(ScheduleResult r, int maxRows) {
         System.out.println("Gantt:");
         GanttRenderer.render(r.gantt);
 
         System.out.printf("Makespan: %d, Avg Turnaround: %.2f, Avg Waiting: %.2f, CPU%%: %.2f\n",
                 r.makespan, r.avgTurnaround, r.avgWaiting, r.cpuUtilizationPercent);
+        if (r.ioUtilizationPercent > 0)
+            System.out.printf("I/O%%: %.2f\n", r.ioUtilizationPercent);
 
         System.out.println("Per-process:");
-        List<String[]> rows = new ArrayList<>();
-        for (Process p : r.processes) {
-            int turnaround = p.getCompletionTime() - p.getArrivalTime();
-            int waiting = p.getStartTime() - p.getArrivalTime();
-            rows.add(new String[] { p.getId(), String.valueOf(p.getArrivalTime()), String.valueOf(p.getStartTime()),
-                    String.valueOf(p.getCompletionTime()), String.valueOf(p.getOriginalBurst()),
-                    String.valueOf(turnaround), String.valueOf(waiting) });
-        }
+        // rows are formatted on demand, so a truncated table only formats what it prints
+        List<String[]> rows = new java.util.AbstractList<String[]>() {
+            @Override
+            public String[] get(int i) {
+                Process p = r.processes.get(i);
+                long turnaround = p.getCompletionTime() - p.getArrivalTime();
+                // ready-queue time only; equals start - arrival unless the job blocks for I/O
+                long waiting = turnaround - p.getOriginalBurst() - p.getSpec().getIoTime();
+                return new String[] { p.getId(), String.valueOf(p.getArrivalTime()),
+                        String.valueOf(p.getStartTime()), String.valueOf(p.getCompletionTime()),
+                        String.valueOf(p.getOriginalBurst()), String.valueOf(turnaround), String.valueOf(waiting) };
+            }
+
+            @Override
+            public int size() {
+                return r.processes.size();
+            }
+        };
         TablePrinter.printTable(rows,
-                new String[] { "ID", "Arrival", "Start", "Completion", "Burst", "Turnaround", "Waiting" });
+                new String[] { "ID", "Arrival", "Start", "Completion", "Burst", "Turnaround", "Waiting" }, 0,
+                maxRows);
 
         System.out.printf("Averages -> Turnaround: %.3f, Waiting: %.3f\n", r.avgTurnaround, r.avgWaiting);
+        System.out.println(r.metrics);
     }
 }
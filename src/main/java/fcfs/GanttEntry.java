@@ -1,13 +1,52 @@
 package fcfs;
 
+import java.util.List;
+
 public class GanttEntry {
     public final String id;
-    public final int start;
-    public final int end;
+    public final long start;
+    public final long end;
+    // CPU the slice ran on; always 0 for the single-CPU schedulers
+    public final int cpu;
+    // feedback-queue level the slice ran at (0 = top); 0 for schedulers without levels
+    public final int level;
+
+    public GanttEntry(String id, long start, long end) {
+        this(id, start, end, 0);
+    }
 
-    public GanttEntry(String id, int start, int end) {
+    public GanttEntry(String id, long start, long end, int cpu) {
+        this(id, start, end, cpu, 0);
+    }
+
+    public GanttEntry(String id, long start, long end, int cpu, int level) {
         this.id = id;
         this.start = start;
         this.end = end;
+        this.cpu = cpu;
+        this.level = level;
+    }
+
+    /**
+     * Appends a slice to the timeline, extending the last entry instead when it
+     * belongs to the same id and ends exactly where the new slice starts.
+     */
+    public static void appendMerged(List<GanttEntry> gantt, String id, long start, long end) {
+        appendMerged(gantt, id, start, end, 0, 0);
+    }
+
+    public static void appendMerged(List<GanttEntry> gantt, String id, long start, long end, int cpu) {
+        appendMerged(gantt, id, start, end, cpu, 0);
+    }
+
+    public static void appendMerged(List<GanttEntry> gantt, String id, long start, long end, int cpu, int level) {
+        if (!gantt.isEmpty()) {
+            GanttEntry last = gantt.get(gantt.size() - 1);
+            if (last.end == start && last.cpu == cpu && last.level == level && last.id.equals(id)) {
+                gantt.set(gantt.size() - 1, new GanttEntry(id, last.start, end, cpu, level));
+                return;
+            }
+        }
+        gantt.add(new GanttEntry(id, start, end, cpu, level));
     }
 }
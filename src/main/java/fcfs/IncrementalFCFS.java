@@ -0,0 +1,62 @@
+package fcfs;
+
+import model.Workload;
+
+/**
+ * FCFS that re-simulates only what an edit can change (see
+ * {@link IncrementalScheduler}). FCFS is a prefix computation over arrival
+ * order: the slices of the first k jobs in that order depend on nothing
+ * after them, so a checkpoint before job k stays usable for any edit at or
+ * after k, however far the clock has run ahead of the arrivals.
+ *
+ * Gives the same result as {@link FCFSScheduler} for the same workload.
+ */
+public final class IncrementalFCFS extends IncrementalScheduler {
+    private final int contextSwitchTime;
+
+    public IncrementalFCFS(Workload w) {
+        this(w, 0, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param interval jobs between checkpoints; each one holds a copy of the
+     *                 metrics (about 90 KB), so keep n / interval modest
+     */
+    public IncrementalFCFS(Workload w, int contextSwitchTime, int interval) {
+        super(interval);
+        if (contextSwitchTime < 0)
+            throw new IllegalArgumentException("contextSwitchTime >= 0");
+        this.contextSwitchTime = contextSwitchTime;
+        update(w);
+    }
+
+    @Override
+    protected boolean resumableFrom(Checkpoint c) {
+        return true;
+    }
+
+    @Override
+    protected void resume(Checkpoint from) {
+        for (int k = resumedAt(); k < n; k++) {
+            if (checkpointDue(k))
+                checkpoint(new Checkpoint(this, k));
+            int i = order[k];
+            long at = arrival[i];
+            if (at > time) {
+                gantt.add(new GanttEntry("idle", time, at));
+                time = at;
+            }
+            if (!gantt.isEmpty() && contextSwitchTime > 0) {
+                long csStart = time;
+                time += contextSwitchTime;
+                gantt.add(new GanttEntry("CS", csStart, time));
+            }
+            start[i] = time;
+            time += burst[i];
+            completion[i] = time;
+            gantt.add(new GanttEntry(id[i], start[i], time));
+            totalBusy += burst[i];
+            metrics.record(at, start[i], time, burst[i]);
+        }
+    }
+}
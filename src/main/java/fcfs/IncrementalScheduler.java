@@ -0,0 +1,303 @@
+package fcfs;
+
+import metrics.JobMetrics;
+import model.JobSpec;
+import model.Process;
+import model.Workload;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Base for schedulers that re-simulate only what an edit can change. Jobs are
+ * kept in by-index columns and in arrival order (by arrival, then job index,
+ * as {@link Workload#arrivalOrder()} has it). Every {@code interval} admitted
+ * jobs a run records a {@link Checkpoint}: clock, busy time, timeline length
+ * and a copy of the metrics, plus whatever queue state the subclass needs. An
+ * edit restores the last checkpoint the change cannot have influenced, cuts
+ * the timeline there and has the subclass simulate only the tail.
+ *
+ * {@link #edit} changes one job and keeps the arrival order by moving that
+ * job within it, so it costs O(log n) plus the re-simulated tail.
+ * {@link #update} takes a whole edited workload and has to sort and diff it
+ * first, which is O(n log n) however small the change.
+ *
+ * The timeline and metrics are updated in place, so a result returned before
+ * an edit sees the new tail; copy them first if the old ones are needed.
+ * Workloads with I/O bursts are rejected. Not thread-safe.
+ */
+public abstract class IncrementalScheduler {
+    public static final int DEFAULT_INTERVAL = 1 << 16;
+
+    protected final int interval;
+
+    // the current jobs by job index; edits write here
+    protected String[] id = new String[0];
+    protected int[] priority = new int[0];
+    protected long[] arrival = new long[0];
+    protected int[] burst = new int[0];
+    protected int n;
+    // arrival position -> job, job -> arrival position
+    protected int[] order = new int[0];
+    private int[] pos = new int[0];
+    // by job, -1 until the job first runs or finishes
+    protected long[] start = new long[0];
+    protected long[] completion = new long[0];
+
+    protected final List<GanttEntry> gantt = new ArrayList<>();
+    protected long time;
+    protected long totalBusy;
+    protected JobMetrics metrics = new JobMetrics();
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private int resumedAt;
+    private ScheduleResult result;
+
+    /**
+     * State with the jobs before arrival position {@code position} admitted.
+     * Subclasses add their queues, holding arrival positions rather than job
+     * indices: positions before a usable checkpoint do not change in an edit.
+     */
+    protected static class Checkpoint {
+        protected final int position;
+        protected final long time;
+        final long totalBusy;
+        final int ganttSize;
+        // merging may extend the last entry later, so keep it as it was
+        final GanttEntry lastEntry;
+        final JobMetrics metrics = new JobMetrics();
+
+        protected Checkpoint(IncrementalScheduler s, int position) {
+            this.position = position;
+            this.time = s.time;
+            this.totalBusy = s.totalBusy;
+            this.ganttSize = s.gantt.size();
+            this.lastEntry = s.gantt.isEmpty() ? null : s.gantt.get(s.gantt.size() - 1);
+            this.metrics.add(s.metrics);
+        }
+    }
+
+    /**
+     * @param interval admitted jobs between checkpoints; each one holds a copy
+     *                 of the metrics (about 90 KB), so keep n / interval modest
+     */
+    protected IncrementalScheduler(int interval) {
+        if (interval <= 0)
+            throw new IllegalArgumentException("interval > 0");
+        this.interval = interval;
+    }
+
+    public ScheduleResult result() {
+        return result;
+    }
+
+    /** Arrival position the last run resumed from: 0 for a full run, the job count if nothing changed. */
+    public int resumedAt() {
+        return resumedAt;
+    }
+
+    /** Number of jobs. */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Replaces job {@code job} (an index into the workload given last to
+     * {@link #update} or the constructor) and re-runs from the last
+     * checkpoint before the earlier of its old and new arrival positions.
+     */
+    public ScheduleResult edit(int job, JobSpec spec) {
+        if (job < 0 || job >= n)
+            throw new IndexOutOfBoundsException("job " + job + " of " + n);
+        if (spec.hasIo())
+            throw new IllegalArgumentException("incremental schedulers do not model I/O bursts");
+        boolean same = spec.getArrivalTime() == arrival[job] && spec.getBurst() == burst[job]
+                && spec.getId().equals(id[job]) && (!usesPriority() || spec.getPriority() == priority[job]);
+        id[job] = spec.getId();
+        priority[job] = spec.getPriority();
+        if (same) {
+            // the result shows the new priority, but the schedule never looked at it
+            resumedAt = n;
+            return publish();
+        }
+
+        int from = pos[job];
+        arrival[job] = spec.getArrivalTime();
+        burst[job] = spec.getBurst();
+        // take the job out of the order and put it back where its new arrival sorts (ties by job index)
+        System.arraycopy(order, from + 1, order, from, n - 1 - from);
+        int lo = 0, hi = n - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (before(order[mid], job))
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        int to = lo;
+        System.arraycopy(order, to, order, to + 1, n - 1 - to);
+        order[to] = job;
+        int first = Math.min(from, to);
+        for (int k = first, last = Math.max(from, to); k <= last; k++)
+            pos[order[k]] = k;
+
+        rerunFrom(first);
+        return publish();
+    }
+
+    /**
+     * Re-runs for {@code edited}, resuming from the last checkpoint before its
+     * first change. Sorting and comparing the whole workload is O(n log n);
+     * use {@link #edit} for single-job changes.
+     */
+    public ScheduleResult update(Workload edited) {
+        if (edited.hasIo())
+            throw new IllegalArgumentException("incremental schedulers do not model I/O bursts");
+        int[] newOrder = edited.arrivalOrder();
+        int size = edited.size();
+        int same = 0;
+        int common = Math.min(size, n);
+        while (same < common && sameJob(order[same], edited, newOrder[same]))
+            same++;
+        boolean changed = same < size || size < n;
+
+        id = new String[size];
+        priority = new int[size];
+        arrival = new long[size];
+        burst = new int[size];
+        for (int j = 0; j < size; j++) {
+            id[j] = edited.id(j);
+            priority[j] = edited.priority(j);
+            arrival[j] = edited.arrival(j);
+            burst[j] = edited.burst(j);
+        }
+        // jobs before `same` keep their times, but may now have another job index
+        long[] newStart = new long[size];
+        long[] newCompletion = new long[size];
+        for (int k = 0; k < same; k++) {
+            newStart[newOrder[k]] = start[order[k]];
+            newCompletion[newOrder[k]] = completion[order[k]];
+        }
+        start = newStart;
+        completion = newCompletion;
+        n = size;
+        order = newOrder;
+        pos = new int[size];
+        for (int k = 0; k < size; k++)
+            pos[order[k]] = k;
+
+        resumedAt = size;
+        if (changed)
+            rerunFrom(same);
+        return publish();
+    }
+
+    /** Whether the schedule depends on priorities; if not, a priority-only edit re-runs nothing. */
+    protected boolean usesPriority() {
+        return false;
+    }
+
+    /**
+     * Whether carrying on from {@code c} gives what a full run would, given
+     * that arrival positions from {@code c.position} on may have changed. The
+     * default suits schedulers that admit jobs as the clock reaches their
+     * arrival and look no further ahead than the next one: if that arrival is
+     * still after the checkpoint's clock, nothing later was seen.
+     */
+    protected boolean resumableFrom(Checkpoint c) {
+        return c.position == n || arrival[order[c.position]] > c.time;
+    }
+
+    /** True once {@code interval} jobs have been admitted since the last checkpoint. */
+    protected final boolean checkpointDue(int position) {
+        int last = checkpoints.isEmpty() ? 0 : checkpoints.get(checkpoints.size() - 1).position;
+        return position >= last + interval;
+    }
+
+    protected final void checkpoint(Checkpoint c) {
+        checkpoints.add(c);
+    }
+
+    /**
+     * Simulates the current jobs from {@code from}, or from the beginning if
+     * it is null. Clock, busy time, timeline and metrics are already restored,
+     * and jobs from {@link #resumedAt()} on have no start or completion.
+     */
+    protected abstract void resume(Checkpoint from);
+
+    // anything changed, added or removed from arrival position `first` on
+    private void rerunFrom(int first) {
+        int lo = 0, hi = checkpoints.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (checkpoints.get(mid).position <= first)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        int c = lo - 1;
+        while (c >= 0 && !resumableFrom(checkpoints.get(c)))
+            c--;
+        checkpoints.subList(c + 1, checkpoints.size()).clear();
+        Checkpoint cp = c < 0 ? null : checkpoints.get(c);
+        metrics = new JobMetrics();
+        if (cp == null) {
+            time = 0;
+            totalBusy = 0;
+            gantt.clear();
+            resumedAt = 0;
+        } else {
+            gantt.subList(cp.ganttSize, gantt.size()).clear();
+            if (cp.lastEntry != null)
+                gantt.set(cp.ganttSize - 1, cp.lastEntry);
+            time = cp.time;
+            totalBusy = cp.totalBusy;
+            metrics.add(cp.metrics);
+            resumedAt = cp.position;
+        }
+        for (int k = resumedAt; k < n; k++) {
+            start[order[k]] = -1;
+            completion[order[k]] = -1;
+        }
+        resume(cp);
+    }
+
+    private ScheduleResult publish() {
+        double cpuUtil = time == 0 ? 0.0 : (100.0 * totalBusy / time);
+        result = new ScheduleResult(new ResultView(), gantt, metrics.turnaround.mean(), metrics.waiting.mean(),
+                cpuUtil, time, metrics);
+        return result;
+    }
+
+    // arrival order as Workload.arrivalOrder() has it: by arrival, then job index
+    private boolean before(int a, int b) {
+        return arrival[a] < arrival[b] || (arrival[a] == arrival[b] && a < b);
+    }
+
+    // everything the schedule looks at: the timeline shows the id, the times follow from the rest
+    private boolean sameJob(int i, Workload b, int j) {
+        return arrival[i] == b.arrival(j) && burst[i] == b.burst(j) && id[i].equals(b.id(j))
+                && (!usesPriority() || priority[i] == b.priority(j));
+    }
+
+    /** Jobs in arrival order, materialized on access from the current state. */
+    private final class ResultView extends AbstractList<Process> implements RandomAccess {
+        @Override
+        public Process get(int index) {
+            if (index < 0 || index >= n)
+                throw new IndexOutOfBoundsException(index);
+            int job = order[index];
+            // replaying the first moment and the final piece gives the finished process
+            Process p = new Process(new JobSpec(id[job], priority[job], arrival[job], burst[job]));
+            p.runFor(0, start[job]);
+            p.runFor(burst[job], completion[job] - burst[job]);
+            return p;
+        }
+
+        @Override
+        public int size() {
+            return n;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package fcfs;
 
+import metrics.JobMetrics;
 import model.Process;
 import java.util.List;
 
@@ -9,15 +10,33 @@ public class ScheduleResult {
     public final double avgTurnaround;
     public final double avgWaiting;
     public final double cpuUtilizationPercent;
-    public final int makespan;
+    public final long makespan;
+    // share of the makespan with at least one I/O burst in progress; 0 for pure CPU workloads
+    public final double ioUtilizationPercent;
+    // turnaround / waiting / response distributions (percentiles, max)
+    public final JobMetrics metrics;
 
+    /** Derives {@link #metrics} from {@code processes}; schedulers pass theirs in instead. */
     public ScheduleResult(List<Process> processes, List<GanttEntry> gantt, double avgTurnaround,
-            double avgWaiting, double cpuUtilizationPercent, int makespan) {
+            double avgWaiting, double cpuUtilizationPercent, long makespan) {
+        this(processes, gantt, avgTurnaround, avgWaiting, cpuUtilizationPercent, makespan, JobMetrics.of(processes));
+    }
+
+    public ScheduleResult(List<Process> processes, List<GanttEntry> gantt, double avgTurnaround,
+            double avgWaiting, double cpuUtilizationPercent, long makespan, JobMetrics metrics) {
+        this(processes, gantt, avgTurnaround, avgWaiting, cpuUtilizationPercent, makespan, metrics, 0.0);
+    }
+
+    public ScheduleResult(List<Process> processes, List<GanttEntry> gantt, double avgTurnaround,
+            double avgWaiting, double cpuUtilizationPercent, long makespan, JobMetrics metrics,
+            double ioUtilizationPercent) {
         this.processes = processes;
         this.gantt = gantt;
         this.avgTurnaround = avgTurnaround;
         this.avgWaiting = avgWaiting;
         this.cpuUtilizationPercent = cpuUtilizationPercent;
         this.makespan = makespan;
+        this.metrics = metrics;
+        this.ioUtilizationPercent = ioUtilizationPercent;
     }
 }
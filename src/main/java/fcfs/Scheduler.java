@@ -1,8 +1,42 @@
 package fcfs;
 
+import metrics.SchedulerListener;
 import model.Process;
+import model.Workload;
+
 import java.util.List;
 
+/**
+ * A scheduler runs on an immutable {@link Workload} and keeps all run state
+ * to itself, so a workload (or process list) can be reused by any number of
+ * runs, concurrently or one after another.
+ */
 public interface Scheduler {
-    ScheduleResult run(List<Process> processes);
+    default ScheduleResult run(Workload workload) {
+        return run(workload, SchedulerListener.NONE);
+    }
+
+    /**
+     * Runs {@code workload}, reporting each decision to {@code listener} (pass
+     * {@link SchedulerListener#NONE} to disable).
+     */
+    ScheduleResult run(Workload workload, SchedulerListener listener);
+
+    /**
+     * Object-model entry point. The given processes are not modified; the
+     * result holds fresh {@link Process} instances carrying the run state.
+     */
+    default ScheduleResult run(List<Process> processes) {
+        return run(Workload.fromProcesses(processes));
+    }
+
+    /**
+     * Scheduler type and every setting that affects the result, e.g.
+     * {@code "rr q=4"}; two schedulers with the same config produce the same
+     * result for the same workload. {@code null} (the default) means results
+     * must not be cached.
+     */
+    default String config() {
+        return null;
+    }
 }
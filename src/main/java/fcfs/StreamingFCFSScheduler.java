@@ -0,0 +1,186 @@
+package fcfs;
+
+import metrics.JobMetrics;
+import model.Process;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
+
+/**
+ * FCFS over an unbounded, arrival-ordered stream of processes. Each process is
+ * scheduled as soon as it is pulled from the stream; completed
+ * {@link GanttEntry} records are emitted immediately and only running sums
+ * are kept, so memory stays constant however long the stream runs.
+ *
+ * Produces the same timeline as {@link FCFSScheduler} for arrival-sorted
+ * input. Out-of-order arrivals are rejected because FCFS cannot revisit an
+ * already emitted slice.
+ */
+public class StreamingFCFSScheduler {
+    private final int contextSwitchTime;
+
+    private long time = 0;
+    private long lastArrival = Long.MIN_VALUE;
+    private boolean emittedAny = false;
+    private long count = 0;
+    private long totalBusy = 0;
+    private final JobMetrics metrics = new JobMetrics();
+    private volatile Stats stats = new Stats(0, 0.0, 0.0, 0.0, 0);
+
+    public StreamingFCFSScheduler() {
+        this(0);
+    }
+
+    public StreamingFCFSScheduler(int contextSwitchTime) {
+        if (contextSwitchTime < 0)
+            throw new IllegalArgumentException("contextSwitchTime >= 0");
+        this.contextSwitchTime = contextSwitchTime;
+    }
+
+    /** Running aggregates as of the last scheduled process. */
+    public static final class Stats {
+        public final long completed;
+        public final double avgTurnaround;
+        public final double avgWaiting;
+        public final double cpuUtilizationPercent;
+        public final long time;
+
+        Stats(long completed, double avgTurnaround, double avgWaiting, double cpuUtilizationPercent, long time) {
+            this.completed = completed;
+            this.avgTurnaround = avgTurnaround;
+            this.avgWaiting = avgWaiting;
+            this.cpuUtilizationPercent = cpuUtilizationPercent;
+            this.time = time;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("completed=%d, t=%d, avgTurnaround=%.3f, avgWaiting=%.3f, cpu=%.2f%%", completed,
+                    time, avgTurnaround, avgWaiting, cpuUtilizationPercent);
+        }
+    }
+
+    /** Safe to read from any thread while the stream is being consumed. */
+    public Stats stats() {
+        return stats;
+    }
+
+    /**
+     * Percentile histograms over every process scheduled so far; constant size
+     * however long the stream. Not synchronized, so read it from the consuming
+     * thread or after the stream has ended.
+     */
+    public JobMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Schedules one process and hands the resulting entries (optional idle gap,
+     * optional context switch, then the process itself) to {@code out}.
+     */
+    public void accept(Process p, Consumer<GanttEntry> out) {
+        long arrival = p.getArrivalTime();
+        if (arrival < lastArrival)
+            throw new IllegalArgumentException(
+                    "arrivals must be non-decreasing: " + p.getId() + " at " + arrival + " after " + lastArrival);
+        if (p.getSpec().hasIo())
+            throw new IllegalArgumentException("streaming FCFS does not model I/O bursts: " + p.getId());
+        lastArrival = arrival;
+
+        if (arrival > time) {
+            out.accept(new GanttEntry("idle", time, arrival));
+            emittedAny = true;
+            time = arrival;
+        }
+        if (emittedAny && contextSwitchTime > 0) {
+            long csStart = time;
+            time += contextSwitchTime;
+            out.accept(new GanttEntry("CS", csStart, time));
+        }
+
+        // the process itself is left untouched, like the batch schedulers do
+        long start = time;
+        long end = start + p.getOriginalBurst();
+        out.accept(new GanttEntry(p.getId(), start, end));
+        emittedAny = true;
+
+        count++;
+        totalBusy += end - start;
+        metrics.record(arrival, start, end, end - start);
+        time = end;
+        stats = new Stats(count, metrics.turnaround.mean(), metrics.waiting.mean(),
+                time == 0 ? 0.0 : (100.0 * totalBusy / time), time);
+    }
+
+    /**
+     * Lazily schedules {@code arrivals}: pulling the next entry pulls at most
+     * one process from the source.
+     */
+    public Iterator<GanttEntry> schedule(Iterator<Process> arrivals) {
+        return new Iterator<GanttEntry>() {
+            // at most three entries (idle, CS, process) per pulled process
+            private final ArrayDeque<GanttEntry> pending = new ArrayDeque<>(3);
+
+            @Override
+            public boolean hasNext() {
+                while (pending.isEmpty() && arrivals.hasNext())
+                    accept(arrivals.next(), pending::add);
+                return !pending.isEmpty();
+            }
+
+            @Override
+            public GanttEntry next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return pending.poll();
+            }
+        };
+    }
+
+    /**
+     * Reactive variant: subscribe the returned processor to a publisher of
+     * arrivals and subscribe consumers of {@link GanttEntry} to it. Upstream is
+     * requested one process at a time and {@code submit} blocks when
+     * subscribers fall behind, so backpressure flows all the way back.
+     */
+    public Flow.Processor<Process, GanttEntry> processor() {
+        return new Processor();
+    }
+
+    private final class Processor extends SubmissionPublisher<GanttEntry>
+            implements Flow.Processor<Process, GanttEntry> {
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Process item) {
+            try {
+                accept(item, this::submit);
+            } catch (RuntimeException ex) {
+                subscription.cancel();
+                closeExceptionally(ex);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            closeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            close();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package gen;
+
+/**
+ * Arrival rate over time, in jobs per time unit. Arrivals are drawn as a
+ * (possibly non-homogeneous) Poisson process by thinning: candidates come at
+ * {@link #maxRate()} and each is kept with probability
+ * {@code rate(t) / maxRate()}.
+ */
+public interface ArrivalProcess {
+
+    double rate(double t);
+
+    /** An upper bound of {@link #rate(double)} over all {@code t}. */
+    double maxRate();
+
+    /** Constant rate: exponential inter-arrival times with mean {@code 1 / rate}. */
+    static ArrivalProcess poisson(double rate) {
+        if (!(rate > 0))
+            throw new IllegalArgumentException("rate > 0");
+        return new ArrivalProcess() {
+            @Override
+            public double rate(double t) {
+                return rate;
+            }
+
+            @Override
+            public double maxRate() {
+                return rate;
+            }
+        };
+    }
+
+    /**
+     * Sinusoidal day/night load: {@code mean * (1 + amplitude * sin(2 pi t / period))},
+     * peaking a quarter period in.
+     *
+     * @param amplitude 0 for a flat rate, 1 for a rate that touches zero at the trough
+     */
+    static ArrivalProcess diurnal(double mean, double amplitude, double period) {
+        if (!(mean > 0) || !(amplitude >= 0 && amplitude <= 1) || !(period > 0))
+            throw new IllegalArgumentException("mean > 0, 0 <= amplitude <= 1, period > 0");
+        double omega = 2 * Math.PI / period;
+        return new ArrivalProcess() {
+            @Override
+            public double rate(double t) {
+                return mean * (1 + amplitude * Math.sin(omega * t));
+            }
+
+            @Override
+            public double maxRate() {
+                return mean * (1 + amplitude);
+            }
+        };
+    }
+
+    /** Parses the CLI form: {@code poisson:RATE} or {@code diurnal:MEAN:AMPLITUDE:PERIOD}. */
+    static ArrivalProcess parse(String spec) {
+        String[] p = spec.split(":");
+        try {
+            switch (p[0]) {
+                case "poisson":
+                    return poisson(Double.parseDouble(p[1]));
+                case "diurnal":
+                    return diurnal(Double.parseDouble(p[1]), Double.parseDouble(p[2]), Double.parseDouble(p[3]));
+                default:
+                    throw new IllegalArgumentException("unknown arrival process: " + spec);
+            }
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("missing parameter in " + spec);
+        }
+    }
+}
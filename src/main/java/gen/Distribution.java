@@ -0,0 +1,97 @@
+package gen;
+
+import java.util.SplittableRandom;
+
+/**
+ * A burst-length distribution. Samples are rounded up and clamped to
+ * {@code [1, Integer.MAX_VALUE]}, so every generated job does some work.
+ */
+@FunctionalInterface
+public interface Distribution {
+
+    int sample(SplittableRandom rnd);
+
+    static Distribution constant(int value) {
+        if (value <= 0)
+            throw new IllegalArgumentException("value > 0");
+        return rnd -> value;
+    }
+
+    /** Uniform over {@code [min, max]}, both inclusive. */
+    static Distribution uniform(int min, int max) {
+        if (min <= 0 || max < min)
+            throw new IllegalArgumentException("0 < min <= max");
+        return rnd -> (int) rnd.nextLong(min, (long) max + 1);
+    }
+
+    static Distribution exponential(double mean) {
+        if (!(mean > 0))
+            throw new IllegalArgumentException("mean > 0");
+        return rnd -> toBurst(-mean * Math.log(1.0 - rnd.nextDouble()));
+    }
+
+    /**
+     * Heavy-tailed: {@code P(X > x) = (scale / x)^shape} for {@code x >= scale}.
+     * With {@code shape <= 1} the mean is infinite and a few jobs dominate.
+     */
+    static Distribution pareto(double scale, double shape) {
+        if (!(scale > 0) || !(shape > 0))
+            throw new IllegalArgumentException("scale > 0, shape > 0");
+        return rnd -> toBurst(scale / Math.pow(1.0 - rnd.nextDouble(), 1.0 / shape));
+    }
+
+    /** {@code exp(mu + sigma * N(0,1))}. */
+    static Distribution logNormal(double mu, double sigma) {
+        if (!(sigma >= 0))
+            throw new IllegalArgumentException("sigma >= 0");
+        return rnd -> toBurst(Math.exp(mu + sigma * rnd.nextGaussian()));
+    }
+
+    /** Draws from {@code b} with probability {@code pB}, otherwise from {@code a}. */
+    static Distribution mixture(Distribution a, Distribution b, double pB) {
+        if (!(pB >= 0 && pB <= 1))
+            throw new IllegalArgumentException("0 <= pB <= 1");
+        return rnd -> rnd.nextDouble() < pB ? b.sample(rnd) : a.sample(rnd);
+    }
+
+    /** Mostly short interactive jobs plus a fraction of long batch jobs, both exponential. */
+    static Distribution bimodal(double shortMean, double longMean, double longFraction) {
+        return mixture(exponential(shortMean), exponential(longMean), longFraction);
+    }
+
+    /**
+     * Parses the CLI form: {@code const:V}, {@code uniform:MIN:MAX},
+     * {@code exp:MEAN}, {@code pareto:SCALE:SHAPE},
+     * {@code bimodal:SHORT:LONG:FRACTION} or {@code lognormal:MU:SIGMA}.
+     */
+    static Distribution parse(String spec) {
+        String[] p = spec.split(":");
+        try {
+            switch (p[0]) {
+                case "const":
+                    return constant(Integer.parseInt(p[1]));
+                case "uniform":
+                    return uniform(Integer.parseInt(p[1]), Integer.parseInt(p[2]));
+                case "exp":
+                    return exponential(Double.parseDouble(p[1]));
+                case "pareto":
+                    return pareto(Double.parseDouble(p[1]), Double.parseDouble(p[2]));
+                case "bimodal":
+                    return bimodal(Double.parseDouble(p[1]), Double.parseDouble(p[2]), Double.parseDouble(p[3]));
+                case "lognormal":
+                    return logNormal(Double.parseDouble(p[1]), Double.parseDouble(p[2]));
+                default:
+                    throw new IllegalArgumentException("unknown distribution: " + spec);
+            }
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("missing parameter in " + spec);
+        }
+    }
+
+    private static int toBurst(double x) {
+        double c = Math.ceil(x);
+        if (!(c >= 1)) // also catches NaN
+            return 1;
+        return c >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) c;
+    }
+}
@@ -0,0 +1,96 @@
+package gen;
+
+import fcfs.StreamingFCFSScheduler;
+import util.BinaryFormat;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Usage: MainGen --jobs N [--seed S] [--arrivals poisson:RATE|diurnal:MEAN:AMP:PERIOD]
+ * [--bursts exp:MEAN|pareto:SCALE:SHAPE|bimodal:SHORT:LONG:FRAC|lognormal:MU:SIGMA|uniform:MIN:MAX|const:V]
+ * [--priorities MIN:MAX] [--threads N] (--out &lt;file.csv|file.bin&gt; | --fcfs [CS])
+ *
+ * CSV output and {@code --fcfs} stream the jobs, so any count works; binary
+ * output builds the workload in memory first.
+ */
+public class MainGen {
+    public static void main(String[] args) throws Exception {
+        long jobs = -1;
+        long seed = 1;
+        ArrivalProcess arrivals = ArrivalProcess.poisson(1.0);
+        Distribution bursts = Distribution.exponential(10);
+        int minPriority = 0, maxPriority = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = null;
+        int fcfs = -1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--jobs":
+                    jobs = Long.parseLong(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--arrivals":
+                    arrivals = ArrivalProcess.parse(args[++i]);
+                    break;
+                case "--bursts":
+                    bursts = Distribution.parse(args[++i]);
+                    break;
+                case "--priorities": {
+                    String[] p = args[++i].split(":");
+                    minPriority = Integer.parseInt(p[0]);
+                    maxPriority = p.length > 1 ? Integer.parseInt(p[1]) : minPriority;
+                    break;
+                }
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--out":
+                    out = args[++i];
+                    break;
+                case "--fcfs":
+                    fcfs = i + 1 < args.length && !args[i + 1].startsWith("--") ? Integer.parseInt(args[++i]) : 0;
+                    break;
+                default:
+                    System.out.println("Unknown arg: " + args[i]);
+                    return;
+            }
+        }
+        if (jobs < 0 || (out == null) == (fcfs < 0)) {
+            System.out.println("usage: MainGen --jobs N [--seed S] [--arrivals SPEC] [--bursts SPEC] "
+                    + "[--priorities MIN:MAX] [--threads N] (--out <file.csv|file.bin> | --fcfs [CS])");
+            return;
+        }
+
+        WorkloadGenerator gen = new WorkloadGenerator(seed, arrivals, bursts, minPriority, maxPriority);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long t0 = System.nanoTime();
+            if (out != null && out.endsWith(".bin")) {
+                if (jobs > Integer.MAX_VALUE - 8) {
+                    System.out.println("binary output holds the workload in memory; use CSV for " + jobs + " jobs");
+                    return;
+                }
+                BinaryFormat.writeWorkload(gen.workload((int) jobs, pool), Path.of(out));
+                System.out.printf("wrote %d jobs to %s in %.1f s%n", jobs, out, (System.nanoTime() - t0) / 1e9);
+            } else if (out != null) {
+                long n = gen.writeCsv(jobs, Path.of(out), pool);
+                System.out.printf("wrote %d jobs to %s in %.1f s%n", n, out, (System.nanoTime() - t0) / 1e9);
+            } else {
+                StreamingFCFSScheduler scheduler = new StreamingFCFSScheduler(fcfs);
+                Iterator<model.Process> it = gen.iterator(jobs, pool);
+                while (it.hasNext())
+                    scheduler.accept(it.next(), e -> {
+                    });
+                System.out.println(scheduler.stats());
+                System.out.println(scheduler.metrics());
+                System.out.printf("%.1f s%n", (System.nanoTime() - t0) / 1e9);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package gen;
+
+import model.Process;
+import model.Workload;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Seeded synthetic workloads: arrivals from an {@link ArrivalProcess}, bursts
+ * from a {@link Distribution} and priorities uniform over a range. Jobs are
+ * named {@code J1, J2, ...} in arrival order.
+ *
+ * Time is cut into windows that each hold about {@value #BLOCK_JOBS} jobs on
+ * average. Every window draws from its own {@link SplittableRandom}, split off
+ * the seeded root in window order, so windows can be generated on any number
+ * of threads and the output only depends on the seed and the settings.
+ * Windows are produced lazily with a bounded look-ahead, so streaming a huge
+ * workload to a scheduler or a file never holds more than a few windows.
+ */
+public class WorkloadGenerator {
+    static final int BLOCK_JOBS = 1 << 15;
+
+    private final long seed;
+    private final ArrivalProcess arrivals;
+    private final Distribution bursts;
+    private final int minPriority;
+    private final int maxPriority;
+    private final double window;
+
+    public WorkloadGenerator(long seed, ArrivalProcess arrivals, Distribution bursts) {
+        this(seed, arrivals, bursts, 0, 0);
+    }
+
+    public WorkloadGenerator(long seed, ArrivalProcess arrivals, Distribution bursts, int minPriority,
+            int maxPriority) {
+        if (maxPriority < minPriority)
+            throw new IllegalArgumentException("minPriority <= maxPriority");
+        this.seed = seed;
+        this.arrivals = arrivals;
+        this.bursts = bursts;
+        this.minPriority = minPriority;
+        this.maxPriority = maxPriority;
+        this.window = BLOCK_JOBS / arrivals.maxRate();
+    }
+
+    /** Generates {@code jobs} processes lazily on the calling thread. */
+    public Iterator<Process> iterator(long jobs) {
+        return iterator(jobs, null);
+    }
+
+    /**
+     * Like {@link #iterator(long)}, generating the next few windows on
+     * {@code pool} while the caller consumes the current one. The sequence is
+     * the same as the single-threaded one.
+     */
+    public Iterator<Process> iterator(long jobs, ForkJoinPool pool) {
+        Blocks blocks = new Blocks(jobs, pool);
+        return new Iterator<Process>() {
+            private Block cur;
+            private int pos;
+            private long index;
+
+            @Override
+            public boolean hasNext() {
+                while ((cur == null || pos == cur.size) && blocks.hasNext()) {
+                    cur = blocks.next();
+                    pos = 0;
+                }
+                return cur != null && pos < cur.size;
+            }
+
+            @Override
+            public Process next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                int i = pos++;
+                return new Process("J" + (++index), cur.priority[i], cur.arrival[i], cur.burst[i]);
+            }
+        };
+    }
+
+    public Workload workload(int jobs) {
+        return workload(jobs, null);
+    }
+
+    public Workload workload(int jobs, ForkJoinPool pool) {
+        Workload.Builder b = Workload.builder(jobs);
+        long index = 0;
+        for (Blocks blocks = new Blocks(jobs, pool); blocks.hasNext();) {
+            Block blk = blocks.next();
+            for (int i = 0; i < blk.size; i++)
+                b.add("J" + (++index), blk.priority[i], blk.arrival[i], blk.burst[i]);
+        }
+        return b.build();
+    }
+
+    /** Streams {@code jobs} jobs to {@code path} as CSV; returns the number written. */
+    public long writeCsv(long jobs, Path path, ForkJoinPool pool) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(path)) {
+            return writeCsv(jobs, out, pool);
+        }
+    }
+
+    public long writeCsv(long jobs, Writer out, ForkJoinPool pool) throws IOException {
+        out.write("# id,priority,arrival,burst\n");
+        StringBuilder sb = new StringBuilder(64 * 1024);
+        long index = 0;
+        for (Blocks blocks = new Blocks(jobs, pool); blocks.hasNext();) {
+            Block blk = blocks.next();
+            for (int i = 0; i < blk.size; i++) {
+                sb.append('J').append(++index).append(',').append(blk.priority[i]).append(',')
+                        .append(blk.arrival[i]).append(',').append(blk.burst[i]).append('\n');
+                if (sb.length() >= 60 * 1024) {
+                    out.append(sb);
+                    sb.setLength(0);
+                }
+            }
+        }
+        out.append(sb);
+        return index;
+    }
+
+    /** Jobs of one time window, in arrival order. */
+    private static final class Block {
+        int size;
+        long[] arrival = new long[BLOCK_JOBS + BLOCK_JOBS / 4];
+        int[] burst = new int[arrival.length];
+        int[] priority = new int[arrival.length];
+
+        void add(long a, int b, int p) {
+            if (size == arrival.length) {
+                int cap = size * 2;
+                arrival = Arrays.copyOf(arrival, cap);
+                burst = Arrays.copyOf(burst, cap);
+                priority = Arrays.copyOf(priority, cap);
+            }
+            arrival[size] = a;
+            burst[size] = b;
+            priority[size] = p;
+            size++;
+        }
+    }
+
+    private Block generate(long k, SplittableRandom rnd) {
+        Block blk = new Block();
+        double from = k * window;
+        double to = from + window;
+        double max = arrivals.maxRate();
+        double t = from;
+        while (true) {
+            // candidates at the peak rate, thinned down to rate(t)
+            t -= Math.log(1.0 - rnd.nextDouble()) / max;
+            if (t >= to)
+                return blk;
+            if (rnd.nextDouble() * max >= arrivals.rate(t))
+                continue;
+            if (t >= 0x1p63)
+                throw new IllegalArgumentException("arrival times past " + Long.MAX_VALUE
+                        + "; generate fewer jobs or raise the arrival rate");
+            int priority = minPriority == maxPriority ? minPriority
+                    : (int) rnd.nextLong(minPriority, (long) maxPriority + 1);
+            blk.add((long) t, bursts.sample(rnd), priority);
+        }
+    }
+
+    /**
+     * Windows in order, trimmed to the job count. With a pool, up to twice its
+     * parallelism windows are in flight; the random streams are still split
+     * off the root here, in window order.
+     */
+    private final class Blocks implements Iterator<Block> {
+        private final SplittableRandom root = new SplittableRandom(seed);
+        private final ForkJoinPool pool;
+        private final ArrayDeque<ForkJoinTask<Block>> ahead = new ArrayDeque<>();
+        private final int lookAhead;
+        private long remaining;
+        private long nextWindow;
+
+        Blocks(long jobs, ForkJoinPool pool) {
+            if (jobs < 0)
+                throw new IllegalArgumentException("jobs >= 0");
+            this.remaining = jobs;
+            this.pool = pool;
+            this.lookAhead = pool == null ? 0 : 2 * pool.getParallelism();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Block next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            Block blk;
+            if (pool == null) {
+                blk = generate(nextWindow++, root.split());
+            } else {
+                while (ahead.size() < lookAhead) {
+                    long k = nextWindow++;
+                    SplittableRandom rnd = root.split();
+                    ahead.add(pool.submit(() -> generate(k, rnd)));
+                }
+                blk = ahead.poll().join();
+            }
+            if (blk.size >= remaining) {
+                blk.size = (int) remaining;
+                // stop here; windows still in flight are simply dropped
+                ahead.forEach(f -> f.cancel(false));
+                ahead.clear();
+            }
+            remaining -= blk.size;
+            return blk;
+        }
+    }
+}
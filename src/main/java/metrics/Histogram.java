@@ -0,0 +1,163 @@
+package metrics;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size log-linear histogram of non-negative longs, in the style of
+ * HdrHistogram. Values below 128 are counted exactly; larger values fall in
+ * buckets 1/64 of their power of two wide, so any reported percentile is
+ * within 1.6% of the true value. Count, min and max are exact; the sum is
+ * kept in 128 bits so the mean stays right for any number of huge values.
+ *
+ * Footprint is one {@code long[3776]} however many values are recorded, and
+ * {@link #record} never allocates, so it can sit on a scheduler's hot path.
+ * Not thread-safe; merge per-thread instances with {@link #add}.
+ */
+public final class Histogram {
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS; // 64 sub-buckets per power of two
+    private static final int EXACT = SUB_COUNT << 1; // 0..127 are exact
+    private static final int BUCKETS = EXACT + (63 - SUB_BITS) * SUB_COUNT;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    // unsigned low word and carry count of the sum
+    private long sum;
+    private long sumHigh;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void record(long value) {
+        if (value < 0)
+            throw new IllegalArgumentException("negative value: " + value);
+        counts[index(value)]++;
+        count++;
+        long s = sum + value;
+        if (Long.compareUnsigned(s, sum) < 0)
+            sumHigh++;
+        sum = s;
+        if (value < min)
+            min = value;
+        if (value > max)
+            max = value;
+    }
+
+    static int index(long value) {
+        if (value < EXACT)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS; // >= 1
+        return EXACT + (shift - 1) * SUB_COUNT + (int) (value >>> shift) - SUB_COUNT;
+    }
+
+    // largest value that maps to the same bucket
+    static long highestInBucket(int index) {
+        if (index < EXACT)
+            return index;
+        int shift = (index - EXACT) / SUB_COUNT + 1;
+        long sub = (index - EXACT) % SUB_COUNT + SUB_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /** Adds every value recorded in {@code other}. */
+    public void add(Histogram other) {
+        if (other.count == 0)
+            return;
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        long s = sum + other.sum;
+        sumHigh += other.sumHigh + (Long.compareUnsigned(s, sum) < 0 ? 1 : 0);
+        sum = s;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        sumHigh = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /** Sum of all values, or {@code Long.MAX_VALUE} once it no longer fits. */
+    public long sum() {
+        return sumHigh != 0 || sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    public double mean() {
+        if (count == 0)
+            return 0.0;
+        double s = sumHigh * 0x1p64 + (sum >= 0 ? sum : sum + 0x1p64);
+        return s / count;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Smallest recorded value (up to bucket precision) such that at least
+     * {@code percentile}% of the values are less than or equal to it.
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("percentile in [0, 100]: " + percentile);
+        if (count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.max(min, Math.min(max, highestInBucket(i)));
+        }
+        return max;
+    }
+
+    /**
+     * Number of recorded values {@code <= value}. Exact when {@code value} is
+     * below 128 or the top of a bucket (such as 2^k - 1); otherwise the
+     * bucket holding {@code value} is left out.
+     */
+    public long countAtOrBelow(long value) {
+        if (value < 0)
+            return 0;
+        int last = index(value);
+        long c = 0;
+        for (int i = 0; i < last; i++)
+            c += counts[i];
+        return highestInBucket(last) == value ? c + counts[last] : c;
+    }
+
+    public long p50() {
+        return percentile(50);
+    }
+
+    public long p90() {
+        return percentile(90);
+    }
+
+    public long p99() {
+        return percentile(99);
+    }
+
+    public long p999() {
+        return percentile(99.9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, mean=%.3f, p50=%d, p90=%d, p99=%d, p999=%d, max=%d", count, mean(), p50(), p90(),
+                p99(), p999(), max());
+    }
+}
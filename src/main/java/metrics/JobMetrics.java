@@ -0,0 +1,45 @@
+package metrics;
+
+import model.Process;
+
+import java.util.List;
+
+/**
+ * Distribution of per-job turnaround, waiting and response time, filled in by
+ * a scheduler as each job completes (no second pass over the jobs).
+ *
+ * Waiting is turnaround minus burst (CPU plus any I/O), which for FCFS is the
+ * same as start minus arrival; response is the first dispatch minus arrival.
+ */
+public final class JobMetrics {
+    public final Histogram turnaround = new Histogram();
+    public final Histogram waiting = new Histogram();
+    public final Histogram response = new Histogram();
+
+    public void record(long arrival, long firstStart, long completion, long burst) {
+        long t = completion - arrival;
+        turnaround.record(t);
+        waiting.record(t - burst);
+        response.record(firstStart - arrival);
+    }
+
+    public void add(JobMetrics other) {
+        turnaround.add(other.turnaround);
+        waiting.add(other.waiting);
+        response.add(other.response);
+    }
+
+    /** For results that were not produced by a scheduler, e.g. read back from disk. */
+    public static JobMetrics of(List<Process> processes) {
+        JobMetrics m = new JobMetrics();
+        for (Process p : processes)
+            m.record(p.getArrivalTime(), p.getStartTime(), p.getCompletionTime(),
+                    p.getOriginalBurst() + p.getSpec().getIoTime());
+        return m;
+    }
+
+    @Override
+    public String toString() {
+        return "turnaround: " + turnaround + "\nwaiting:    " + waiting + "\nresponse:   " + response;
+    }
+}
@@ -0,0 +1,118 @@
+package metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * Writes {@link SchedulerCounters} (and optionally {@link JobMetrics}) in the
+ * Prometheus text exposition format, e.g. for node_exporter's textfile
+ * collector. Files are written next to the target and renamed into place so
+ * a scraper never sees half a file.
+ */
+public class PrometheusExporter {
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+    public static void write(Path path, Map<String, String> labels, SchedulerCounters counters, JobMetrics jobs)
+            throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                write(out, labels, counters, jobs);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** {@code jobs} may be {@code null}. */
+    public static void write(Writer out, Map<String, String> labels, SchedulerCounters c, JobMetrics jobs)
+            throws IOException {
+        String l = labels(labels, null, null);
+        counter(out, "scheduler_dispatches_total", "Jobs given the CPU.", l, c.dispatches);
+        counter(out, "scheduler_preemptions_total", "Jobs that lost the CPU with work left.", l, c.preemptions);
+        counter(out, "scheduler_context_switches_total", "Switches from one job to another.", l, c.contextSwitches);
+        counter(out, "scheduler_context_switch_ticks_total", "Simulated time spent switching.", l,
+                c.contextSwitchTime);
+        counter(out, "scheduler_completions_total", "Jobs finished.", l, c.completions);
+        counter(out, "scheduler_idle_periods_total", "Gaps with nothing ready to run.", l, c.idlePeriods);
+        counter(out, "scheduler_idle_ticks_total", "Simulated time spent idle.", l, c.idleTime);
+
+        Histogram depth = c.readyQueueDepth;
+        out.write("# HELP scheduler_ready_queue_depth Jobs waiting at each dispatch.\n");
+        out.write("# TYPE scheduler_ready_queue_depth histogram\n");
+        // le = 2^k - 1 are bucket tops, so the cumulative counts are exact
+        for (long le = 0;; le = le * 2 + 1) {
+            out.write("scheduler_ready_queue_depth_bucket" + labels(labels, "le", Long.toString(le)) + " "
+                    + depth.countAtOrBelow(le) + "\n");
+            if (le >= depth.max())
+                break;
+        }
+        out.write("scheduler_ready_queue_depth_bucket" + labels(labels, "le", "+Inf") + " " + depth.count() + "\n");
+        out.write("scheduler_ready_queue_depth_sum" + l + " " + depth.sum() + "\n");
+        out.write("scheduler_ready_queue_depth_count" + l + " " + depth.count() + "\n");
+
+        out.write("# HELP scheduler_phase_seconds Wall-clock time per scheduler phase.\n");
+        out.write("# TYPE scheduler_phase_seconds gauge\n");
+        for (Map.Entry<String, Long> e : c.phaseNanos.entrySet()) {
+            out.write("scheduler_phase_seconds" + labels(labels, "phase", e.getKey()) + " " + e.getValue() / 1e9
+                    + "\n");
+        }
+
+        if (jobs != null) {
+            summary(out, "scheduler_job_turnaround_ticks", "Completion minus arrival.", labels, jobs.turnaround);
+            summary(out, "scheduler_job_waiting_ticks", "Time ready but not running.", labels, jobs.waiting);
+            summary(out, "scheduler_job_response_ticks", "First dispatch minus arrival.", labels, jobs.response);
+        }
+        out.flush();
+    }
+
+    private static void counter(Writer out, String name, String help, String labels, long value) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " counter\n");
+        out.write(name + labels + " " + value + "\n");
+    }
+
+    private static void summary(Writer out, String name, String help, Map<String, String> labels, Histogram h)
+            throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " summary\n");
+        for (double q : QUANTILES) {
+            out.write(name + labels(labels, "quantile", Double.toString(q)) + " " + h.percentile(q * 100) + "\n");
+        }
+        out.write(name + "_sum" + labels(labels, null, null) + " " + h.sum() + "\n");
+        out.write(name + "_count" + labels(labels, null, null) + " " + h.count() + "\n");
+    }
+
+    private static String labels(Map<String, String> labels, String extraName, String extraValue) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> e : labels.entrySet())
+            append(sb, e.getKey(), e.getValue());
+        if (extraName != null)
+            append(sb, extraName, extraValue);
+        return sb.length() == 0 ? "" : "{" + sb + "}";
+    }
+
+    private static void append(StringBuilder sb, String name, String value) {
+        if (sb.length() > 0)
+            sb.append(',');
+        sb.append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '\\' || ch == '"')
+                sb.append('\\').append(ch);
+            else if (ch == '\n')
+                sb.append("\\n");
+            else
+                sb.append(ch);
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,68 @@
+package metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link SchedulerListener} that only counts: per-event totals, a histogram
+ * of the ready-queue depth at each dispatch and the wall time per phase.
+ * Counters accumulate across runs until {@link #clear()}. Not thread-safe.
+ */
+public class SchedulerCounters implements SchedulerListener {
+    public long dispatches;
+    public long preemptions;
+    public long contextSwitches;
+    public long contextSwitchTime;
+    public long completions;
+    public long idlePeriods;
+    public long idleTime;
+    public final Histogram readyQueueDepth = new Histogram();
+    public final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+
+    @Override
+    public void dispatch(long time, int cpu, int job, int readyDepth) {
+        dispatches++;
+        readyQueueDepth.record(readyDepth);
+    }
+
+    @Override
+    public void preempt(long time, int cpu, int job) {
+        preemptions++;
+    }
+
+    @Override
+    public void contextSwitch(long time, int cpu, long duration) {
+        contextSwitches++;
+        contextSwitchTime += duration;
+    }
+
+    @Override
+    public void complete(long time, int cpu, int job) {
+        completions++;
+    }
+
+    @Override
+    public void idle(long start, long end, int cpu) {
+        idlePeriods++;
+        idleTime += end - start;
+    }
+
+    @Override
+    public void phase(String name, long nanos) {
+        phaseNanos.merge(name, nanos, Long::sum);
+    }
+
+    public void clear() {
+        dispatches = preemptions = contextSwitches = contextSwitchTime = completions = idlePeriods = idleTime = 0;
+        readyQueueDepth.clear();
+        phaseNanos.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("dispatches=%d, preemptions=%d, contextSwitches=%d, completions=%d, idle=%d periods/%d "
+                + "ticks, readyQueue p50=%d p99=%d max=%d, phases(ns)=%s", dispatches, preemptions, contextSwitches,
+                completions, idlePeriods, idleTime, readyQueueDepth.p50(), readyQueueDepth.p99(),
+                readyQueueDepth.max(), phaseNanos);
+    }
+}
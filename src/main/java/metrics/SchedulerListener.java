@@ -0,0 +1,43 @@
+package metrics;
+
+/**
+ * Hooks into a scheduler's decisions. Every method has an empty default, and
+ * schedulers receive {@link #NONE} when nobody is listening, so the disabled
+ * case is one inlined no-op call per event.
+ *
+ * Jobs are reported by their index in the {@link model.Workload} being run,
+ * times are simulation ticks and {@code cpu} is always 0 for the single-CPU
+ * schedulers. A listener is handed to one run at a time (see
+ * {@link fcfs.Scheduler#run(model.Workload, SchedulerListener)}) and need not
+ * be thread-safe unless the caller shares it between concurrent runs.
+ */
+public interface SchedulerListener {
+    SchedulerListener NONE = new SchedulerListener() {
+    };
+
+    /** {@code job} gets the CPU; {@code readyDepth} jobs are left waiting. */
+    default void dispatch(long time, int cpu, int job, int readyDepth) {
+    }
+
+    /** {@code job} loses the CPU with work left (quantum expiry or a better job arriving). */
+    default void preempt(long time, int cpu, int job) {
+    }
+
+    /** The CPU switches from one job to another; {@code duration} is 0 when switches are free. */
+    default void contextSwitch(long time, int cpu, long duration) {
+    }
+
+    default void complete(long time, int cpu, int job) {
+    }
+
+    default void idle(long start, long end, int cpu) {
+    }
+
+    /**
+     * Wall-clock time of one phase of the run: "prepare" (sorting, state
+     * allocation), "simulate" (the event loop) and "collect" (building the
+     * result).
+     */
+    default void phase(String name, long nanos) {
+    }
+}
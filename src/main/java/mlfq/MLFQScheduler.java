@@ -0,0 +1,226 @@
+package mlfq;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import metrics.JobMetrics;
+import metrics.SchedulerListener;
+import model.ExecutionState;
+import model.Workload;
+import util.IntRingQueue;
+
+/**
+ * Multi-level feedback queue. New processes enter level 0; a process that
+ * uses up its level's quantum (in one or several slices) drops a level, and
+ * every {@code boostPeriod} ticks all waiting processes move back to level 0.
+ * The highest non-empty level always runs, round-robin within the level, and
+ * an arrival preempts anything running below level 0. A preempted process
+ * keeps what it has used of its quantum and goes to the back of its level.
+ *
+ * Each level is a chain of {@link IntRingQueue}s of job indices. A boost
+ * splices the lower chains onto level 0 and bumps an epoch that lazily resets
+ * every job's used quantum, so decisions and boosts are O(levels) however
+ * many jobs are waiting. A process running alone at the lowest level runs up
+ * to the next arrival or boost in one step (like
+ * {@link rr.RoundRobinScheduler}), so long jobs don't cost one loop per
+ * quantum. Gantt slices carry the level they ran at in
+ * {@link GanttEntry#level}.
+ */
+public class MLFQScheduler implements Scheduler {
+    private final int[] quanta;
+    private final int boostPeriod;
+
+    /** Three levels with quanta 8, 16 and 32, boosting every 200 ticks. */
+    public MLFQScheduler() {
+        this(new int[] { 8, 16, 32 }, 200);
+    }
+
+    /**
+     * @param quanta      quantum per level, top level first; the last one may
+     *                    be {@code Integer.MAX_VALUE} for FCFS at the bottom
+     * @param boostPeriod ticks between priority boosts, or 0 to never boost
+     */
+    public MLFQScheduler(int[] quanta, int boostPeriod) {
+        if (quanta.length == 0)
+            throw new IllegalArgumentException("at least one level");
+        for (int q : quanta) {
+            if (q <= 0)
+                throw new IllegalArgumentException("quantum > 0");
+        }
+        if (boostPeriod < 0)
+            throw new IllegalArgumentException("boostPeriod >= 0");
+        this.quanta = quanta.clone();
+        this.boostPeriod = boostPeriod;
+    }
+
+    @Override
+    public String config() {
+        return "mlfq quanta=" + Arrays.toString(quanta) + " boost=" + boostPeriod;
+    }
+
+    @Override
+    public ScheduleResult run(Workload w, SchedulerListener listener) {
+        if (w.hasIo())
+            throw new IllegalArgumentException("MLFQ scheduler does not model I/O bursts");
+        long t0 = System.nanoTime();
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        ExecutionState state = w.newExecutionState();
+        int levels = quanta.length;
+        Level[] queues = new Level[levels];
+        for (int l = 0; l < levels; l++)
+            queues[l] = new Level(l == 0 ? Math.min(n, 1 << 16) : 16);
+        int[] used = new int[n]; // quantum used at the current level, valid while usedEpoch == epoch
+        int[] usedEpoch = new int[n];
+        int epoch = 0;
+        long t1 = System.nanoTime();
+        listener.phase("prepare", t1 - t0);
+
+        List<GanttEntry> gantt = new ArrayList<>();
+        int finished = 0;
+        long time = 0;
+        long totalBusy = 0;
+        JobMetrics metrics = new JobMetrics();
+        int nextArr = 0;
+        int waiting = 0;
+        long nextBoost = boostPeriod == 0 ? Long.MAX_VALUE : boostPeriod;
+        int last = -1;
+
+        while (finished < n) {
+            while (nextArr < n && w.arrival(order[nextArr]) <= time) {
+                queues[0].addLast(order[nextArr++]);
+                waiting++;
+            }
+            if (time >= nextBoost) {
+                for (int l = 1; l < levels; l++)
+                    queues[0].splice(queues[l]);
+                epoch++;
+                nextBoost = (time / boostPeriod + 1) * (long) boostPeriod;
+            }
+
+            if (waiting == 0) {
+                // idle until the next arrival; no boost is due while nothing waits
+                long next = w.arrival(order[nextArr]);
+                gantt.add(new GanttEntry("idle", time, next));
+                listener.idle(time, next, 0);
+                time = next;
+                if (boostPeriod > 0 && time >= nextBoost)
+                    nextBoost = (time / boostPeriod + 1) * (long) boostPeriod;
+                continue;
+            }
+
+            int top = 0;
+            while (queues[top].isEmpty())
+                top++;
+            int cur = queues[top].removeFirst();
+            waiting--;
+            if (cur != last) {
+                if (last >= 0) {
+                    if (!state.isFinished(last))
+                        listener.preempt(time, 0, last);
+                    listener.contextSwitch(time, 0, 0);
+                }
+                listener.dispatch(time, 0, cur, waiting);
+            }
+            last = cur;
+
+            if (usedEpoch[cur] != epoch) {
+                used[cur] = 0;
+                usedEpoch[cur] = epoch;
+            }
+            boolean bottom = top == levels - 1;
+            long q = quanta[top];
+            long slice = q - used[cur];
+            if (bottom && waiting == 0) {
+                // alone at the bottom: whole quanta until the one that reaches the next arrival
+                if (nextArr < n) {
+                    long gap = w.arrival(order[nextArr]) - time;
+                    if (gap > slice)
+                        slice += (gap - slice + q - 1) / q * q;
+                } else {
+                    slice = Long.MAX_VALUE;
+                }
+            }
+            if (top > 0 && nextArr < n)
+                slice = Math.min(slice, w.arrival(order[nextArr]) - time);
+            slice = Math.min(slice, nextBoost - time);
+            slice = Math.min(slice, state.remaining(cur));
+
+            long start = time;
+            int run = state.runFor(cur, (int) slice, start);
+            time += run;
+            totalBusy += run;
+            GanttEntry.appendMerged(gantt, w.id(cur), start, time, 0, top);
+
+            while (nextArr < n && w.arrival(order[nextArr]) <= time) {
+                queues[0].addLast(order[nextArr++]);
+                waiting++;
+            }
+
+            if (state.isFinished(cur)) {
+                finished++;
+                // preemptive -> waiting = turnaround - original burst
+                metrics.record(w.arrival(cur), state.start(cur), time, w.burst(cur));
+                listener.complete(time, 0, cur);
+                continue;
+            }
+            // the lowest level just wraps its quantum around
+            used[cur] = bottom ? (int) ((used[cur] + (long) run) % q) : used[cur] + run;
+            int next = top;
+            if (!bottom && used[cur] == quanta[top]) {
+                next = top + 1;
+                used[cur] = 0;
+            }
+            queues[next].addLast(cur);
+            waiting++;
+        }
+        long t2 = System.nanoTime();
+        listener.phase("simulate", t2 - t1);
+
+        double avgTurnaround = metrics.turnaround.mean();
+        double avgWaiting = metrics.waiting.mean();
+        double cpuUtil = time == 0 ? 0.0 : (100.0 * totalBusy / time);
+        ScheduleResult r = new ScheduleResult(w.resultView(order, state), gantt, avgTurnaround, avgWaiting, cpuUtil,
+                time, metrics);
+        listener.phase("collect", System.nanoTime() - t2);
+        return r;
+    }
+
+    /** FIFO of job indices made of spliceable ring-queue segments. */
+    private static final class Level {
+        private final ArrayDeque<IntRingQueue> segments = new ArrayDeque<>();
+
+        Level(int expectedSize) {
+            segments.add(new IntRingQueue(expectedSize));
+        }
+
+        void addLast(int job) {
+            segments.peekLast().addLast(job);
+        }
+
+        boolean isEmpty() {
+            while (segments.size() > 1 && segments.peekFirst().isEmpty())
+                segments.pollFirst();
+            return segments.peekFirst().isEmpty();
+        }
+
+        int removeFirst() {
+            isEmpty();
+            return segments.peekFirst().removeFirst();
+        }
+
+        /** Moves all of {@code other}'s jobs, in order, behind this level's. */
+        void splice(Level other) {
+            if (other.isEmpty())
+                return;
+            segments.addAll(other.segments);
+            other.segments.clear();
+            other.segments.add(new IntRingQueue());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Mutable per-run state for a {@link Workload}, stored as primitive arrays
+ * indexed by job ordinal. Each scheduler run creates its own instance, so any
+ * number of runs can share one workload concurrently.
+ *
+ * For workloads with I/O, {@link #runFor} stops at the end of the current
+ * CPU burst; the scheduler then sees {@link #needsIo} and calls
+ * {@link #startIo} to block the job until its I/O is done.
+ */
+public final class ExecutionState {
+    final int[] remaining;
+    final long[] start;
+    final long[] completion;
+    // only for workloads with I/O: current phase and what is left of the current CPU burst
+    private final Workload io;
+    private final int[] phase;
+    private final int[] burstLeft;
+    private long ioBusy;
+    private long ioBusyUntil;
+
+    public ExecutionState(Workload w) {
+        int n = w.size();
+        remaining = new int[n];
+        start = new long[n];
+        completion = new long[n];
+        for (int i = 0; i < n; i++)
+            remaining[i] = w.burst(i);
+        Arrays.fill(start, -1);
+        Arrays.fill(completion, -1);
+        if (w.hasIo()) {
+            io = w;
+            phase = new int[n];
+            burstLeft = new int[n];
+            for (int i = 0; i < n; i++)
+                burstLeft[i] = w.phase(i, 0);
+        } else {
+            io = null;
+            phase = null;
+            burstLeft = null;
+        }
+    }
+
+    public int size() {
+        return remaining.length;
+    }
+
+    public int remaining(int job) {
+        return remaining[job];
+    }
+
+    public long start(int job) {
+        return start[job];
+    }
+
+    public long completion(int job) {
+        return completion[job];
+    }
+
+    public boolean isFinished(int job) {
+        return remaining[job] == 0;
+    }
+
+    /** CPU time left before the job finishes or blocks for I/O. */
+    public int burstRemaining(int job) {
+        return burstLeft == null ? remaining[job] : burstLeft[job];
+    }
+
+    /** The current CPU burst is done and an I/O burst comes next. */
+    public boolean needsIo(int job) {
+        return burstLeft != null && burstLeft[job] == 0 && remaining[job] > 0;
+    }
+
+    /**
+     * Starts the I/O burst of a job that {@link #needsIo} and moves it on to
+     * its next CPU burst. I/O bursts overlap freely; {@link #ioBusyTime()}
+     * counts the time at least one is in progress, which assumes calls come in
+     * non-decreasing {@code time} order.
+     *
+     * @return the time the I/O completes and the job is ready again
+     */
+    public long startIo(int job, long time) {
+        if (!needsIo(job))
+            throw new IllegalStateException("job " + job + " is not waiting for I/O");
+        long end = time + io.phase(job, ++phase[job]);
+        burstLeft[job] = io.phase(job, ++phase[job]);
+        if (end > ioBusyUntil) {
+            ioBusy += end - Math.max(time, ioBusyUntil);
+            ioBusyUntil = end;
+        }
+        return end;
+    }
+
+    /** Length of the union of all I/O bursts started so far. */
+    public long ioBusyTime() {
+        return ioBusy;
+    }
+
+    /** End of the latest I/O burst started so far. */
+    public long ioBusyUntil() {
+        return ioBusyUntil;
+    }
+
+    /** Index of the job's current phase (CPU bursts are even); always 0 without I/O. */
+    public int phase(int job) {
+        return phase == null ? 0 : phase[job];
+    }
+
+    /**
+     * Puts one job back the way a snapshot recorded it, so a run can continue
+     * where an earlier one stopped. {@code phase} and {@code burstLeft} are
+     * ignored for workloads without I/O.
+     */
+    public void restore(int job, int remaining, long start, long completion, int phase, int burstLeft) {
+        this.remaining[job] = remaining;
+        this.start[job] = start;
+        this.completion[job] = completion;
+        if (this.phase != null) {
+            this.phase[job] = phase;
+            this.burstLeft[job] = burstLeft;
+        }
+    }
+
+    /** Restores the I/O aggregates that go with {@link #restore}. */
+    public void restoreIo(long ioBusy, long ioBusyUntil) {
+        this.ioBusy = ioBusy;
+        this.ioBusyUntil = ioBusyUntil;
+    }
+
+    /**
+     * Same contract as {@link Process#runFor(int, long)}: runs the job for up to
+     * {@code quantum} units starting at {@code currentTime}, but never past the
+     * end of the current CPU burst.
+     *
+     * @return the number of units actually run
+     */
+    public int runFor(int job, int quantum, long currentTime) {
+        if (start[job] == -1)
+            start[job] = currentTime;
+        int run = Math.min(quantum, burstLeft == null ? remaining[job] : burstLeft[job]);
+        remaining[job] -= run;
+        if (burstLeft != null)
+            burstLeft[job] -= run;
+        if (remaining[job] == 0)
+            completion[job] = currentTime + run;
+        return run;
+    }
+}
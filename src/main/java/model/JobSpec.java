@@ -0,0 +1,116 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable description of a job: what the workload says, never what a run
+ * did with it. Run state (remaining burst, start, completion) lives in
+ * {@link ExecutionState} or, for the object model, in {@link Process}.
+ *
+ * A job either has one CPU burst or alternates CPU and I/O bursts
+ * ({@code cpu, io, cpu, ..., cpu}); {@link #getBurst()} is always the total
+ * CPU demand.
+ */
+public final class JobSpec {
+    private final String id;
+    private final int priority;
+    private final long arrivalTime;
+    private final int burst;
+    private final int ioTime;
+    // cpu, io, cpu, ... or null for a single CPU burst
+    private final int[] phases;
+
+    public JobSpec(String id, int priority, long arrivalTime, int burst) {
+        this.id = id;
+        this.priority = priority;
+        this.arrivalTime = arrivalTime;
+        this.burst = burst;
+        this.ioTime = 0;
+        this.phases = null;
+    }
+
+    /**
+     * @param bursts alternating CPU and I/O bursts, starting and ending with a
+     *               CPU burst (so an odd length); one element is a plain job
+     */
+    public JobSpec(String id, int priority, long arrivalTime, int[] bursts) {
+        checkPhases(bursts);
+        this.id = id;
+        this.priority = priority;
+        this.arrivalTime = arrivalTime;
+        int cpu = 0, io = 0;
+        for (int k = 0; k < bursts.length; k++) {
+            if ((k & 1) == 0)
+                cpu += bursts[k];
+            else
+                io += bursts[k];
+        }
+        this.burst = cpu;
+        this.ioTime = io;
+        this.phases = bursts.length == 1 ? null : bursts.clone();
+    }
+
+    static void checkPhases(int[] bursts) {
+        if (bursts.length % 2 == 0)
+            throw new IllegalArgumentException("bursts must alternate cpu,io,...,cpu: " + Arrays.toString(bursts));
+        for (int k = 0; k < bursts.length; k++) {
+            // a plain job may have a 0 burst, but every phase of an I/O job must do something
+            if (bursts[k] < 0 || (bursts[k] == 0 && bursts.length > 1))
+                throw new IllegalArgumentException("burst " + k + " must be positive: " + Arrays.toString(bursts));
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /** Total CPU time. */
+    public int getBurst() {
+        return burst;
+    }
+
+    /** Total I/O time; 0 for a pure CPU job. */
+    public int getIoTime() {
+        return ioTime;
+    }
+
+    public boolean hasIo() {
+        return phases != null;
+    }
+
+    /** {@code cpu, io, cpu, ...}; a single element for a pure CPU job. */
+    public int[] getBursts() {
+        return phases == null ? new int[] { burst } : phases.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof JobSpec))
+            return false;
+        JobSpec other = (JobSpec) o;
+        return priority == other.priority && arrivalTime == other.arrivalTime && burst == other.burst
+                && id.equals(other.id) && Arrays.equals(phases, other.phases);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, priority, arrivalTime, burst) * 31 + Arrays.hashCode(phases);
+    }
+
+    @Override
+    public String toString() {
+        return id + "(prio=" + priority + ", arr=" + arrivalTime + ", burst=" + burst
+                + (phases == null ? "" : ", io=" + ioTime + ", bursts=" + Arrays.toString(phases)) + ")";
+    }
+}
@@ -1,32 +1,48 @@
 package model;
 
+/**
+ * Object-model job: an immutable {@link JobSpec} plus the mutable state of a
+ * single run. Schedulers do not mutate the processes they are given; they run
+ * on a {@link Workload} built from the specs and return fresh instances.
+ */
 public class Process {
-    private final String id;
-    private final int priority;
-    private final int arrivalTime;
-    private final int originalBurst;
+    private final JobSpec spec;
     private int remainingBurst;
-    private int startTime = -1;
-    private int completionTime = -1;
+    private long startTime = -1;
+    private long completionTime = -1;
 
-    public Process(String id, int priority, int arrivalTime, int burst) {
-        this.id = id;
-        this.priority = priority;
-        this.arrivalTime = arrivalTime;
-        this.originalBurst = burst;
-        this.remainingBurst = burst;
+    public Process(String id, int priority, long arrivalTime, int burst) {
+        this(new JobSpec(id, priority, arrivalTime, burst));
+    }
+
+    public Process(JobSpec spec) {
+        this.spec = spec;
+        this.remainingBurst = spec.getBurst();
+    }
+
+    // state as of the end of a run; used by Workload result views
+    Process(JobSpec spec, long startTime, long completionTime) {
+        this(spec);
+        this.startTime = startTime;
+        this.completionTime = completionTime;
+        if (completionTime >= 0)
+            this.remainingBurst = 0;
+    }
+
+    public JobSpec getSpec() {
+        return spec;
     }
 
     public String getId() {
-        return id;
+        return spec.getId();
     }
 
     public int getPriority() {
-        return priority;
+        return spec.getPriority();
     }
 
-    public int getArrivalTime() {
-        return arrivalTime;
+    public long getArrivalTime() {
+        return spec.getArrivalTime();
     }
 
     public int getRemainingBurst() {
@@ -34,14 +50,14 @@ public class Process {
     }
 
     public int getOriginalBurst() {
-        return originalBurst;
+        return spec.getBurst();
     }
 
-    public int getStartTime() {
+    public long getStartTime() {
         return startTime;
     }
 
-    public int getCompletionTime() {
+    public long getCompletionTime() {
         return completionTime;
     }
 
@@ -49,7 +65,7 @@ public class Process {
         return remainingBurst == 0;
     }
 
-    public void runFor(int quantum, int currentTime) {
+    public void runFor(int quantum, long currentTime) {
         if (startTime == -1)
             startTime = currentTime;
         int run = Math.min(quantum, remainingBurst);
@@ -60,6 +76,6 @@ public class Process {
 
     @Override
     public String toString() {
-        return id + "(prio=" + priority + ", arr=" + arrivalTime + ", rem=" + remainingBurst + ")";
+        return getId() + "(prio=" + getPriority() + ", arr=" + getArrivalTime() + ", rem=" + remainingBurst + ")";
     }
 }
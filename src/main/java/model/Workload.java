@@ -0,0 +1,696 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Struct-of-arrays workload: one primitive column per attribute instead of one
+ * {@link Process} object per job. Ids are interned into a name table and each
+ * job only stores an index into it. Instances are immutable once built, so a
+ * workload can be handed to any number of scheduler runs.
+ *
+ * Jobs with alternating CPU and I/O bursts keep their bursts in one flat
+ * column ({@code cpu, io, cpu, ...} per job, indexed by a start offset); the
+ * column is absent when no job does I/O, so pure CPU workloads cost nothing
+ * extra. {@link #burst(int)} is always the job's total CPU time.
+ *
+ * Times are {@code long} ticks of {@link #timeUnit()} (milliseconds unless the
+ * builder says otherwise), so microsecond or nanosecond traces can span years
+ * of simulated time. A single burst is still an {@code int} number of ticks.
+ *
+ * The builder folds every job into a 128-bit {@link #fingerprint()} as it is
+ * added, so loaders get a content hash of what they read at no extra pass.
+ */
+public final class Workload {
+    private final String[] names;
+    private final int[] idIndex;
+    private final int[] priority;
+    private final long[] arrival;
+    private final int[] burst;
+    // null unless some job does I/O; phases of job j are phases[phaseStart[j] .. phaseStart[j + 1])
+    private final int[] phaseStart;
+    private final int[] phases;
+    private final int[] ioTime;
+    private final int size;
+    private final TimeUnit timeUnit;
+    private final long fingerprintHigh;
+    private final long fingerprintLow;
+
+    private Workload(String[] names, int[] idIndex, int[] priority, long[] arrival, int[] burst, int[] phaseStart,
+            int[] phases, int[] ioTime, int size, TimeUnit timeUnit, long fingerprintHigh, long fingerprintLow) {
+        this.names = names;
+        this.idIndex = idIndex;
+        this.priority = priority;
+        this.arrival = arrival;
+        this.burst = burst;
+        this.phaseStart = phaseStart;
+        this.phases = phases;
+        this.ioTime = ioTime;
+        this.size = size;
+        this.timeUnit = timeUnit;
+        this.fingerprintHigh = fingerprintHigh;
+        this.fingerprintLow = fingerprintLow;
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /** Adapter from the object model; only the immutable specs are copied. */
+    public static Workload fromProcesses(List<Process> processes) {
+        Builder b = new Builder(processes.size());
+        for (Process p : processes)
+            b.add(p.getSpec());
+        return b.build();
+    }
+
+    /** One range per entry of {@code capacities}, in that order; see {@link RangeBuilder}. */
+    public static RangeBuilder rangeBuilder(int[] capacities) {
+        return new RangeBuilder(capacities);
+    }
+
+    public static Workload fromSpecs(List<JobSpec> specs) {
+        Builder b = new Builder(specs.size());
+        for (JobSpec s : specs)
+            b.add(s);
+        return b.build();
+    }
+
+    /**
+     * Concatenates workloads in order (e.g. chunks parsed in parallel),
+     * re-interning ids so equal ids share one name-table entry. All parts
+     * must use the same time unit.
+     */
+    public static Workload concat(List<Workload> parts) {
+        int total = 0;
+        for (Workload w : parts)
+            total += w.size;
+        Builder b = new Builder(total);
+        if (!parts.isEmpty())
+            b.timeUnit(parts.get(0).timeUnit);
+        for (Workload w : parts) {
+            if (w.timeUnit != b.timeUnit)
+                throw new IllegalArgumentException("cannot concat " + w.timeUnit + " and " + b.timeUnit + " workloads");
+            for (int i = 0; i < w.size; i++) {
+                if (w.phaseCount(i) > 1)
+                    b.add(w.id(i), w.priority[i], w.arrival[i], w.bursts(i));
+                else
+                    b.add(w.id(i), w.priority[i], w.arrival[i], w.burst[i]);
+            }
+        }
+        return b.build();
+    }
+
+    /** Adapter back to the object model: fresh, not-yet-run processes in job order. */
+    public List<Process> toProcesses() {
+        List<Process> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            out.add(new Process(spec(i)));
+        return out;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** What one tick of {@link #arrival(int)}, bursts and schedule times stands for. */
+    public TimeUnit timeUnit() {
+        return timeUnit;
+    }
+
+    /** The same jobs measured in another unit; only the label changes, the columns are shared. */
+    public Workload withTimeUnit(TimeUnit unit) {
+        if (unit == timeUnit)
+            return this;
+        return new Workload(names, idIndex, priority, arrival, burst, phaseStart, phases, ioTime, size, unit,
+                fingerprintHigh, fingerprintLow);
+    }
+
+    /**
+     * Hash of the jobs in order (ids, priorities, arrivals and bursts) as 32
+     * hex digits. Equal for equal content however it was loaded, including
+     * chunked parallel loads; the time unit is not part of it. Not a
+     * cryptographic hash.
+     */
+    public String fingerprint() {
+        return String.format("%016x%016x", fingerprintHigh, fingerprintLow);
+    }
+
+    /** Fresh per-run state for this workload. */
+    public ExecutionState newExecutionState() {
+        return new ExecutionState(this);
+    }
+
+    public JobSpec spec(int job) {
+        if (phaseCount(job) > 1)
+            return new JobSpec(id(job), priority[job], arrival[job], bursts(job));
+        return new JobSpec(id(job), priority[job], arrival[job], burst[job]);
+    }
+
+    public String id(int job) {
+        return names[idIndex[job]];
+    }
+
+    public int idIndex(int job) {
+        return idIndex[job];
+    }
+
+    public int distinctIds() {
+        return names.length;
+    }
+
+    public String name(int idIndex) {
+        return names[idIndex];
+    }
+
+    public int priority(int job) {
+        return priority[job];
+    }
+
+    public long arrival(int job) {
+        return arrival[job];
+    }
+
+    public int burst(int job) {
+        return burst[job];
+    }
+
+    /** Whether any job alternates CPU and I/O bursts. */
+    public boolean hasIo() {
+        return phaseStart != null;
+    }
+
+    /** Total I/O time of a job; 0 for pure CPU jobs. */
+    public int ioTime(int job) {
+        return ioTime == null ? 0 : ioTime[job];
+    }
+
+    /** Number of bursts (CPU and I/O); 1 for a pure CPU job. */
+    public int phaseCount(int job) {
+        return phaseStart == null ? 1 : phaseStart[job + 1] - phaseStart[job];
+    }
+
+    /** Burst {@code k} of a job: CPU when {@code k} is even, I/O when odd. */
+    public int phase(int job, int k) {
+        return phaseStart == null ? burst[job] : phases[phaseStart[job] + k];
+    }
+
+    /** Copy of a job's bursts, {@code cpu, io, cpu, ...}. */
+    public int[] bursts(int job) {
+        if (phaseStart == null)
+            return new int[] { burst[job] };
+        return Arrays.copyOfRange(phases, phaseStart[job], phaseStart[job + 1]);
+    }
+
+    /**
+     * Job indices ordered by arrival time, keeping job order for equal arrivals
+     * (same result as a stable sort). When the arrival range leaves room for
+     * the job index in the low bits, packed primitive keys are sorted (no
+     * boxing or comparator calls); otherwise a stable merge sort over the
+     * indices is used.
+     */
+    public int[] arrivalOrder() {
+        int[] order = new int[size];
+        if (size == 0)
+            return order;
+        long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+        boolean sorted = true;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, arrival[i]);
+            max = Math.max(max, arrival[i]);
+            if (i > 0 && arrival[i] < arrival[i - 1])
+                sorted = false;
+        }
+        if (sorted) {
+            for (int i = 0; i < size; i++)
+                order[i] = i;
+            return order;
+        }
+        int bits = 32 - Integer.numberOfLeadingZeros(size - 1);
+        long range = max - min;
+        if (range >= 0 && range < (1L << (63 - bits))) {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++)
+                keys[i] = ((arrival[i] - min) << bits) | i;
+            Arrays.sort(keys);
+            long mask = (1L << bits) - 1;
+            for (int i = 0; i < size; i++)
+                order[i] = (int) (keys[i] & mask);
+            return order;
+        }
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+        mergeSort(order, new int[size], 0, size);
+        return order;
+    }
+
+    private void mergeSort(int[] a, int[] tmp, int from, int to) {
+        if (to - from < 2)
+            return;
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid);
+        mergeSort(a, tmp, mid, to);
+        if (arrival[a[mid - 1]] <= arrival[a[mid]])
+            return;
+        System.arraycopy(a, from, tmp, from, to - from);
+        for (int k = from, i = from, j = mid; k < to; k++) {
+            if (j >= to || (i < mid && arrival[tmp[i]] <= arrival[tmp[j]]))
+                a[k] = tmp[i++];
+            else
+                a[k] = tmp[j++];
+        }
+    }
+
+    /**
+     * Read-only {@code List<Process>} over the outcome of a run. Elements are
+     * materialized on access, so large results cost nothing until they are
+     * actually read.
+     *
+     * @param order      job indices in the order the list should present them
+     * @param start      first-dispatch time per job index
+     * @param completion completion time per job index
+     */
+    public List<Process> resultView(int[] order, long[] start, long[] completion) {
+        return new ResultView(order, start, completion);
+    }
+
+    public List<Process> resultView(int[] order, ExecutionState state) {
+        return new ResultView(order, state.start, state.completion);
+    }
+
+    private final class ResultView extends AbstractList<Process> implements RandomAccess {
+        private final int[] order;
+        private final long[] start;
+        private final long[] completion;
+
+        ResultView(int[] order, long[] start, long[] completion) {
+            this.order = order;
+            this.start = start;
+            this.completion = completion;
+        }
+
+        @Override
+        public Process get(int index) {
+            int job = order[index];
+            return new Process(spec(job), start[job], completion[job]);
+        }
+
+        @Override
+        public int size() {
+            return order.length;
+        }
+    }
+
+    /** Growable column buffers; {@link #build()} trims them to size. */
+    public static final class Builder {
+        private final Map<String, Integer> intern = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private int[] idIndex;
+        private int[] priority;
+        private long[] arrival;
+        private int[] burst;
+        // allocated (and back-filled) by the first job with I/O
+        private int[] phaseStart;
+        private int[] phases;
+        private int[] ioTime;
+        private int phaseCount;
+        private int size;
+        private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
+        // running content hash; per-name hashes by intern index
+        private final Hasher hash = new Hasher();
+        private long[] nameHash = new long[16];
+
+        private Builder(int expectedSize) {
+            int cap = Math.max(16, expectedSize);
+            idIndex = new int[cap];
+            priority = new int[cap];
+            arrival = new long[cap];
+            burst = new int[cap];
+        }
+
+        public Builder timeUnit(TimeUnit unit) {
+            this.timeUnit = Objects.requireNonNull(unit);
+            return this;
+        }
+
+        public Builder add(String id, int priority, long arrival, int burst) {
+            if (size == this.arrival.length)
+                grow();
+            Integer idx = intern.get(id);
+            if (idx == null) {
+                idx = names.size();
+                names.add(id);
+                intern.put(id, idx);
+                if (idx == nameHash.length)
+                    nameHash = Arrays.copyOf(nameHash, idx * 2);
+                nameHash[idx] = Hasher.hashChars(id);
+            }
+            hash.mix(nameHash[idx]);
+            hash.mix(priority);
+            hash.mix(arrival);
+            hash.mix(burst);
+            this.idIndex[size] = idx;
+            this.priority[size] = priority;
+            this.arrival[size] = arrival;
+            this.burst[size] = burst;
+            if (phaseStart != null) {
+                appendPhase(burst);
+                ioTime[size] = 0;
+                phaseStart[size + 1] = phaseCount;
+            }
+            size++;
+            return this;
+        }
+
+        /** Adds a job with alternating bursts {@code cpu, io, cpu, ..., cpu}. */
+        public Builder add(String id, int priority, long arrival, int[] bursts) {
+            if (bursts.length == 1)
+                return add(id, priority, arrival, bursts[0]);
+            JobSpec.checkPhases(bursts);
+            if (phaseStart == null)
+                startPhases();
+            int cpu = 0, io = 0;
+            for (int k = 0; k < bursts.length; k++) {
+                if ((k & 1) == 0)
+                    cpu += bursts[k];
+                else
+                    io += bursts[k];
+            }
+            int job = size;
+            add(id, priority, arrival, cpu);
+            // replace the single phase add() just wrote
+            phaseCount = phaseStart[job];
+            for (int b : bursts)
+                appendPhase(b);
+            ioTime[job] = io;
+            phaseStart[job + 1] = phaseCount;
+            hash.mix(bursts.length);
+            for (int b : bursts)
+                hash.mix(b);
+            return this;
+        }
+
+        public Builder add(JobSpec spec) {
+            if (spec.hasIo())
+                return add(spec.getId(), spec.getPriority(), spec.getArrivalTime(), spec.getBursts());
+            return add(spec.getId(), spec.getPriority(), spec.getArrivalTime(), spec.getBurst());
+        }
+
+        private void startPhases() {
+            phaseStart = new int[arrival.length + 1];
+            ioTime = new int[arrival.length];
+            phases = new int[Math.max(16, size * 2)];
+            for (int i = 0; i < size; i++) {
+                phaseStart[i] = i;
+                phases[i] = burst[i];
+            }
+            phaseCount = size;
+            phaseStart[size] = size;
+        }
+
+        private void appendPhase(int b) {
+            if (phaseCount == phases.length)
+                phases = Arrays.copyOf(phases, phases.length + (phases.length >> 1));
+            phases[phaseCount++] = b;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private void grow() {
+            int cap = arrival.length + (arrival.length >> 1);
+            idIndex = Arrays.copyOf(idIndex, cap);
+            priority = Arrays.copyOf(priority, cap);
+            arrival = Arrays.copyOf(arrival, cap);
+            burst = Arrays.copyOf(burst, cap);
+            if (phaseStart != null) {
+                phaseStart = Arrays.copyOf(phaseStart, cap + 1);
+                ioTime = Arrays.copyOf(ioTime, cap);
+            }
+        }
+
+        public Workload build() {
+            boolean io = phaseStart != null;
+            return new Workload(names.toArray(new String[0]), Arrays.copyOf(idIndex, size),
+                    Arrays.copyOf(priority, size), Arrays.copyOf(arrival, size), Arrays.copyOf(burst, size),
+                    io ? Arrays.copyOf(phaseStart, size + 1) : null, io ? Arrays.copyOf(phases, phaseCount) : null,
+                    io ? Arrays.copyOf(ioTime, size) : null, size, timeUnit, hash.high(size), hash.low(size));
+        }
+    }
+
+    /**
+     * Columns with a fixed number of slots that several threads fill at once,
+     * each through its own {@link Range} (e.g. one per file chunk of a
+     * parallel loader). Ranges may be left partly empty: {@link #build()}
+     * closes the gaps in place and merges the per-range id tables, so the
+     * numeric columns are allocated once, not once per range and again for a
+     * {@link #concat}. The result, fingerprint included, is the same as adding
+     * the jobs to a {@link Builder} in range order. Single use.
+     */
+    public static final class RangeBuilder {
+        private final int[] idIndex;
+        private final int[] priority;
+        private final long[] arrival;
+        private final int[] burst;
+        private final Range[] ranges;
+        private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
+
+        private RangeBuilder(int[] capacities) {
+            long total = 0;
+            for (int c : capacities) {
+                if (c < 0)
+                    throw new IllegalArgumentException("negative range capacity " + c);
+                total += c;
+            }
+            if (total > Integer.MAX_VALUE - 8)
+                throw new IllegalArgumentException("more than " + (Integer.MAX_VALUE - 8) + " slots");
+            idIndex = new int[(int) total];
+            priority = new int[(int) total];
+            arrival = new long[(int) total];
+            burst = new int[(int) total];
+            ranges = new Range[capacities.length];
+            int base = 0;
+            for (int i = 0; i < capacities.length; i++) {
+                ranges[i] = new Range(base, capacities[i]);
+                base += capacities[i];
+            }
+        }
+
+        public RangeBuilder timeUnit(TimeUnit unit) {
+            this.timeUnit = Objects.requireNonNull(unit);
+            return this;
+        }
+
+        public Range range(int i) {
+            return ranges[i];
+        }
+
+        /** Slots {@code base .. base + capacity}; one thread at a time per range. */
+        public final class Range {
+            private final int base;
+            private final int capacity;
+            private int size;
+            private final Map<String, Integer> intern = new HashMap<>();
+            private final List<String> names = new ArrayList<>();
+            // allocated (and back-filled) by the first job with I/O, relative to this range
+            private int[] phaseStart;
+            private int[] phases;
+            private int[] ioTime;
+            private int phaseCount;
+
+            private Range(int base, int capacity) {
+                this.base = base;
+                this.capacity = capacity;
+            }
+
+            public Range add(String id, int priority, long arrival, int burst) {
+                if (size == capacity)
+                    throw new IllegalStateException("range of " + capacity + " slots is full");
+                Integer idx = intern.get(id);
+                if (idx == null) {
+                    idx = names.size();
+                    names.add(id);
+                    intern.put(id, idx);
+                }
+                int slot = base + size;
+                RangeBuilder.this.idIndex[slot] = idx;
+                RangeBuilder.this.priority[slot] = priority;
+                RangeBuilder.this.arrival[slot] = arrival;
+                RangeBuilder.this.burst[slot] = burst;
+                if (phaseStart != null) {
+                    if (phaseCount == phases.length)
+                        phases = Arrays.copyOf(phases, phases.length + (phases.length >> 1));
+                    phases[phaseCount++] = burst;
+                    ioTime[size] = 0;
+                    phaseStart[size + 1] = phaseCount;
+                }
+                size++;
+                return this;
+            }
+
+            /** Adds a job with alternating bursts {@code cpu, io, cpu, ..., cpu}. */
+            public Range add(String id, int priority, long arrival, int[] bursts) {
+                if (bursts.length == 1)
+                    return add(id, priority, arrival, bursts[0]);
+                JobSpec.checkPhases(bursts);
+                if (phaseStart == null) {
+                    phaseStart = new int[capacity + 1];
+                    ioTime = new int[capacity];
+                    phases = new int[Math.max(16, size * 2)];
+                    for (int i = 0; i < size; i++) {
+                        phaseStart[i] = i;
+                        phases[i] = burst[base + i];
+                    }
+                    phaseCount = size;
+                    phaseStart[size] = size;
+                }
+                int cpu = 0, io = 0;
+                for (int k = 0; k < bursts.length; k++) {
+                    if ((k & 1) == 0)
+                        cpu += bursts[k];
+                    else
+                        io += bursts[k];
+                }
+                int job = size;
+                add(id, priority, arrival, cpu);
+                // replace the single phase add() just wrote
+                phaseCount = phaseStart[job];
+                if (phaseCount + bursts.length > phases.length)
+                    phases = Arrays.copyOf(phases, Math.max(phaseCount + bursts.length, phases.length * 3 / 2));
+                System.arraycopy(bursts, 0, phases, phaseCount, bursts.length);
+                phaseCount += bursts.length;
+                ioTime[job] = io;
+                phaseStart[job + 1] = phaseCount;
+                return this;
+            }
+
+            public int size() {
+                return size;
+            }
+        }
+
+        public Workload build() {
+            int total = 0, totalPhases = 0;
+            boolean io = false;
+            for (Range r : ranges) {
+                total += r.size;
+                totalPhases += r.phaseStart != null ? r.phaseCount : r.size;
+                io |= r.phaseStart != null;
+            }
+            int[] phaseStart = io ? new int[total + 1] : null;
+            int[] phases = io ? new int[totalPhases] : null;
+            int[] ioTime = io ? new int[total] : null;
+
+            Map<String, Integer> global = new HashMap<>();
+            List<String> names = new ArrayList<>();
+            int dest = 0, phaseDest = 0;
+            for (Range r : ranges) {
+                int[] remap = new int[r.names.size()];
+                for (int k = 0; k < remap.length; k++) {
+                    String name = r.names.get(k);
+                    Integer g = global.get(name);
+                    if (g == null) {
+                        g = names.size();
+                        names.add(name);
+                        global.put(name, g);
+                    }
+                    remap[k] = g;
+                }
+                // dest <= r.base, so moving down in ascending order never overwrites unread slots
+                for (int i = 0; i < r.size; i++)
+                    idIndex[dest + i] = remap[idIndex[r.base + i]];
+                if (dest != r.base) {
+                    System.arraycopy(priority, r.base, priority, dest, r.size);
+                    System.arraycopy(arrival, r.base, arrival, dest, r.size);
+                    System.arraycopy(burst, r.base, burst, dest, r.size);
+                }
+                if (io) {
+                    if (r.phaseStart != null) {
+                        for (int i = 0; i < r.size; i++)
+                            phaseStart[dest + i] = phaseDest + r.phaseStart[i];
+                        System.arraycopy(r.phases, 0, phases, phaseDest, r.phaseCount);
+                        System.arraycopy(r.ioTime, 0, ioTime, dest, r.size);
+                        phaseDest += r.phaseCount;
+                    } else {
+                        for (int i = 0; i < r.size; i++) {
+                            phaseStart[dest + i] = phaseDest + i;
+                            phases[phaseDest + i] = burst[dest + i];
+                        }
+                        phaseDest += r.size;
+                    }
+                }
+                dest += r.size;
+            }
+            if (io)
+                phaseStart[total] = phaseDest;
+
+            // same sequence Builder.add() mixes, now that the global order is known
+            long[] nameHash = new long[names.size()];
+            for (int i = 0; i < nameHash.length; i++)
+                nameHash[i] = Hasher.hashChars(names.get(i));
+            Hasher hash = new Hasher();
+            for (int j = 0; j < total; j++) {
+                hash.mix(nameHash[idIndex[j]]);
+                hash.mix(priority[j]);
+                hash.mix(arrival[j]);
+                hash.mix(burst[j]);
+                if (io && phaseStart[j + 1] - phaseStart[j] > 1) {
+                    hash.mix(phaseStart[j + 1] - phaseStart[j]);
+                    for (int k = phaseStart[j]; k < phaseStart[j + 1]; k++)
+                        hash.mix(phases[k]);
+                }
+            }
+            // the columns keep their capacity; everything reads only the first total slots
+            return new Workload(names.toArray(new String[0]), idIndex, priority, arrival, burst, phaseStart, phases,
+                    ioTime, total, timeUnit, hash.high(total), hash.low(total));
+        }
+    }
+
+    /** Running 128-bit content hash in two independent lanes. */
+    private static final class Hasher {
+        private long a = 0x243F6A8885A308D3L;
+        private long b = 0x13198A2E03707344L;
+
+        void mix(long v) {
+            a = Long.rotateLeft((a ^ v) * 0x9E3779B97F4A7C15L, 31);
+            b = (b + v) * 0xC2B2AE3D27D4EB4FL;
+            b ^= b >>> 29;
+        }
+
+        long high(int size) {
+            return finish(a ^ size);
+        }
+
+        long low(int size) {
+            return finish(b + size);
+        }
+
+        static long hashChars(String s) {
+            long h = 0xA0761D6478BD642FL ^ s.length();
+            for (int i = 0; i < s.length(); i++)
+                h = (h ^ s.charAt(i)) * 0x100000001B3L;
+            return finish(h);
+        }
+
+        // murmur3 fmix64
+        private static long finish(long h) {
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            return h ^ (h >>> 33);
+        }
+    }
+}
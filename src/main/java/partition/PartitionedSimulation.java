@@ -0,0 +1,174 @@
+package partition;
+
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import metrics.JobMetrics;
+import model.Workload;
+import util.TablePrinter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Runs a workload that is really many independent machines: jobs are grouped
+ * by a key derived from their id (e.g. the host prefix of "host17/job3"),
+ * every group is scheduled on its own as a separate single-CPU machine, and
+ * the groups run concurrently on a fork-join pool.
+ *
+ * The merge is deterministic: partitions are ordered by key, each one is
+ * summarised with exact integer sums, and the global aggregates are folded in
+ * key order after all tasks have joined. Results are therefore bit-identical
+ * whatever the thread count or completion order.
+ */
+public class PartitionedSimulation {
+
+    /** Key = id up to the first {@code separator}; ids without it form their own group. */
+    public static Function<String, String> idPrefix(char separator) {
+        return id -> {
+            int cut = id.indexOf(separator);
+            return cut < 0 ? id : id.substring(0, cut);
+        };
+    }
+
+    /** One group of jobs, in original workload order. */
+    public static final class Partition {
+        public final String key;
+        public final Workload workload;
+
+        Partition(String key, Workload workload) {
+            this.key = key;
+            this.workload = workload;
+        }
+    }
+
+    /** Summary of one partition's run; the Gantt timeline is not retained. */
+    public static final class Row {
+        public final String key;
+        public final int jobs;
+        public final long makespan;
+        public final long sumTurnaround;
+        public final long sumWaiting;
+        public final long busy;
+        public final double avgTurnaround;
+        public final double avgWaiting;
+        public final double cpuUtilizationPercent;
+
+        // merged into Result.metrics as soon as the row is joined, then dropped
+        JobMetrics metrics;
+
+        Row(String key, Workload w, ScheduleResult r) {
+            this.key = key;
+            this.jobs = r.processes.size();
+            this.makespan = r.makespan;
+            this.sumTurnaround = r.metrics.turnaround.sum();
+            this.sumWaiting = r.metrics.waiting.sum();
+            // every job's CPU bursts run exactly once; waiting also leaves out I/O, so it can't be derived from it
+            long busy = 0;
+            for (int j = 0; j < w.size(); j++)
+                busy += w.burst(j);
+            this.busy = busy;
+            this.metrics = r.metrics;
+            this.avgTurnaround = r.avgTurnaround;
+            this.avgWaiting = r.avgWaiting;
+            this.cpuUtilizationPercent = r.cpuUtilizationPercent;
+        }
+    }
+
+    /** Per-partition rows in key order plus the merged aggregates. */
+    public static final class Result {
+        public final List<Row> partitions;
+        public final long jobs;
+        /** Latest completion over all machines. */
+        public final long makespan;
+        public final double avgTurnaround;
+        public final double avgWaiting;
+        /** Busy time over the sum of every machine's makespan. */
+        public final double cpuUtilizationPercent;
+        /** All partitions' histograms merged (exact, so also order-independent). */
+        public final JobMetrics metrics;
+
+        Result(List<Row> partitions, JobMetrics metrics) {
+            long jobs = 0, tat = 0, wait = 0, busy = 0, machineTime = 0;
+            long makespan = 0;
+            for (Row r : partitions) {
+                jobs += r.jobs;
+                tat += r.sumTurnaround;
+                wait += r.sumWaiting;
+                busy += r.busy;
+                machineTime += r.makespan;
+                makespan = Math.max(makespan, r.makespan);
+            }
+            this.partitions = partitions;
+            this.metrics = metrics;
+            this.jobs = jobs;
+            this.makespan = makespan;
+            this.avgTurnaround = jobs == 0 ? 0.0 : (double) tat / jobs;
+            this.avgWaiting = jobs == 0 ? 0.0 : (double) wait / jobs;
+            this.cpuUtilizationPercent = machineTime == 0 ? 0.0 : 100.0 * busy / machineTime;
+        }
+    }
+
+    /**
+     * Splits {@code w} by key, sorted by key. The key is computed once per
+     * distinct id, not once per job. Partitions keep every job's CPU and I/O
+     * bursts and the workload's time unit.
+     */
+    public static List<Partition> split(Workload w, Function<String, String> keyOf) {
+        String[] keyOfName = new String[w.distinctIds()];
+        for (int i = 0; i < keyOfName.length; i++)
+            keyOfName[i] = keyOf.apply(w.name(i));
+
+        Map<String, Workload.Builder> groups = new TreeMap<>();
+        for (int j = 0; j < w.size(); j++) {
+            Workload.Builder b = groups.computeIfAbsent(keyOfName[w.idIndex(j)],
+                    k -> Workload.builder().timeUnit(w.timeUnit()));
+            if (w.phaseCount(j) > 1)
+                b.add(w.id(j), w.priority(j), w.arrival(j), w.bursts(j));
+            else
+                b.add(w.id(j), w.priority(j), w.arrival(j), w.burst(j));
+        }
+        List<Partition> out = new ArrayList<>(groups.size());
+        for (Map.Entry<String, Workload.Builder> e : groups.entrySet())
+            out.add(new Partition(e.getKey(), e.getValue().build()));
+        return out;
+    }
+
+    public static Result run(Workload w, Function<String, String> keyOf, Scheduler scheduler) {
+        return run(w, keyOf, scheduler, ForkJoinPool.commonPool());
+    }
+
+    /** {@code scheduler} is shared by all partitions; schedulers only hold their settings. */
+    public static Result run(Workload w, Function<String, String> keyOf, Scheduler scheduler, ForkJoinPool pool) {
+        List<Partition> parts = split(w, keyOf);
+        List<ForkJoinTask<Row>> tasks = new ArrayList<>(parts.size());
+        for (Partition p : parts)
+            tasks.add(pool.submit(() -> new Row(p.key, p.workload, scheduler.run(p.workload))));
+        List<Row> rows = new ArrayList<>(parts.size());
+        JobMetrics merged = new JobMetrics();
+        for (ForkJoinTask<Row> t : tasks) {
+            Row row = t.join();
+            merged.add(row.metrics);
+            row.metrics = null;
+            rows.add(row);
+        }
+        return new Result(rows, merged);
+    }
+
+    public static void printTable(Result r) {
+        List<String[]> table = new ArrayList<>();
+        for (Row p : r.partitions) {
+            table.add(new String[] { p.key, Integer.toString(p.jobs), Long.toString(p.makespan),
+                    String.format("%.3f", p.avgTurnaround), String.format("%.3f", p.avgWaiting),
+                    String.format("%.2f", p.cpuUtilizationPercent) });
+        }
+        TablePrinter.printTable(table, new String[] { "Partition", "Jobs", "Makespan", "Avg TAT", "Avg Wait", "CPU%" });
+        System.out.printf("%d partitions, %d jobs: makespan %d, avg turnaround %.3f, avg waiting %.3f, CPU%% %.2f%n",
+                r.partitions.size(), r.jobs, r.makespan, r.avgTurnaround, r.avgWaiting, r.cpuUtilizationPercent);
+        System.out.println(r.metrics);
+    }
+}
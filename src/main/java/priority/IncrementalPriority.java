@@ -0,0 +1,130 @@
+package priority;
+
+import fcfs.GanttEntry;
+import fcfs.IncrementalScheduler;
+import model.Workload;
+
+import java.util.PriorityQueue;
+
+/**
+ * Preemptive priority scheduling that re-simulates only what an edit can
+ * change (see {@link IncrementalScheduler}). As with Round Robin, the
+ * schedule up to a checkpoint's clock depends only on the jobs that had
+ * arrived by then, so the checkpoint keeps the ready heap and the remaining
+ * burst and start of every job in it. The heap is copied as it is laid out,
+ * so jobs that tie on priority, arrival and id come out in the same order as
+ * in a full run. Priority changes re-run from the job's arrival.
+ *
+ * Gives the same result as {@link PreemptivePriorityScheduler} for the same
+ * workload.
+ */
+public final class IncrementalPriority extends IncrementalScheduler {
+    private int[] remaining = new int[0];
+    // arrival positions, like everything a checkpoint keeps
+    private PriorityQueue<Integer> ready = new PriorityQueue<>(this::compare);
+
+    private static final class HeapCheckpoint extends Checkpoint {
+        final PriorityQueue<Integer> ready;
+        final int[] remaining;
+        final long[] start;
+
+        HeapCheckpoint(IncrementalPriority s, int position) {
+            super(s, position);
+            ready = new PriorityQueue<>(s.ready);
+            remaining = new int[ready.size()];
+            start = new long[ready.size()];
+            int i = 0;
+            for (int p : ready) {
+                remaining[i] = s.remaining[s.order[p]];
+                start[i++] = s.start[s.order[p]];
+            }
+        }
+    }
+
+    public IncrementalPriority(Workload w) {
+        this(w, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param interval arrivals between checkpoints; each one holds a copy of
+     *                 the metrics (about 90 KB) and of the ready heap
+     */
+    public IncrementalPriority(Workload w, int interval) {
+        super(interval);
+        update(w);
+    }
+
+    @Override
+    protected boolean usesPriority() {
+        return true;
+    }
+
+    @Override
+    protected void resume(Checkpoint from) {
+        if (remaining.length < n)
+            remaining = new int[n];
+        int nextArr = resumedAt();
+        for (int k = nextArr; k < n; k++)
+            remaining[order[k]] = burst[order[k]];
+        if (from == null) {
+            ready.clear();
+        } else {
+            HeapCheckpoint h = (HeapCheckpoint) from;
+            ready = new PriorityQueue<>(h.ready);
+            int i = 0;
+            for (int p : h.ready) {
+                int job = order[p];
+                remaining[job] = h.remaining[i];
+                start[job] = h.start[i++];
+                completion[job] = -1;
+            }
+        }
+
+        // the loop of PreemptivePriorityScheduler.run; checkpoints go right after admitting arrivals
+        while (nextArr < n || !ready.isEmpty()) {
+            while (nextArr < n && arrival[order[nextArr]] <= time)
+                ready.add(nextArr++);
+            if (checkpointDue(nextArr))
+                checkpoint(new HeapCheckpoint(this, nextArr));
+
+            if (ready.isEmpty()) {
+                // jump straight to the next arrival
+                long next = arrival[order[nextArr]];
+                gantt.add(new GanttEntry("idle", time, next));
+                time = next;
+                continue;
+            }
+
+            int p = ready.poll();
+            int job = order[p];
+            // run until completion or the next arrival, whichever comes first
+            int run = remaining[job];
+            if (nextArr < n)
+                run = (int) Math.min(run, arrival[order[nextArr]] - time);
+
+            if (start[job] == -1)
+                start[job] = time;
+            long sliceStart = time;
+            time += run;
+            totalBusy += run;
+            remaining[job] -= run;
+            GanttEntry.appendMerged(gantt, id[job], sliceStart, time);
+
+            if (remaining[job] == 0) {
+                completion[job] = time;
+                metrics.record(arrival[job], start[job], time, burst[job]);
+            } else {
+                ready.add(p);
+            }
+        }
+    }
+
+    // highest priority first, then earliest arrival, then id, as PreemptivePriorityScheduler orders jobs
+    private int compare(int a, int b) {
+        int x = order[a], y = order[b];
+        int c = Integer.compare(priority[y], priority[x]);
+        if (c == 0)
+            c = Long.compare(arrival[x], arrival[y]);
+        return c != 0 ? c : id[x].compareTo(id[y]);
+    }
+}
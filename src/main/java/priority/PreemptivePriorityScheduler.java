@@ -0,0 +1,146 @@
+package priority;
+
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import metrics.JobMetrics;
+import metrics.SchedulerListener;
+import model.ExecutionState;
+import model.Process;
+import model.Workload;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Preemptive priority scheduler (higher number = higher priority). Ready
+ * processes are kept in a heap that is updated incrementally as they arrive,
+ * and the scheduler only makes a decision when an arrival or a completion
+ * happens. The running process keeps the CPU until one of those events, so the
+ * timeline comes out already coalesced.
+ */
+public class PreemptivePriorityScheduler implements Scheduler {
+    private final Consumer<String> trace;
+
+    public PreemptivePriorityScheduler() {
+        this(null);
+    }
+
+    /**
+     * @param trace optional sink for per-decision log lines ("t=..: running ..."),
+     *              or {@code null} to disable tracing
+     */
+    public PreemptivePriorityScheduler(Consumer<String> trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public String config() {
+        return "priority";
+    }
+
+    @Override
+    public ScheduleResult run(Workload w, SchedulerListener listener) {
+        if (w.hasIo())
+            throw new IllegalArgumentException("preemptive priority scheduler does not model I/O bursts");
+        long t0 = System.nanoTime();
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        ExecutionState state = w.newExecutionState();
+        long t1 = System.nanoTime();
+        listener.phase("prepare", t1 - t0);
+
+        // highest priority first, then earliest arrival, then id
+        PriorityQueue<Integer> ready = new PriorityQueue<>(Math.max(1, n), (a, b) -> {
+            int c = Integer.compare(w.priority(b), w.priority(a));
+            if (c == 0)
+                c = Long.compare(w.arrival(a), w.arrival(b));
+            return c != 0 ? c : w.id(a).compareTo(w.id(b));
+        });
+        List<GanttEntry> gantt = new ArrayList<>();
+        long time = 0;
+        long totalBusy = 0;
+        JobMetrics metrics = new JobMetrics();
+        int nextArrIdx = 0;
+        int finished = 0;
+        int last = -1;
+
+        while (finished < n) {
+            while (nextArrIdx < n && w.arrival(order[nextArrIdx]) <= time) {
+                ready.add(order[nextArrIdx++]);
+            }
+
+            if (ready.isEmpty()) {
+                // jump straight to the next arrival
+                long next = w.arrival(order[nextArrIdx]);
+                gantt.add(new GanttEntry("idle", time, next));
+                listener.idle(time, next, 0);
+                time = next;
+                continue;
+            }
+
+            int current = ready.poll();
+            if (current != last) {
+                if (last >= 0) {
+                    if (!state.isFinished(last))
+                        listener.preempt(time, 0, last);
+                    listener.contextSwitch(time, 0, 0);
+                }
+                listener.dispatch(time, 0, current, ready.size());
+            }
+            if (trace != null && current != last) {
+                trace.accept("t=" + time + ": running " + w.id(current) + "(prio=" + w.priority(current) + ", arr="
+                        + w.arrival(current) + ", rem=" + state.remaining(current) + ")");
+            }
+            last = current;
+
+            // run until completion or the next arrival, whichever comes first
+            int run = state.remaining(current);
+            if (nextArrIdx < n)
+                run = (int) Math.min(run, w.arrival(order[nextArrIdx]) - time);
+
+            long start = time;
+            state.runFor(current, run, start);
+            time = start + run;
+            totalBusy += run;
+            GanttEntry.appendMerged(gantt, w.id(current), start, time);
+
+            if (state.isFinished(current)) {
+                finished++;
+                // preemptive -> waiting = turnaround - original burst
+                metrics.record(w.arrival(current), state.start(current), time, w.burst(current));
+                listener.complete(time, 0, current);
+                if (trace != null)
+                    trace.accept("t=" + time + ": finished " + w.id(current));
+            } else {
+                ready.add(current);
+            }
+        }
+
+        double avgTurnaround = metrics.turnaround.mean();
+        double avgWaiting = metrics.waiting.mean();
+        double cpuUtil = time == 0 ? 0.0 : (100.0 * totalBusy / time);
+        long t2 = System.nanoTime();
+        listener.phase("simulate", t2 - t1);
+        ScheduleResult r = new ScheduleResult(w.resultView(order, state), gantt, avgTurnaround, avgWaiting, cpuUtil,
+                time, metrics);
+        listener.phase("collect", System.nanoTime() - t2);
+        return r;
+    }
+
+    /**
+     * Prints per-process metrics and averages for a finished run, in the same
+     * format the tick-by-tick version used to print.
+     */
+    public static void printMetrics(ScheduleResult r) {
+        System.out.println("\nMetrics:");
+        for (Process p : r.processes) {
+            long turnaround = p.getCompletionTime() - p.getArrivalTime();
+            long waiting = turnaround - p.getOriginalBurst();
+            System.out.println(p.getId() + ": completion=" + p.getCompletionTime()
+                    + ", turnaround=" + turnaround + ", waiting=" + waiting);
+        }
+        System.out.printf("Average turnaround=%.2f, average waiting=%.2f%n",
+                r.avgTurnaround, r.avgWaiting);
+    }
+}
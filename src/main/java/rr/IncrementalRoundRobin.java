@@ -0,0 +1,122 @@
+package rr;
+
+import fcfs.GanttEntry;
+import fcfs.IncrementalScheduler;
+import model.Workload;
+import util.IntRingQueue;
+
+/**
+ * Round Robin that re-simulates only what an edit can change (see
+ * {@link IncrementalScheduler}). Up to the clock of a checkpoint the schedule
+ * depends only on the jobs that had arrived by then, so the checkpoint keeps
+ * the ready queue and the remaining burst and start of every job in it; an
+ * edit whose earliest arrival comes after that clock carries on from there.
+ *
+ * Gives the same result as {@link RoundRobinScheduler} for the same workload.
+ */
+public final class IncrementalRoundRobin extends IncrementalScheduler {
+    private final int quantum;
+    private int[] remaining = new int[0];
+    // arrival positions, like everything a checkpoint keeps
+    private final IntRingQueue ready = new IntRingQueue();
+
+    private static final class ReadyCheckpoint extends Checkpoint {
+        final int[] ready;
+        final int[] remaining;
+        final long[] start;
+
+        ReadyCheckpoint(IncrementalRoundRobin s, int position) {
+            super(s, position);
+            int size = s.ready.size();
+            ready = new int[size];
+            remaining = new int[size];
+            start = new long[size];
+            for (int i = 0; i < size; i++) {
+                ready[i] = s.ready.get(i);
+                remaining[i] = s.remaining[s.order[ready[i]]];
+                start[i] = s.start[s.order[ready[i]]];
+            }
+        }
+    }
+
+    public IncrementalRoundRobin(Workload w, int quantum) {
+        this(w, quantum, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param interval arrivals between checkpoints; each one holds a copy of
+     *                 the metrics (about 90 KB) and of the ready queue
+     */
+    public IncrementalRoundRobin(Workload w, int quantum, int interval) {
+        super(interval);
+        if (quantum <= 0)
+            throw new IllegalArgumentException("quantum > 0");
+        this.quantum = quantum;
+        update(w);
+    }
+
+    @Override
+    protected void resume(Checkpoint from) {
+        if (remaining.length < n)
+            remaining = new int[n];
+        int nextArr = resumedAt();
+        for (int k = nextArr; k < n; k++)
+            remaining[order[k]] = burst[order[k]];
+        ready.clear();
+        if (from != null) {
+            ReadyCheckpoint q = (ReadyCheckpoint) from;
+            for (int i = 0; i < q.ready.length; i++) {
+                int job = order[q.ready[i]];
+                ready.addLast(q.ready[i]);
+                remaining[job] = q.remaining[i];
+                start[job] = q.start[i];
+                completion[job] = -1;
+            }
+        }
+
+        // the loop of RoundRobinScheduler.run without I/O; checkpoints go where its snapshots do
+        while (nextArr < n || !ready.isEmpty()) {
+            if (ready.isEmpty())
+                time = Math.max(time, arrival[order[nextArr]]);
+            nextArr = admit(nextArr);
+
+            int p = ready.removeFirst();
+            int job = order[p];
+            long budget = quantum;
+            if (ready.isEmpty()) {
+                // alone: full quanta until the slice that reaches the next arrival
+                if (nextArr < n) {
+                    long gap = arrival[order[nextArr]] - time;
+                    budget = Math.max(1, (gap + quantum - 1) / quantum) * quantum;
+                } else {
+                    budget = Integer.MAX_VALUE;
+                }
+            }
+
+            if (start[job] == -1)
+                start[job] = time;
+            int run = (int) Math.min(budget, remaining[job]);
+            long sliceStart = time;
+            time += run;
+            totalBusy += run;
+            remaining[job] -= run;
+            GanttEntry.appendMerged(gantt, id[job], sliceStart, time);
+            nextArr = admit(nextArr);
+
+            if (remaining[job] == 0) {
+                completion[job] = time;
+                metrics.record(arrival[job], start[job], time, burst[job]);
+            } else {
+                ready.addLast(p);
+            }
+            if (checkpointDue(nextArr))
+                checkpoint(new ReadyCheckpoint(this, nextArr));
+        }
+    }
+
+    private int admit(int nextArr) {
+        while (nextArr < n && arrival[order[nextArr]] <= time)
+            ready.addLast(nextArr++);
+        return nextArr;
+    }
+}
@@ -1,92 +1,293 @@
 package rr;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 
 import fcfs.GanttEntry;
 import fcfs.ScheduleResult;
-import model.Process;
+import fcfs.Scheduler;
+import metrics.JobMetrics;
+import metrics.SchedulerListener;
+import model.ExecutionState;
+import model.Workload;
+import util.BinaryFormat;
+import util.IntRingQueue;
+import util.LongMinHeap;
 
 /**
  * Round Robin scheduler implementation. Returns a ScheduleResult (reusing the
  * fcfs.ScheduleResult/GanttEntry types) so output formatting/tests can be
  * shared.
+ *
+ * Long replays can snapshot their state to a file every so often and, after
+ * the JVM dies, {@link #resume} from the last snapshot with the same result
+ * an uninterrupted run would have given.
  */
-public class RoundRobinScheduler {
+public class RoundRobinScheduler implements Scheduler {
+    // slices between looks at the wall clock, so the check itself costs nothing measurable
+    private static final int SNAPSHOT_CHECK_MASK = (1 << 10) - 1;
+
     private final int quantum;
+    private final Path snapshotFile;
+    private final long snapshotEveryNanos;
 
     public RoundRobinScheduler(int quantum) {
+        this(quantum, null, Duration.ZERO);
+    }
+
+    /**
+     * Writes a snapshot to {@code snapshotFile} whenever {@code every} of wall
+     * time has passed since the last one (see
+     * {@link BinaryFormat.SnapshotWriter}), and deletes it when the run
+     * completes. The timeline goes to a log as it grows, which costs little;
+     * a snapshot itself costs a pass over all jobs, so the interval bounds the
+     * overhead. Pick it at least 20 times what one snapshot takes to stay
+     * under 5%, e.g. a few seconds for a million jobs.
+     * Runs sharing an instance share the file, so give concurrent runs their
+     * own.
+     */
+    public RoundRobinScheduler(int quantum, Path snapshotFile, Duration every) {
         if (quantum <= 0)
             throw new IllegalArgumentException("quantum > 0");
+        if (every.isNegative())
+            throw new IllegalArgumentException("snapshot interval >= 0");
         this.quantum = quantum;
+        this.snapshotFile = snapshotFile;
+        this.snapshotEveryNanos = every.toNanos();
+    }
+
+    @Override
+    public String config() {
+        return "rr q=" + quantum;
+    }
+
+    /**
+     * All run state (remaining burst, start, completion, ready queue) lives in
+     * primitive arrays owned by this call. The workload itself is never
+     * touched, so concurrent runs can share one instance.
+     *
+     * Back-to-back slices of the same process are merged into one Gantt entry,
+     * and when a process is the only runnable one its slices up to the next
+     * arrival are computed in one step instead of one quantum at a time.
+     *
+     * A job that reaches the end of a CPU burst with I/O left is parked in a
+     * timer heap until its I/O completes, then rejoins the back of the queue.
+     */
+    @Override
+    public ScheduleResult run(Workload w, SchedulerListener listener) {
+        return run(w, null, listener);
+    }
+
+    public ScheduleResult resume(Workload w, Path snapshot) throws IOException {
+        return resume(w, snapshot, SchedulerListener.NONE);
+    }
+
+    /**
+     * Carries on from a snapshot written by a run of {@code w} with the same
+     * quantum. {@code listener} only sees what happens after the snapshot.
+     *
+     * @throws IllegalArgumentException if the snapshot belongs to another
+     *                                  workload or quantum
+     */
+    public ScheduleResult resume(Workload w, Path snapshot, SchedulerListener listener) throws IOException {
+        RoundRobinSnapshot snap = BinaryFormat.readSnapshot(snapshot, w);
+        if (!snap.config.equals(config()))
+            throw new IllegalArgumentException("snapshot is for " + snap.config + ", not " + config());
+        if (!snap.fingerprint.equals(w.fingerprint()))
+            throw new IllegalArgumentException("snapshot was taken for a different workload");
+        return run(w, snap, listener);
     }
 
-    public ScheduleResult run(List<Process> processes) {
-        List<Process> all = new ArrayList<>(processes);
-        // Sort by arrival so we can walk arrivals efficiently
-        all.sort((a, b) -> Integer.compare(a.getArrivalTime(), b.getArrivalTime()));
+    private ScheduleResult run(Workload w, RoundRobinSnapshot from, SchedulerListener listener) {
+        long t0 = System.nanoTime();
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        ExecutionState state = from == null ? w.newExecutionState() : from.state;
 
-        LinkedList<Process> ready = new LinkedList<>();
-        List<GanttEntry> gantt = new ArrayList<>();
+        IntRingQueue ready = new IntRingQueue(Math.min(n, 1 << 16));
+        // jobs waiting for I/O, keyed by wake-up time; stays empty without I/O bursts
+        LongMinHeap blocked = new LongMinHeap();
+        List<GanttEntry> gantt = from == null ? new ArrayList<>() : from.gantt;
 
-        int n = all.size();
         int finished = 0;
-        int time = 0;
+        long time = 0;
         long totalBusy = 0;
+        JobMetrics metrics = new JobMetrics();
+        int nextArr = 0;
+        int last = -1;
+        if (from != null) {
+            for (int job : from.ready)
+                ready.addLast(job);
+            for (int i = 0; i < from.blocked.length; i++)
+                blocked.add(from.wakeAt[i], from.blocked[i]);
+            finished = from.finished;
+            time = from.time;
+            totalBusy = from.totalBusy;
+            nextArr = from.nextArrival;
+            last = from.last;
+            // the histograms follow from the jobs finished so far
+            for (int i = 0; i < n; i++)
+                if (state.isFinished(i) && state.completion(i) != -1)
+                    metrics.record(w.arrival(i), state.start(i), state.completion(i),
+                            (long) w.burst(i) + w.ioTime(i));
+        }
+        long t1 = System.nanoTime();
+        listener.phase("prepare", t1 - t0);
 
-        int nextArrIdx = 0;
-        // add initial arrivals at time 0
-        while (nextArrIdx < n && all.get(nextArrIdx).getArrivalTime() <= time) {
-            ready.add(all.get(nextArrIdx++));
+        BinaryFormat.SnapshotWriter snapshots = null;
+        if (snapshotFile != null) {
+            snapshots = new BinaryFormat.SnapshotWriter(snapshotFile, w);
+            if (from != null)
+                seed(snapshots, gantt);
         }
+        long slices = 0;
+        long nextSnapshot = t1 + snapshotEveryNanos;
 
         while (finished < n) {
+            if (snapshots != null && (++slices & SNAPSHOT_CHECK_MASK) == 0 && System.nanoTime() >= nextSnapshot) {
+                try {
+                    snapshots.write(new RoundRobinSnapshot(config(), w.fingerprint(), time, totalBusy, finished,
+                            nextArr, last, toArray(ready), heapValues(blocked), heapKeys(blocked), state, gantt));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                nextSnapshot = System.nanoTime() + snapshotEveryNanos;
+            }
+            if (ready.isEmpty()) {
+                // idle: jump to the next arrival or I/O completion
+                long next = nextEvent(w, order, nextArr, blocked);
+                if (next > time)
+                    listener.idle(time, next, 0);
+                time = Math.max(time, next);
+            }
+            nextArr = admit(w, order, nextArr, blocked, ready, time);
+
+            int cur = ready.removeFirst();
+            if (cur != last) {
+                if (last >= 0) {
+                    if (!state.isFinished(last))
+                        listener.preempt(time, 0, last);
+                    listener.contextSwitch(time, 0, 0);
+                }
+                listener.dispatch(time, 0, cur, ready.size());
+            }
+            last = cur;
+            long budget = quantum;
             if (ready.isEmpty()) {
-                // jump to next arrival if any
-                if (nextArrIdx < n) {
-                    time = Math.max(time, all.get(nextArrIdx).getArrivalTime());
-                    while (nextArrIdx < n && all.get(nextArrIdx).getArrivalTime() <= time) {
-                        ready.add(all.get(nextArrIdx++));
-                    }
-                    continue;
+                // alone: it keeps getting full quanta until the slice that reaches
+                // the next arrival or wake-up (or until it finishes its burst)
+                long next = nextEvent(w, order, nextArr, blocked);
+                if (next != Long.MAX_VALUE) {
+                    long gap = next - time;
+                    budget = Math.max(1, (gap + quantum - 1) / quantum) * quantum;
                 } else {
-                    break; // nothing left
+                    budget = Integer.MAX_VALUE;
                 }
             }
 
-            Process cur = ready.removeFirst();
-            int start = time;
-            int run = Math.min(quantum, cur.getRemainingBurst());
-            cur.runFor(run, start);
-            int end = (cur.isFinished() ? cur.getCompletionTime() : start + run);
-
-            gantt.add(new GanttEntry(cur.getId(), start, end));
-            totalBusy += (end - start);
-            time = end;
+            long start = time;
+            int run = state.runFor(cur, (int) Math.min(budget, Integer.MAX_VALUE), start);
+            time += run;
+            totalBusy += run;
+            GanttEntry.appendMerged(gantt, w.id(cur), start, time);
+            if (snapshots != null)
+                slice(snapshots, cur, start, time);
 
-            // add newly arrived processes that arrived during this slice
-            while (nextArrIdx < n && all.get(nextArrIdx).getArrivalTime() <= time) {
-                ready.add(all.get(nextArrIdx++));
-            }
+            // add processes that arrived or woke up during this slice
+            nextArr = admit(w, order, nextArr, blocked, ready, time);
 
-            if (cur.isFinished()) {
+            if (state.isFinished(cur)) {
                 finished++;
+                // preemptive -> waiting = turnaround - original burst - I/O
+                metrics.record(w.arrival(cur), state.start(cur), time, (long) w.burst(cur) + w.ioTime(cur));
+                listener.complete(time, 0, cur);
+            } else if (state.needsIo(cur)) {
+                blocked.add(state.startIo(cur, time), cur);
+                last = -1;
+                listener.contextSwitch(time, 0, 0);
             } else {
-                // not finished -> re-enqueue
                 ready.addLast(cur);
             }
         }
 
-        double avgTurnaround = all.stream()
-                .mapToInt(p -> p.getCompletionTime() - p.getArrivalTime())
-                .average().orElse(0.0);
-        // preemptive -> waiting = turnaround - original burst
-        double avgWaiting = all.stream()
-                .mapToInt(p -> (p.getCompletionTime() - p.getArrivalTime()) - p.getOriginalBurst())
-                .average().orElse(0.0);
+        if (snapshots != null) {
+            try {
+                snapshots.delete();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
 
+        double avgTurnaround = metrics.turnaround.mean();
+        double avgWaiting = metrics.waiting.mean();
         double cpuUtil = time == 0 ? 0.0 : (100.0 * totalBusy / time);
-        return new ScheduleResult(all, gantt, avgTurnaround, avgWaiting, cpuUtil, time);
+        double ioUtil = time == 0 ? 0.0 : (100.0 * state.ioBusyTime() / time);
+        long t2 = System.nanoTime();
+        listener.phase("simulate", t2 - t1);
+        ScheduleResult r = new ScheduleResult(w.resultView(order, state), gantt, avgTurnaround, avgWaiting, cpuUtil,
+                time, metrics, ioUtil);
+        listener.phase("collect", System.nanoTime() - t2);
+        return r;
+    }
+
+    private static void seed(BinaryFormat.SnapshotWriter snapshots, List<GanttEntry> gantt) {
+        try {
+            snapshots.seed(gantt);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void slice(BinaryFormat.SnapshotWriter snapshots, int job, long start, long end) {
+        try {
+            snapshots.slice(job, start, end);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static int[] toArray(IntRingQueue q) {
+        int[] a = new int[q.size()];
+        for (int i = 0; i < a.length; i++)
+            a[i] = q.get(i);
+        return a;
+    }
+
+    private static int[] heapValues(LongMinHeap h) {
+        int[] a = new int[h.size()];
+        for (int i = 0; i < a.length; i++)
+            a[i] = h.valueAt(i);
+        return a;
+    }
+
+    private static long[] heapKeys(LongMinHeap h) {
+        long[] a = new long[h.size()];
+        for (int i = 0; i < a.length; i++)
+            a[i] = h.keyAt(i);
+        return a;
+    }
+
+    // arrivals and I/O completions up to {@code time}, merged by time (arrivals first on ties)
+    private static int admit(Workload w, int[] order, int nextArr, LongMinHeap blocked, IntRingQueue ready, long time) {
+        int n = order.length;
+        while (true) {
+            long arrival = nextArr < n ? w.arrival(order[nextArr]) : Long.MAX_VALUE;
+            long wake = blocked.minKey();
+            if (Math.min(arrival, wake) > time)
+                return nextArr;
+            if (arrival <= wake)
+                ready.addLast(order[nextArr++]);
+            else
+                ready.addLast(blocked.poll());
+        }
+    }
+
+    private static long nextEvent(Workload w, int[] order, int nextArr, LongMinHeap blocked) {
+        long arrival = nextArr < order.length ? w.arrival(order[nextArr]) : Long.MAX_VALUE;
+        return Math.min(arrival, blocked.minKey());
     }
 }
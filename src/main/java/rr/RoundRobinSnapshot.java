@@ -0,0 +1,56 @@
+package rr;
+
+import java.util.List;
+
+import fcfs.GanttEntry;
+import model.ExecutionState;
+
+/**
+ * Everything a {@link RoundRobinScheduler} run needs to carry on from the top
+ * of its loop: the clock, the ready queue in order, the jobs blocked on I/O,
+ * per-job run state and the timeline so far. The metric histograms are not
+ * part of it; they follow from the finished jobs' times and are rebuilt on
+ * resume.
+ *
+ * Written by a {@link util.BinaryFormat.SnapshotWriter} while a run is in
+ * progress, so {@link #state} may be the run's live object (the writer keeps
+ * its own copy of the timeline); read back with
+ * {@link util.BinaryFormat#readSnapshot}.
+ */
+public final class RoundRobinSnapshot {
+    // scheduler config and workload fingerprint, checked on resume
+    public final String config;
+    public final String fingerprint;
+    public final long time;
+    public final long totalBusy;
+    public final int finished;
+    // next position in arrival order not yet admitted
+    public final int nextArrival;
+    // job that ran the last slice, or -1
+    public final int last;
+    public final int[] ready;
+    // jobs waiting for I/O and when each wakes up
+    public final int[] blocked;
+    public final long[] wakeAt;
+    public final ExecutionState state;
+    public final List<GanttEntry> gantt;
+
+    public RoundRobinSnapshot(String config, String fingerprint, long time, long totalBusy, int finished,
+            int nextArrival, int last, int[] ready, int[] blocked, long[] wakeAt, ExecutionState state,
+            List<GanttEntry> gantt) {
+        if (blocked.length != wakeAt.length)
+            throw new IllegalArgumentException("blocked and wakeAt differ in length");
+        this.config = config;
+        this.fingerprint = fingerprint;
+        this.time = time;
+        this.totalBusy = totalBusy;
+        this.finished = finished;
+        this.nextArrival = nextArrival;
+        this.last = last;
+        this.ready = ready;
+        this.blocked = blocked;
+        this.wakeAt = wakeAt;
+        this.state = state;
+        this.gantt = gantt;
+    }
+}
@@ -0,0 +1,49 @@
+package server;
+
+import cache.ResultCache;
+
+import java.nio.file.Path;
+
+/**
+ * Usage: MainServer [--port N] [--threads N] [--queue N] [--cache DIR
+ * [--cache-mb N]]
+ *
+ * Serves on 127.0.0.1 (default port 8080) until the process is stopped.
+ */
+public class MainServer {
+    public static void main(String[] args) throws Exception {
+        int port = 8080;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int queue = 64;
+        String cacheDir = null;
+        long cacheMb = 256;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--queue":
+                    queue = Integer.parseInt(args[++i]);
+                    break;
+                case "--cache":
+                    cacheDir = args[++i];
+                    break;
+                case "--cache-mb":
+                    cacheMb = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    System.out.println("usage: MainServer [--port N] [--threads N] [--queue N] "
+                            + "[--cache DIR [--cache-mb N]]");
+                    return;
+            }
+        }
+
+        ResultCache cache = cacheDir == null ? null : new ResultCache(Path.of(cacheDir), cacheMb << 20);
+        SimulationServer server = new SimulationServer(port, threads, queue, cache);
+        server.start();
+        System.out.printf("listening on 127.0.0.1:%d, %d workers, queue %d%n", server.port(), threads, queue);
+    }
+}
@@ -0,0 +1,320 @@
+package server;
+
+import cache.ResultCache;
+import cfs.CFSScheduler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import fcfs.FCFSScheduler;
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import mlfq.MLFQScheduler;
+import model.Workload;
+import priority.PreemptivePriorityScheduler;
+import rr.RoundRobinScheduler;
+import srtf.SRTFScheduler;
+import util.BinaryFormat;
+import util.CSVLoader;
+import util.JsonExporter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resident simulation service on the JDK's built-in HTTP server, so repeated
+ * runs skip JVM startup and JIT warm-up. Workloads are uploaded once and kept
+ * in memory under a handle (their {@link Workload#fingerprint() fingerprint}
+ * and time unit, so uploading the same trace twice gives the same handle).
+ *
+ * <pre>
+ * POST   /workloads                 body: CSV, or the binary format with Content-Type application/octet-stream
+ *                                   -> 201 {"handle":"...","jobs":N}
+ * DELETE /workloads/{handle}        -> 204
+ * POST   /simulate?workload={handle}&amp;scheduler=fcfs|rr|srtf|priority|mlfq|cfs
+ *                  [&amp;cs=N] [&amp;quantum=N] [&amp;format=json|bin] [&amp;gantt=false]
+ *                                   -> 200 the ScheduleResult as JSON (default) or in the binary format
+ * </pre>
+ *
+ * {@code /simulate} without {@code workload} runs the CSV in the request body
+ * once without keeping it. Uploads and runs go to a bounded worker pool; when
+ * its queue is full the request is turned away at once with 503 and
+ * {@code Retry-After} instead of piling up. Bad requests get 400, unknown
+ * handles 404, both with a one-line plain-text reason.
+ */
+public final class SimulationServer {
+    private final HttpServer http;
+    private final ThreadPoolExecutor workers;
+    private final ResultCache cache;
+    private final Map<String, Workload> workloads = new ConcurrentHashMap<>();
+
+    /**
+     * @param workers runs uploads and simulations; see {@link #boundedWorkers}
+     * @param cache   may be {@code null}
+     */
+    public SimulationServer(InetSocketAddress address, ThreadPoolExecutor workers, ResultCache cache)
+            throws IOException {
+        this.workers = workers;
+        this.cache = cache;
+        http = HttpServer.create(address, 0);
+        http.createContext("/workloads", this::workloads);
+        http.createContext("/simulate", this::simulate);
+    }
+
+    /** Listens on the loopback interface only. */
+    public SimulationServer(int port, int threads, int queueCapacity, ResultCache cache) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), boundedWorkers(threads, queueCapacity),
+                cache);
+    }
+
+    /**
+     * {@code threads} workers behind a queue of {@code queueCapacity}; a full
+     * queue rejects instead of blocking the HTTP dispatcher.
+     */
+    public static ThreadPoolExecutor boundedWorkers(int threads, int queueCapacity) {
+        if (threads <= 0 || queueCapacity <= 0)
+            throw new IllegalArgumentException("threads > 0 and queueCapacity > 0");
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "simulation-worker");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void start() {
+        http.start();
+    }
+
+    /** Stops accepting requests and lets running ones finish. */
+    public void stop() throws InterruptedException {
+        http.stop(0);
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    public int port() {
+        return http.getAddress().getPort();
+    }
+
+    private void workloads(HttpExchange ex) throws IOException {
+        String path = ex.getRequestURI().getPath();
+        String method = ex.getRequestMethod();
+        if ("POST".equals(method) && path.equals("/workloads")) {
+            submit(ex, () -> {
+                Workload w = readBody(ex);
+                String handle = handle(w);
+                workloads.put(handle, w);
+                sendText(ex, 201, "application/json",
+                        "{\"handle\":\"" + handle + "\",\"jobs\":" + w.size() + "}\n");
+            });
+        } else if ("DELETE".equals(method) && path.startsWith("/workloads/")) {
+            String handle = path.substring("/workloads/".length());
+            if (workloads.remove(handle) == null)
+                sendText(ex, 404, "text/plain", "unknown workload " + handle + "\n");
+            else
+                sendEmpty(ex, 204);
+        } else {
+            sendText(ex, 405, "text/plain", "use POST /workloads or DELETE /workloads/{handle}\n");
+        }
+    }
+
+    private void simulate(HttpExchange ex) throws IOException {
+        if (!"POST".equals(ex.getRequestMethod())) {
+            sendText(ex, 405, "text/plain", "use POST /simulate\n");
+            return;
+        }
+        Map<String, String> q = query(ex);
+        String handle = q.get("workload");
+        Workload stored = handle == null ? null : workloads.get(handle);
+        if (handle != null && stored == null) {
+            sendText(ex, 404, "text/plain", "unknown workload " + handle + "\n");
+            return;
+        }
+        submit(ex, () -> {
+            Scheduler s = scheduler(q);
+            String format = q.getOrDefault("format", "json");
+            if (!format.equals("json") && !format.equals("bin"))
+                throw new IllegalArgumentException("format must be json or bin");
+            Workload w = stored != null ? stored : readBody(ex);
+            ScheduleResult r = cache == null ? s.run(w) : cache.run(s, w);
+            if (format.equals("json"))
+                sendJson(ex, r, !"false".equals(q.get("gantt")));
+            else
+                sendBinary(ex, r);
+        });
+    }
+
+    private interface Work {
+        void run() throws IOException;
+    }
+
+    // runs on a worker; the dispatcher thread only routes, so a full queue is answered straight away
+    private void submit(HttpExchange ex, Work work) throws IOException {
+        try {
+            workers.execute(() -> {
+                try {
+                    work.run();
+                } catch (IllegalArgumentException | UncheckedIOException | BadRequest e) {
+                    sendQuietly(ex, 400, e.getMessage());
+                } catch (IOException | RuntimeException e) {
+                    sendQuietly(ex, 500, e.toString());
+                } finally {
+                    ex.close();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ex.getResponseHeaders().set("Retry-After", "1");
+            sendText(ex, 503, "text/plain", "busy, " + workers.getQueue().size() + " requests queued\n");
+        }
+    }
+
+    /** A request body that does not parse as a workload. */
+    private static final class BadRequest extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BadRequest(String message) {
+            super(message);
+        }
+    }
+
+    // the fingerprint leaves out the time unit, so the same jobs in ns and ms need their own handles
+    static String handle(Workload w) {
+        return w.fingerprint() + "-" + w.timeUnit().name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Workload readBody(HttpExchange ex) throws IOException {
+        String type = ex.getRequestHeaders().getFirst("Content-Type");
+        try (InputStream in = ex.getRequestBody()) {
+            if (type != null && type.startsWith("application/octet-stream")) {
+                // the binary reader maps files, so spool the body first
+                Path tmp = Files.createTempFile("workload", ".bin");
+                try {
+                    Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+                    return BinaryFormat.readWorkload(tmp);
+                } catch (IOException e) {
+                    throw new BadRequest("not a workload binary: " + e.getMessage());
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+            return CSVLoader.loadWorkload(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16));
+        }
+    }
+
+    private static Scheduler scheduler(Map<String, String> q) {
+        String name = q.getOrDefault("scheduler", "fcfs");
+        switch (name) {
+            case "fcfs":
+                return new FCFSScheduler(intParam(q, "cs", 0));
+            case "rr":
+                return new RoundRobinScheduler(intParam(q, "quantum", 4));
+            case "srtf":
+                return new SRTFScheduler();
+            case "priority":
+                return new PreemptivePriorityScheduler();
+            case "mlfq":
+                return new MLFQScheduler();
+            case "cfs":
+                return new CFSScheduler();
+            default:
+                throw new IllegalArgumentException("unknown scheduler " + name);
+        }
+    }
+
+    private static int intParam(Map<String, String> q, String name, int def) {
+        String v = q.get(name);
+        if (v == null)
+            return def;
+        try {
+            return Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer: " + v);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> q = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null)
+            return q;
+        for (String pair : raw.split("&")) {
+            if (pair.isEmpty())
+                continue;
+            int eq = pair.indexOf('=');
+            String k = eq < 0 ? pair : pair.substring(0, eq);
+            String v = eq < 0 ? "" : pair.substring(eq + 1);
+            q.put(URLDecoder.decode(k, StandardCharsets.UTF_8), URLDecoder.decode(v, StandardCharsets.UTF_8));
+        }
+        return q;
+    }
+
+    // chunked, written as it is encoded
+    private static void sendJson(HttpExchange ex, ScheduleResult r, boolean gantt) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(200, 0);
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(ex.getResponseBody(), StandardCharsets.UTF_8),
+                1 << 16)) {
+            JsonExporter.write(r, out, gantt);
+        }
+    }
+
+    // the binary writer patches section lengths in place, so it goes through a file
+    private static void sendBinary(HttpExchange ex, ScheduleResult r) throws IOException {
+        Path tmp = Files.createTempFile("schedule", ".bin");
+        try {
+            BinaryFormat.writeSchedule(r, tmp);
+            ex.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            ex.sendResponseHeaders(200, Files.size(tmp));
+            try (OutputStream out = ex.getResponseBody()) {
+                Files.copy(tmp, out);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void sendText(HttpExchange ex, int status, String type, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", type);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendEmpty(HttpExchange ex, int status) throws IOException {
+        ex.sendResponseHeaders(status, -1);
+        ex.close();
+    }
+
+    // an error after the headers went out can only cut the response short
+    private static void sendQuietly(HttpExchange ex, int status, String message) {
+        try {
+            if (ex.getResponseCode() == -1)
+                sendText(ex, status, "text/plain", message + "\n");
+        } catch (IOException ignored) {
+            // client gone
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package smp;
+
+/** How runnable processes are spread over the simulated CPUs. */
+public enum Balancing {
+    /** One shared run queue; any free CPU takes the head. */
+    GLOBAL,
+    /**
+     * One run queue per CPU, new arrivals spread round-robin; a CPU whose queue
+     * is empty steals from the tail of the longest queue.
+     */
+    WORK_STEALING,
+    /**
+     * One run queue per CPU and a fixed home CPU per process id; no migration,
+     * so CPUs can sit idle while others are overloaded.
+     */
+    AFFINITY
+}
@@ -0,0 +1,69 @@
+package smp;
+
+import model.Workload;
+import util.BinaryFormat;
+import util.HtmlGanttExporter;
+import util.MappedCSVLoader;
+import util.TablePrinter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Usage: MainSmp &lt;workload.csv|workload.bin&gt; [--cpus N] [--balancing
+ * global|stealing|affinity] [--quantum Q] [--export-html PATH]
+ */
+public class MainSmp {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("usage: MainSmp <workload.csv|workload.bin> [--cpus N] "
+                    + "[--balancing global|stealing|affinity] [--quantum Q] [--export-html PATH]");
+            return;
+        }
+        int cpus = Runtime.getRuntime().availableProcessors();
+        Balancing balancing = Balancing.WORK_STEALING;
+        int quantum = 10;
+        String html = null;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cpus":
+                    cpus = Integer.parseInt(args[++i]);
+                    break;
+                case "--balancing":
+                    String b = args[++i];
+                    balancing = "global".equals(b) ? Balancing.GLOBAL
+                            : "affinity".equals(b) ? Balancing.AFFINITY : Balancing.WORK_STEALING;
+                    break;
+                case "--quantum":
+                    quantum = Integer.parseInt(args[++i]);
+                    break;
+                case "--export-html":
+                    html = args[++i];
+                    break;
+                default:
+                    System.out.println("Unknown arg: " + args[i]);
+                    return;
+            }
+        }
+
+        Workload w = args[0].endsWith(".bin") ? BinaryFormat.readWorkload(Path.of(args[0]))
+                : MappedCSVLoader.loadWorkload(args[0]);
+        SmpResult r = new SmpScheduler(cpus, balancing, quantum).run(w);
+
+        List<String[]> rows = new ArrayList<>();
+        for (int c = 0; c < r.cpus; c++) {
+            rows.add(new String[] { Integer.toString(c), String.format("%.2f", r.perCpuUtilizationPercent[c]),
+                    Integer.toString(r.cpuGantt.get(c).size()) });
+        }
+        TablePrinter.printTable(rows, new String[] { "CPU", "Util%", "Slices" });
+        System.out.printf("%s, %d CPUs, quantum %d: makespan %d, avg turnaround %.3f, avg waiting %.3f, "
+                + "utilization %.2f%%, migrations %d%n", balancing, r.cpus, quantum, r.makespan, r.avgTurnaround,
+                r.avgWaiting, r.cpuUtilizationPercent, r.migrations);
+        if (html != null) {
+            HtmlGanttExporter.export(r, Path.of(html), new HtmlGanttExporter.Options(HtmlGanttExporter.Lanes.CPU,
+                    HtmlGanttExporter.Format.SVG, 1600, 1000));
+            System.out.println("Exported HTML to " + html);
+        }
+    }
+}
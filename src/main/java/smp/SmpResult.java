@@ -0,0 +1,30 @@
+package smp;
+
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import metrics.JobMetrics;
+import model.Process;
+
+import java.util.List;
+
+/**
+ * Multi-CPU result. The inherited {@code gantt} holds every CPU's slices (CPU
+ * by CPU, each tagged with {@link GanttEntry#cpu}); {@link #cpuGantt} has the
+ * same entries split per CPU. The inherited utilization is over all CPUs.
+ */
+public class SmpResult extends ScheduleResult {
+    public final int cpus;
+    public final List<List<GanttEntry>> cpuGantt;
+    public final double[] perCpuUtilizationPercent;
+    public final long migrations;
+
+    public SmpResult(List<Process> processes, List<GanttEntry> gantt, double avgTurnaround, double avgWaiting,
+            double cpuUtilizationPercent, long makespan, JobMetrics metrics, List<List<GanttEntry>> cpuGantt,
+            double[] perCpuUtilizationPercent, long migrations) {
+        super(processes, gantt, avgTurnaround, avgWaiting, cpuUtilizationPercent, makespan, metrics);
+        this.cpus = cpuGantt.size();
+        this.cpuGantt = cpuGantt;
+        this.perCpuUtilizationPercent = perCpuUtilizationPercent;
+        this.migrations = migrations;
+    }
+}
@@ -0,0 +1,270 @@
+package smp;
+
+import fcfs.GanttEntry;
+import fcfs.Scheduler;
+import metrics.JobMetrics;
+import metrics.SchedulerListener;
+import model.ExecutionState;
+import model.Workload;
+import util.IntRingQueue;
+import util.LongMinHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Simulates N identical CPUs, each time-slicing its processes round-robin with
+ * the given quantum ({@code Integer.MAX_VALUE} gives per-CPU FCFS). How
+ * processes reach a CPU is chosen by {@link Balancing}.
+ *
+ * Event-driven: busy CPUs sit in a heap keyed by the end of their current
+ * slice, idle CPUs are parked until work shows up for them, and the clock
+ * jumps between slice ends and arrivals. Each event costs O(log cpus) (plus an
+ * O(cpus) victim scan when stealing), so millions of jobs on 128 CPUs are fine.
+ *
+ * Ties are broken deterministically: at equal times arrivals are handled
+ * before slice ends (like {@link rr.RoundRobinScheduler}, a process arriving
+ * at a slice end queues ahead of the preempted one) and lower CPU numbers go
+ * first.
+ */
+public class SmpScheduler implements Scheduler {
+    private final int cpus;
+    private final Balancing balancing;
+    private final int quantum;
+
+    public SmpScheduler(int cpus, Balancing balancing, int quantum) {
+        if (cpus <= 0)
+            throw new IllegalArgumentException("cpus > 0");
+        if (quantum <= 0)
+            throw new IllegalArgumentException("quantum > 0");
+        this.cpus = cpus;
+        this.balancing = balancing;
+        this.quantum = quantum;
+    }
+
+    @Override
+    public SmpResult run(Workload w) {
+        return run(w, SchedulerListener.NONE);
+    }
+
+    @Override
+    public SmpResult run(Workload w, SchedulerListener listener) {
+        if (w.hasIo())
+            throw new IllegalArgumentException("SMP scheduler does not model I/O bursts");
+        long t0 = System.nanoTime();
+        Run run = new Run(w, listener);
+        listener.phase("prepare", System.nanoTime() - t0);
+        return run.simulate();
+    }
+
+    /** State of one simulation; everything is per call so runs can share a workload. */
+    private final class Run {
+        final Workload w;
+        final SchedulerListener listener;
+        final int n;
+        final int[] order;
+        final ExecutionState state;
+
+        final IntRingQueue[] queues;
+        final int[] running;
+        final int[] lastJob;
+        final int[] lastCpu;
+        final long[] busy;
+        final long[] parkedSince;
+        final BitSet parked = new BitSet();
+        final LongMinHeap events;
+        final List<List<GanttEntry>> gantt = new ArrayList<>();
+        int spread = 0;
+        long migrations = 0;
+
+        Run(Workload w, SchedulerListener listener) {
+            this.w = w;
+            this.listener = listener;
+            this.n = w.size();
+            this.order = w.arrivalOrder();
+            this.state = w.newExecutionState();
+            int queueCount = balancing == Balancing.GLOBAL ? 1 : cpus;
+            queues = new IntRingQueue[queueCount];
+            for (int q = 0; q < queueCount; q++)
+                queues[q] = new IntRingQueue();
+            running = new int[cpus];
+            Arrays.fill(running, -1);
+            lastJob = new int[cpus];
+            Arrays.fill(lastJob, -1);
+            lastCpu = new int[n];
+            Arrays.fill(lastCpu, -1);
+            busy = new long[cpus];
+            parkedSince = new long[cpus];
+            events = new LongMinHeap(cpus);
+            for (int c = 0; c < cpus; c++) {
+                gantt.add(new ArrayList<>());
+                parked.set(c);
+            }
+        }
+
+        SmpResult simulate() {
+            long t1 = System.nanoTime();
+            int finished = 0;
+            int nextArr = 0;
+            long time = 0;
+            JobMetrics metrics = new JobMetrics();
+
+            while (finished < n) {
+                // arrivals first when they are not later than the next slice end
+                if (nextArr < n && w.arrival(order[nextArr]) <= events.minKey()) {
+                    long at = w.arrival(order[nextArr]);
+                    while (nextArr < n && w.arrival(order[nextArr]) == at) {
+                        int job = order[nextArr++];
+                        enqueue(job, homeQueue(job), at);
+                    }
+                    time = Math.max(time, at);
+                    continue;
+                }
+
+                time = events.minKey();
+                int c = events.poll();
+
+                int job = running[c];
+                if (job >= 0) {
+                    running[c] = -1;
+                    if (state.isFinished(job)) {
+                        finished++;
+                        // preemptive -> waiting = turnaround - original burst
+                        metrics.record(w.arrival(job), state.start(job), time, w.burst(job));
+                        listener.complete(time, c, job);
+                    } else {
+                        // no wake-up yet: this CPU dispatches first and may take it right back
+                        int q = requeueTarget(job, c);
+                        queues[q].addLast(job);
+                        dispatch(c, time);
+                        wakeFor(q, time);
+                        continue;
+                    }
+                }
+                dispatch(c, time);
+            }
+
+            long t2 = System.nanoTime();
+            listener.phase("simulate", t2 - t1);
+            long makespan = time;
+            long totalBusy = 0;
+            double[] perCpu = new double[cpus];
+            List<GanttEntry> flat = new ArrayList<>();
+            for (int c = 0; c < cpus; c++) {
+                totalBusy += busy[c];
+                perCpu[c] = makespan == 0 ? 0.0 : 100.0 * busy[c] / makespan;
+                flat.addAll(gantt.get(c));
+            }
+            double avgTurnaround = metrics.turnaround.mean();
+            double avgWaiting = metrics.waiting.mean();
+            double util = makespan == 0 ? 0.0 : 100.0 * totalBusy / ((double) makespan * cpus);
+            SmpResult r = new SmpResult(w.resultView(order, state), flat, avgTurnaround, avgWaiting, util, makespan,
+                    metrics, gantt, perCpu, migrations);
+            listener.phase("collect", System.nanoTime() - t2);
+            return r;
+        }
+
+        int homeQueue(int job) {
+            switch (balancing) {
+                case GLOBAL:
+                    return 0;
+                case AFFINITY:
+                    return w.idIndex(job) % cpus;
+                default:
+                    return spread++ % cpus;
+            }
+        }
+
+        int requeueTarget(int job, int cpu) {
+            // preempted processes go back to the CPU they ran on (stealing may move them later)
+            switch (balancing) {
+                case GLOBAL:
+                    return 0;
+                case AFFINITY:
+                    return w.idIndex(job) % cpus;
+                default:
+                    return cpu;
+            }
+        }
+
+        void enqueue(int job, int q, long time) {
+            queues[q].addLast(job);
+            wakeFor(q, time);
+        }
+
+        // wake a parked CPU that can take work from queue q
+        void wakeFor(int q, long time) {
+            if (queues[q].isEmpty())
+                return;
+            int wake = -1;
+            if (balancing == Balancing.GLOBAL) {
+                wake = parked.nextSetBit(0);
+            } else if (parked.get(q)) {
+                wake = q;
+            } else if (balancing == Balancing.WORK_STEALING) {
+                wake = parked.nextSetBit(0);
+            }
+            if (wake >= 0)
+                unpark(wake, time);
+        }
+
+        void unpark(int c, long time) {
+            parked.clear(c);
+            if (time > parkedSince[c]) {
+                GanttEntry.appendMerged(gantt.get(c), "idle", parkedSince[c], time, c);
+                listener.idle(parkedSince[c], time, c);
+            }
+            events.add(time, c);
+            // the dispatch happens when this event is polled
+            running[c] = -1;
+        }
+
+        void dispatch(int c, long time) {
+            int job = take(c);
+            if (job < 0) {
+                parked.set(c);
+                parkedSince[c] = time;
+                return;
+            }
+            int prev = lastJob[c];
+            if (job != prev) {
+                if (prev >= 0) {
+                    if (!state.isFinished(prev))
+                        listener.preempt(time, c, prev);
+                    listener.contextSwitch(time, c, 0);
+                }
+                listener.dispatch(time, c, job, queues[balancing == Balancing.GLOBAL ? 0 : c].size());
+                lastJob[c] = job;
+            }
+            if (lastCpu[job] >= 0 && lastCpu[job] != c)
+                migrations++;
+            lastCpu[job] = c;
+            int run = state.runFor(job, quantum, time);
+            busy[c] += run;
+            GanttEntry.appendMerged(gantt.get(c), w.id(job), time, time + run, c);
+            running[c] = job;
+            events.add(time + run, c);
+        }
+
+        int take(int c) {
+            if (balancing == Balancing.GLOBAL)
+                return queues[0].isEmpty() ? -1 : queues[0].removeFirst();
+            if (!queues[c].isEmpty())
+                return queues[c].removeFirst();
+            if (balancing != Balancing.WORK_STEALING)
+                return -1;
+            // steal from the tail of the longest queue
+            int victim = -1;
+            int longest = 0;
+            for (int q = 0; q < cpus; q++) {
+                if (queues[q].size() > longest) {
+                    longest = queues[q].size();
+                    victim = q;
+                }
+            }
+            return victim < 0 ? -1 : queues[victim].removeLast();
+        }
+    }
+}
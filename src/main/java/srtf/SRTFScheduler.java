@@ -0,0 +1,111 @@
+package srtf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import metrics.JobMetrics;
+import metrics.SchedulerListener;
+import model.ExecutionState;
+import model.Workload;
+
+/**
+ * Shortest Remaining Time First (preemptive SJF). Instead of stepping the clock
+ * one unit at a time it jumps straight to the next event (an arrival or the
+ * completion of the running process), keeping the ready processes in a min-heap
+ * keyed on remaining burst. Each process is pushed/popped at most once per
+ * event, so a run costs O(n log n).
+ */
+public class SRTFScheduler implements Scheduler {
+
+    @Override
+    public String config() {
+        return "srtf";
+    }
+
+    @Override
+    public ScheduleResult run(Workload w, SchedulerListener listener) {
+        if (w.hasIo())
+            throw new IllegalArgumentException("SRTF scheduler does not model I/O bursts");
+        long t0 = System.nanoTime();
+        int n = w.size();
+        // stable arrival order; the position in it is the final tie-breaker (same
+        // choice the per-tick scan made)
+        int[] order = w.arrivalOrder();
+        ExecutionState state = w.newExecutionState();
+        long t1 = System.nanoTime();
+        listener.phase("prepare", t1 - t0);
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>(Math.max(1, n), (a, b) -> {
+            int c = Integer.compare(state.remaining(order[a]), state.remaining(order[b]));
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+
+        List<GanttEntry> gantt = new ArrayList<>();
+        long time = 0;
+        long totalBusy = 0;
+        JobMetrics metrics = new JobMetrics();
+        int nextArrIdx = 0;
+        int finished = 0;
+        int last = -1;
+
+        while (finished < n) {
+            while (nextArrIdx < n && w.arrival(order[nextArrIdx]) <= time) {
+                ready.add(nextArrIdx++);
+            }
+
+            if (ready.isEmpty()) {
+                // idle until the next arrival
+                long next = w.arrival(order[nextArrIdx]);
+                gantt.add(new GanttEntry("idle", time, next));
+                listener.idle(time, next, 0);
+                time = next;
+                continue;
+            }
+
+            int pos = ready.poll();
+            int cur = order[pos];
+            if (cur != last) {
+                if (last >= 0) {
+                    if (!state.isFinished(last))
+                        listener.preempt(time, 0, last);
+                    listener.contextSwitch(time, 0, 0);
+                }
+                listener.dispatch(time, 0, cur, ready.size());
+            }
+            last = cur;
+            // run until it finishes or the next arrival might preempt it
+            int run = state.remaining(cur);
+            if (nextArrIdx < n)
+                run = (int) Math.min(run, w.arrival(order[nextArrIdx]) - time);
+
+            long start = time;
+            state.runFor(cur, run, start);
+            time = start + run;
+            totalBusy += run;
+            GanttEntry.appendMerged(gantt, w.id(cur), start, time);
+
+            if (state.isFinished(cur)) {
+                finished++;
+                // preemptive -> waiting = turnaround - original burst
+                metrics.record(w.arrival(cur), state.start(cur), time, w.burst(cur));
+                listener.complete(time, 0, cur);
+            } else {
+                ready.add(pos);
+            }
+        }
+
+        double avgTurnaround = metrics.turnaround.mean();
+        double avgWaiting = metrics.waiting.mean();
+        double cpuUtil = time == 0 ? 0.0 : (100.0 * totalBusy / time);
+        long t2 = System.nanoTime();
+        listener.phase("simulate", t2 - t1);
+        ScheduleResult r = new ScheduleResult(w.resultView(order, state), gantt, avgTurnaround, avgWaiting, cpuUtil,
+                time, metrics);
+        listener.phase("collect", System.nanoTime() - t2);
+        return r;
+    }
+}
@@ -1,8 +1,10 @@
 package srtf;
 
+import fcfs.ScheduleResult;
 import model.Process;
+import util.GanttRenderer;
+
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public class ShortestTimeRemainingFirst {
@@ -19,74 +21,29 @@ public class ShortestTimeRemainingFirst {
         processes.add(new Process("P4", 0, 0, 6));
         processes.add(new Process("P5", 0, 2, 3));
         
-        // Sort by arrival time
-        processes.sort(Comparator.comparingInt(Process::getArrivalTime));
-        
-        int n = processes.size();
-        int[] completionTime = new int[n];
-        int[] waitingTime = new int[n];
-        int[] turnaroundTime = new int[n];
-        
-        int time = 0;
-        int complete = 0;
-        int shortest = -1;
-        int minRemaining = Integer.MAX_VALUE;
-        
-        while (complete != n) {
-            // Find process with smallest remaining time at current time
-            shortest = -1;
-            minRemaining = Integer.MAX_VALUE;
-            
-            for (int i = 0; i < n; i++) {
-                if (processes.get(i).getArrivalTime() <= time && 
-                    processes.get(i).getRemainingBurst() > 0) {
-                    if (processes.get(i).getRemainingBurst() < minRemaining) {
-                        minRemaining = processes.get(i).getRemainingBurst();
-                        shortest = i;
-                    }
-                }
-            }
-            
-            if (shortest == -1) {
-                time++;
-                continue;
-            }
-            
-            // Execute one unit of the shortest process
-            processes.get(shortest).runFor(1, time);
-            time++;
-            
-            // If the process is completed
-            if (processes.get(shortest).isFinished()) {
-                complete++;
-                completionTime[shortest] = time;
-                turnaroundTime[shortest] = completionTime[shortest] - 
-                                           processes.get(shortest).getArrivalTime();
-                waitingTime[shortest] = turnaroundTime[shortest] - 
-                                       processes.get(shortest).getOriginalBurst();
-            }
-        }
+        // Event-driven scheduler: jumps between arrivals/completions instead of
+        // rescanning every process on every time unit
+        ScheduleResult r = new SRTFScheduler().run(processes);
         
         // Display results
         System.out.printf("%-8s%-10s%-8s%-12s%-12s%-10s%n", 
                          "Process", "Arrival", "Burst", "Completion", "Turnaround", "Waiting");
         
-        double totalWt = 0;
-        double totalTat = 0;
-        
-        for (int i = 0; i < n; i++) {
-            totalWt += waitingTime[i];
-            totalTat += turnaroundTime[i];
+        for (Process p : r.processes) {
+            long turnaround = p.getCompletionTime() - p.getArrivalTime();
+            long waiting = turnaround - p.getOriginalBurst();
             System.out.printf("%-8s%-10d%-8d%-12d%-12d%-10d%n",
-                            processes.get(i).getId(),
-                            processes.get(i).getArrivalTime(),
-                            processes.get(i).getOriginalBurst(),
-                            completionTime[i],
-                            turnaroundTime[i],
-                            waitingTime[i]);
+                            p.getId(),
+                            p.getArrivalTime(),
+                            p.getOriginalBurst(),
+                            p.getCompletionTime(),
+                            turnaround,
+                            waiting);
         }
         
-        System.out.printf("%nAverage Waiting Time: %.2f%n", totalWt / n);
-        System.out.printf("Average Turnaround Time: %.2f%n", totalTat / n);
+        System.out.printf("%nAverage Waiting Time: %.2f%n", r.avgWaiting);
+        System.out.printf("Average Turnaround Time: %.2f%n", r.avgTurnaround);
+        System.out.println("Gantt:");
+        GanttRenderer.render(r.gantt);
     }
 }
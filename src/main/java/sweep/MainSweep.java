@@ -0,0 +1,69 @@
+package sweep;
+
+import model.Workload;
+import util.BinaryFormat;
+import util.MappedCSVLoader;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Usage: MainSweep &lt;workload.csv|workload.bin&gt; [--rr FROM:TO] [--cs FROM:TO]
+ * [--threads N]
+ *
+ * Defaults to RR quanta 1:500 and FCFS context switches 0:10 on all cores.
+ */
+public class MainSweep {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("usage: MainSweep <workload.csv|workload.bin> [--rr FROM:TO] [--cs FROM:TO] [--threads N]");
+            return;
+        }
+
+        String path = args[0];
+        int[] rr = { 1, 500 };
+        int[] cs = { 0, 10 };
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rr":
+                    rr = range(args[++i]);
+                    break;
+                case "--cs":
+                    cs = range(args[++i]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.out.println("Unknown arg: " + args[i]);
+                    return;
+            }
+        }
+
+        Workload w = path.endsWith(".bin") ? BinaryFormat.readWorkload(Path.of(path))
+                : MappedCSVLoader.loadWorkload(path);
+        List<ParameterSweep.Config> grid = new ArrayList<>();
+        grid.addAll(ParameterSweep.fcfsContextSwitches(cs[0], cs[1]));
+        grid.addAll(ParameterSweep.roundRobinQuanta(rr[0], rr[1]));
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long t0 = System.nanoTime();
+            List<ParameterSweep.Row> rows = ParameterSweep.run(w, grid, pool);
+            ParameterSweep.printTable(rows);
+            System.out.printf("%d configurations, %d processes, %d threads, %.1f s%n", grid.size(), w.size(),
+                    threads, (System.nanoTime() - t0) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int[] range(String s) {
+        String[] parts = s.split(":");
+        int from = Integer.parseInt(parts[0]);
+        return new int[] { from, parts.length > 1 ? Integer.parseInt(parts[1]) : from };
+    }
+}
@@ -0,0 +1,101 @@
+package sweep;
+
+import fcfs.FCFSScheduler;
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import model.Workload;
+import rr.RoundRobinScheduler;
+import util.TablePrinter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs one workload through a grid of scheduler configurations concurrently
+ * and collects one row of metrics per configuration.
+ *
+ * Every configuration runs through {@link Scheduler#run(Workload)}: the
+ * workload is immutable and shared by all runs, and each run keeps its own
+ * {@link model.ExecutionState} (primitive arrays). Only the summary metrics
+ * are retained, so a wide grid doesn't hold every Gantt timeline in memory.
+ */
+public class ParameterSweep {
+
+    /** A labelled scheduler instance; schedulers only hold their settings. */
+    public static final class Config {
+        public final String label;
+        public final Scheduler scheduler;
+
+        public Config(String label, Scheduler scheduler) {
+            this.label = label;
+            this.scheduler = scheduler;
+        }
+    }
+
+    public static final class Row {
+        public final String label;
+        public final long makespan;
+        public final double avgTurnaround;
+        public final double avgWaiting;
+        public final double cpuUtilizationPercent;
+        public final int ganttEntries;
+        public final long elapsedMillis;
+
+        Row(String label, ScheduleResult r, long elapsedMillis) {
+            this.label = label;
+            this.makespan = r.makespan;
+            this.avgTurnaround = r.avgTurnaround;
+            this.avgWaiting = r.avgWaiting;
+            this.cpuUtilizationPercent = r.cpuUtilizationPercent;
+            this.ganttEntries = r.gantt.size();
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+
+    public static List<Config> roundRobinQuanta(int from, int to) {
+        List<Config> out = new ArrayList<>();
+        for (int q = from; q <= to; q++)
+            out.add(new Config("RR q=" + q, new RoundRobinScheduler(q)));
+        return out;
+    }
+
+    public static List<Config> fcfsContextSwitches(int from, int to) {
+        List<Config> out = new ArrayList<>();
+        for (int cs = from; cs <= to; cs++)
+            out.add(new Config("FCFS cs=" + cs, new FCFSScheduler(cs)));
+        return out;
+    }
+
+    public static List<Row> run(Workload workload, List<Config> grid) {
+        return run(workload, grid, ForkJoinPool.commonPool());
+    }
+
+    /** Rows come back in grid order regardless of completion order. */
+    public static List<Row> run(Workload workload, List<Config> grid, ForkJoinPool pool) {
+        List<ForkJoinTask<Row>> tasks = new ArrayList<>(grid.size());
+        for (Config c : grid) {
+            tasks.add(pool.submit(() -> {
+                long t0 = System.nanoTime();
+                ScheduleResult r = c.scheduler.run(workload);
+                return new Row(c.label, r, (System.nanoTime() - t0) / 1_000_000);
+            }));
+        }
+        List<Row> rows = new ArrayList<>(grid.size());
+        for (ForkJoinTask<Row> t : tasks)
+            rows.add(t.join());
+        return rows;
+    }
+
+    public static void printTable(List<Row> rows) {
+        List<String[]> table = new ArrayList<>();
+        for (Row r : rows) {
+            table.add(new String[] { r.label, Long.toString(r.makespan), String.format("%.3f", r.avgTurnaround),
+                    String.format("%.3f", r.avgWaiting), String.format("%.2f", r.cpuUtilizationPercent),
+                    Integer.toString(r.ganttEntries), Long.toString(r.elapsedMillis) });
+        }
+        TablePrinter.printTable(table,
+                new String[] { "Config", "Makespan", "Avg TAT", "Avg Wait", "CPU%", "Slices", "ms" });
+    }
+}
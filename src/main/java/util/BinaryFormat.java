@@ -0,0 +1,1002 @@
+package util;
+
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import metrics.JobMetrics;
+import model.ExecutionState;
+import model.Process;
+import model.Workload;
+import rr.RoundRobinSnapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compact binary format for workloads and schedules, meant for reloading large
+ * traces without re-parsing CSV.
+ *
+ * <pre>
+ * file    := magic "CPUB" | version:u8 | kind:u8 | section*
+ * section := tag:u8 | length:u64 (big-endian) | payload[length]
+ * </pre>
+ *
+ * Readers skip sections with an unknown tag, so new sections can be added
+ * without a version bump. Integers are LEB128 varints, signed values are
+ * zig-zag encoded, arrivals are stored as deltas from the previous job and
+ * Gantt starts as deltas from the previous entry's end. Times are 64-bit;
+ * a 32-bit value has the same varint either way, so files written before
+ * times were widened still read back unchanged. Workloads in a unit other
+ * than milliseconds carry it in an extra section.
+ *
+ * Snapshots of a Round Robin run in progress are a third kind of file: the
+ * loop state and per-job run state, with the timeline so far in a separate
+ * append-only log (a fourth kind). They refer to their workload by
+ * fingerprint instead of repeating it.
+ *
+ * Files are read through read-only mappings of the {@link FileChannel} and the
+ * varints are decoded straight from the mapped pages (no intermediate heap
+ * copy); files larger than one mapping are walked window by window.
+ */
+public class BinaryFormat {
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = { 'C', 'P', 'U', 'B' };
+    private static final int KIND_WORKLOAD = 1;
+    private static final int KIND_SCHEDULE = 2;
+    private static final int KIND_SNAPSHOT = 3;
+    private static final int KIND_GANTT_LOG = 4;
+
+    private static final int TAG_NAMES = 1;
+    private static final int TAG_JOBS = 2;
+    private static final int TAG_SUMMARY = 3;
+    private static final int TAG_GANTT = 4;
+    private static final int TAG_RUN_STATE = 5;
+    private static final int TAG_GANTT_CPU = 6;
+    private static final int TAG_GANTT_LEVEL = 7;
+    private static final int TAG_PHASES = 8;
+    private static final int TAG_IO_SUMMARY = 9;
+    private static final int TAG_TIME_UNIT = 10;
+    private static final int TAG_SNAPSHOT = 11;
+    private static final int TAG_JOB_STATE = 12;
+    private static final int TAG_QUEUES = 13;
+    private static final int TAG_GANTT_LOG = 14;
+
+    public static void writeWorkload(Workload w, Path path) throws IOException {
+        try (Output out = new Output(path)) {
+            out.header(KIND_WORKLOAD);
+            out.beginSection(TAG_NAMES);
+            out.uvarint(w.distinctIds());
+            for (int i = 0; i < w.distinctIds(); i++)
+                out.string(w.name(i));
+            out.endSection();
+            if (w.timeUnit() != TimeUnit.MILLISECONDS) {
+                out.beginSection(TAG_TIME_UNIT);
+                out.string(w.timeUnit().name());
+                out.endSection();
+            }
+            writeJobs(out, w);
+        }
+    }
+
+    public static Workload readWorkload(Path path) throws IOException {
+        try (Input in = new Input(path)) {
+            in.header(KIND_WORKLOAD);
+            String[] names = null;
+            Workload w = null;
+            TimeUnit unit = TimeUnit.MILLISECONDS;
+            while (in.hasMore()) {
+                int tag = in.u8();
+                long len = in.u64();
+                if (tag == TAG_NAMES) {
+                    names = readNames(in);
+                } else if (tag == TAG_JOBS) {
+                    w = readJobs(in, requireNames(names));
+                } else if (tag == TAG_PHASES) {
+                    w = readPhases(in, requireJobs(w));
+                } else if (tag == TAG_TIME_UNIT) {
+                    unit = readTimeUnit(in);
+                } else {
+                    in.skip(len);
+                }
+            }
+            if (w == null)
+                throw new IOException("missing jobs section");
+            return w.withTimeUnit(unit);
+        }
+    }
+
+    public static void writeSchedule(ScheduleResult r, Path path) throws IOException {
+        // one name table shared by processes and gantt (which adds idle/CS)
+        Map<String, Integer> index = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (Process p : r.processes)
+            intern(p.getId(), index, names);
+        for (GanttEntry e : r.gantt)
+            intern(e.id, index, names);
+
+        try (Output out = new Output(path)) {
+            out.header(KIND_SCHEDULE);
+
+            out.beginSection(TAG_SUMMARY);
+            out.zigzag(r.makespan);
+            out.f64(r.avgTurnaround);
+            out.f64(r.avgWaiting);
+            out.f64(r.cpuUtilizationPercent);
+            out.endSection();
+
+            out.beginSection(TAG_NAMES);
+            out.uvarint(names.size());
+            for (String s : names)
+                out.string(s);
+            out.endSection();
+
+            out.beginSection(TAG_JOBS);
+            out.uvarint(r.processes.size());
+            long prevArrival = 0;
+            for (Process p : r.processes) {
+                out.uvarint(index.get(p.getId()));
+                out.zigzag(p.getPriority());
+                out.zigzag(p.getArrivalTime() - prevArrival);
+                out.zigzag(p.getOriginalBurst());
+                prevArrival = p.getArrivalTime();
+            }
+            out.endSection();
+            if (r.processes.stream().anyMatch(p -> p.getSpec().hasIo())) {
+                List<int[]> bursts = new ArrayList<>(r.processes.size());
+                for (Process p : r.processes)
+                    bursts.add(p.getSpec().getBursts());
+                writePhases(out, bursts);
+                out.beginSection(TAG_IO_SUMMARY);
+                out.f64(r.ioUtilizationPercent);
+                out.endSection();
+            }
+
+            // start/completion kept apart from the inputs so JOBS reads back as a workload
+            out.beginSection(TAG_RUN_STATE);
+            out.uvarint(r.processes.size());
+            for (Process p : r.processes) {
+                out.zigzag(p.getStartTime() - p.getArrivalTime());
+                out.zigzag(p.getCompletionTime() - p.getStartTime());
+            }
+            out.endSection();
+
+            writeGantt(out, r.gantt, index);
+
+            // only multi-CPU schedules carry a CPU per entry; older readers skip it
+            if (r.gantt.stream().anyMatch(e -> e.cpu != 0)) {
+                out.beginSection(TAG_GANTT_CPU);
+                out.uvarint(r.gantt.size());
+                for (GanttEntry e : r.gantt)
+                    out.uvarint(e.cpu);
+                out.endSection();
+            }
+            // likewise only feedback-queue schedules carry levels
+            if (r.gantt.stream().anyMatch(e -> e.level != 0)) {
+                out.beginSection(TAG_GANTT_LEVEL);
+                out.uvarint(r.gantt.size());
+                for (GanttEntry e : r.gantt)
+                    out.uvarint(e.level);
+                out.endSection();
+            }
+        }
+    }
+
+    public static ScheduleResult readSchedule(Path path) throws IOException {
+        try (Input in = new Input(path)) {
+            in.header(KIND_SCHEDULE);
+            long makespan = 0;
+            double avgTurnaround = 0, avgWaiting = 0, cpuUtil = 0, ioUtil = 0;
+            String[] names = null;
+            Workload w = null;
+            long[] start = null;
+            long[] completion = null;
+            List<GanttEntry> gantt = new ArrayList<>();
+
+            while (in.hasMore()) {
+                int tag = in.u8();
+                long len = in.u64();
+                switch (tag) {
+                    case TAG_SUMMARY:
+                        makespan = in.zigzagLong();
+                        avgTurnaround = in.f64();
+                        avgWaiting = in.f64();
+                        cpuUtil = in.f64();
+                        break;
+                    case TAG_NAMES:
+                        names = readNames(in);
+                        break;
+                    case TAG_JOBS:
+                        w = readJobs(in, requireNames(names));
+                        break;
+                    case TAG_PHASES:
+                        w = readPhases(in, requireJobs(w));
+                        break;
+                    case TAG_IO_SUMMARY:
+                        ioUtil = in.f64();
+                        break;
+                    case TAG_RUN_STATE: {
+                        if (w == null)
+                            throw new IOException("run state before jobs section");
+                        int n = in.count();
+                        start = new long[n];
+                        completion = new long[n];
+                        for (int i = 0; i < n; i++) {
+                            start[i] = w.arrival(i) + in.zigzagLong();
+                            completion[i] = start[i] + in.zigzagLong();
+                        }
+                        break;
+                    }
+                    case TAG_GANTT:
+                        gantt = readGantt(in, requireNames(names));
+                        break;
+                    case TAG_GANTT_CPU: {
+                        int n = in.count();
+                        if (n != gantt.size())
+                            throw new IOException("gantt cpu section does not match gantt section");
+                        for (int i = 0; i < n; i++) {
+                            GanttEntry e = gantt.get(i);
+                            gantt.set(i, new GanttEntry(e.id, e.start, e.end, in.uvarint(), e.level));
+                        }
+                        break;
+                    }
+                    case TAG_GANTT_LEVEL: {
+                        int n = in.count();
+                        if (n != gantt.size())
+                            throw new IOException("gantt level section does not match gantt section");
+                        for (int i = 0; i < n; i++) {
+                            GanttEntry e = gantt.get(i);
+                            gantt.set(i, new GanttEntry(e.id, e.start, e.end, e.cpu, in.uvarint()));
+                        }
+                        break;
+                    }
+                    default:
+                        in.skip(len);
+                }
+            }
+            if (w == null || start == null)
+                throw new IOException("missing jobs or run state section");
+            int[] order = new int[w.size()];
+            for (int i = 0; i < order.length; i++)
+                order[i] = i;
+            List<Process> processes = w.resultView(order, start, completion);
+            return new ScheduleResult(processes, gantt, avgTurnaround, avgWaiting, cpuUtil, makespan,
+                    JobMetrics.of(processes), ioUtil);
+        }
+    }
+
+    /**
+     * Writes the snapshots of one Round Robin run to a file. The run reports
+     * each slice to {@link #slice} as it goes; the writer buffers them in
+     * primitive arrays and appends them in chunks to a log next to the
+     * snapshot (the snapshot's file name plus a random part and
+     * {@code .gantt}). That is far cheaper than walking millions of timeline
+     * entries and their id strings at snapshot time. The last entry, which the
+     * run may still extend, goes into the snapshot itself; the rest of the
+     * state is rewritten every time, which costs one pass over the jobs.
+     *
+     * Snapshots are written to a temporary file and moved into place, and the
+     * log is only ever appended to, so the file on disk is always a complete
+     * snapshot. Not thread-safe.
+     */
+    public static final class SnapshotWriter {
+        // entries buffered before they are appended to the log
+        private static final int CHUNK = 1 << 16;
+
+        private final Path file;
+        private final Workload w;
+        private Path log;
+        private int logged;
+        private long logBytes;
+        // entries not yet in the log
+        private final int[] chunkName = new int[CHUNK];
+        private final long[] chunkStart = new long[CHUNK];
+        private final long[] chunkEnd = new long[CHUNK];
+        private int chunkEntries;
+        private byte[] encoded = new byte[CHUNK * 8];
+        // last entry, still open to merging; name -1 while there is none
+        private int tailName = -1;
+        private long tailStart;
+        private long tailEnd;
+
+        public SnapshotWriter(Path file, Workload w) {
+            this.file = file.toAbsolutePath();
+            this.w = w;
+        }
+
+        /**
+         * Feeds the timeline of a resumed run, so that the next snapshot
+         * covers it too. Its ids must be job ids of the workload.
+         */
+        public void seed(List<GanttEntry> gantt) throws IOException {
+            Map<String, Integer> index = new HashMap<>(w.distinctIds() * 2);
+            for (int i = 0; i < w.distinctIds(); i++)
+                index.put(w.name(i), i);
+            for (GanttEntry e : gantt) {
+                Integer name = index.get(e.id);
+                if (name == null)
+                    throw new IllegalArgumentException("gantt id is not a job of the workload: " + e.id);
+                add(name, e.start, e.end);
+            }
+        }
+
+        /** Job {@code job} ran from {@code start} to {@code end}; merged like {@link GanttEntry#appendMerged}. */
+        public void slice(int job, long start, long end) throws IOException {
+            add(w.idIndex(job), start, end);
+        }
+
+        private void add(int name, long start, long end) throws IOException {
+            if (name == tailName && tailEnd == start) {
+                tailEnd = end;
+                return;
+            }
+            if (tailName >= 0) {
+                if (chunkEntries == CHUNK)
+                    flushChunk();
+                chunkName[chunkEntries] = tailName;
+                chunkStart[chunkEntries] = tailStart;
+                chunkEnd[chunkEntries] = tailEnd;
+                chunkEntries++;
+            }
+            tailName = name;
+            tailStart = start;
+            tailEnd = end;
+        }
+
+        // one gantt section per chunk, encoded like the gantt section of a schedule
+        private void flushChunk() throws IOException {
+            if (chunkEntries == 0)
+                return;
+            int length = 0;
+            long prevEnd = 0;
+            for (int i = 0; i < chunkEntries; i++) {
+                if (encoded.length - length < 30)
+                    encoded = Arrays.copyOf(encoded, encoded.length << 1);
+                length = putUvarint(encoded, length, chunkName[i]);
+                length = putUvarint(encoded, length, zigzag(chunkStart[i] - prevEnd));
+                length = putUvarint(encoded, length, zigzag(chunkEnd[i] - chunkStart[i]));
+                prevEnd = chunkEnd[i];
+            }
+            if (log == null)
+                log = Files.createTempFile(file.getParent(), file.getFileName() + ".", ".gantt");
+            try (Output out = new Output(log, logBytes)) {
+                if (logBytes == 0)
+                    out.header(KIND_GANTT_LOG);
+                out.beginSection(TAG_GANTT);
+                out.uvarint(chunkEntries);
+                out.bytes(encoded, 0, length);
+                out.endSection();
+                logBytes = out.position();
+            }
+            logged += chunkEntries;
+            chunkEntries = 0;
+        }
+
+        /** Writes {@code snap}; its timeline is the one reported to this writer, not {@code snap.gantt}. */
+        public void write(RoundRobinSnapshot snap) throws IOException {
+            ExecutionState state = snap.state;
+            if (state.size() != w.size())
+                throw new IllegalArgumentException("snapshot state does not match the workload");
+            boolean fresh = log == null;
+            flushChunk();
+
+            Path tmp = Files.createTempFile(file.getParent(), file.getFileName() + ".", ".tmp");
+            try {
+                try (Output out = new Output(tmp)) {
+                    out.header(KIND_SNAPSHOT);
+
+                    out.beginSection(TAG_SNAPSHOT);
+                    out.string(snap.config);
+                    out.string(snap.fingerprint);
+                    out.zigzag(snap.time);
+                    out.zigzag(snap.totalBusy);
+                    out.uvarint(snap.finished);
+                    out.uvarint(snap.nextArrival);
+                    out.zigzag(snap.last);
+                    out.zigzag(state.ioBusyTime());
+                    out.zigzag(state.ioBusyUntil());
+                    out.endSection();
+
+                    // times relative to arrival and start keep the varints short; -1 means not yet
+                    out.beginSection(TAG_JOB_STATE);
+                    out.uvarint(w.size());
+                    for (int i = 0; i < w.size(); i++) {
+                        long start = state.start(i);
+                        long completion = state.completion(i);
+                        out.uvarint(state.remaining(i));
+                        out.zigzag(start == -1 ? -1 : start - w.arrival(i));
+                        out.zigzag(completion == -1 ? -1 : completion - start);
+                        if (w.hasIo()) {
+                            out.uvarint(state.phase(i));
+                            out.uvarint(state.burstRemaining(i));
+                        }
+                    }
+                    out.endSection();
+
+                    out.beginSection(TAG_QUEUES);
+                    out.uvarint(snap.ready.length);
+                    for (int job : snap.ready)
+                        out.uvarint(job);
+                    out.uvarint(snap.blocked.length);
+                    for (int i = 0; i < snap.blocked.length; i++) {
+                        out.uvarint(snap.blocked[i]);
+                        out.zigzag(snap.wakeAt[i]);
+                    }
+                    out.endSection();
+
+                    out.beginSection(TAG_GANTT_LOG);
+                    out.string(log == null ? "" : log.getFileName().toString());
+                    out.uvarint(logged);
+                    out.uvarint(logBytes);
+                    out.endSection();
+
+                    out.beginSection(TAG_GANTT);
+                    if (tailName < 0) {
+                        out.uvarint(0);
+                    } else {
+                        out.uvarint(1);
+                        out.uvarint(tailName);
+                        out.zigzag(tailStart);
+                        out.zigzag(tailEnd - tailStart);
+                    }
+                    out.endSection();
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            // the snapshot this one replaced may have had its own log
+            if (fresh)
+                deleteLogs(log);
+        }
+
+        /** Removes the snapshot and its log, e.g. once the run is complete. */
+        public void delete() throws IOException {
+            Files.deleteIfExists(file);
+            deleteLogs(null);
+            log = null;
+            logged = 0;
+            logBytes = 0;
+            chunkEntries = 0;
+            tailName = -1;
+        }
+
+        private void deleteLogs(Path keep) throws IOException {
+            String prefix = file.getFileName() + ".";
+            List<Path> stale = new ArrayList<>();
+            try (DirectoryStream<Path> ds = Files.newDirectoryStream(file.getParent())) {
+                for (Path p : ds) {
+                    String name = p.getFileName().toString();
+                    if (name.startsWith(prefix) && name.endsWith(".gantt") && !p.equals(keep))
+                        stale.add(p);
+                }
+            }
+            for (Path p : stale)
+                Files.deleteIfExists(p);
+        }
+
+        private static long zigzag(long v) {
+            return (v << 1) ^ (v >> 63);
+        }
+
+        private static int putUvarint(byte[] b, int at, long v) {
+            while ((v & ~0x7FL) != 0) {
+                b[at++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            b[at++] = (byte) v;
+            return at;
+        }
+    }
+
+    /**
+     * Reads a snapshot taken for {@code w}, along with the part of its
+     * timeline log it covers. Whether it was taken for this very workload is
+     * up to the caller, by comparing {@link RoundRobinSnapshot#fingerprint}.
+     */
+    public static RoundRobinSnapshot readSnapshot(Path path, Workload w) throws IOException {
+        String[] names = new String[w.distinctIds()];
+        for (int i = 0; i < names.length; i++)
+            names[i] = w.name(i);
+        try (Input in = new Input(path)) {
+            in.header(KIND_SNAPSHOT);
+            String config = null, fingerprint = null;
+            long time = 0, totalBusy = 0;
+            int finished = 0, nextArrival = 0, last = -1;
+            ExecutionState state = null;
+            long ioBusy = 0, ioBusyUntil = 0;
+            int[] ready = null, blocked = null;
+            long[] wakeAt = null;
+            String logName = null;
+            int logged = 0;
+            long logBytes = 0;
+            List<GanttEntry> tail = null;
+            while (in.hasMore()) {
+                int tag = in.u8();
+                long len = in.u64();
+                switch (tag) {
+                    case TAG_SNAPSHOT:
+                        config = in.string();
+                        fingerprint = in.string();
+                        time = in.zigzagLong();
+                        totalBusy = in.zigzagLong();
+                        finished = in.count();
+                        nextArrival = in.count();
+                        last = in.zigzag();
+                        ioBusy = in.zigzagLong();
+                        ioBusyUntil = in.zigzagLong();
+                        break;
+                    case TAG_JOB_STATE: {
+                        int n = in.count();
+                        if (n != w.size())
+                            throw new IOException("snapshot has " + n + " jobs, workload has " + w.size());
+                        state = w.newExecutionState();
+                        for (int i = 0; i < n; i++) {
+                            int remaining = in.uvarint();
+                            long start = in.zigzagLong();
+                            long completion = in.zigzagLong();
+                            if (start != -1)
+                                start += w.arrival(i);
+                            if (completion != -1)
+                                completion += start;
+                            int phase = 0, burstLeft = remaining;
+                            if (w.hasIo()) {
+                                phase = in.uvarint();
+                                burstLeft = in.uvarint();
+                            }
+                            state.restore(i, remaining, start, completion, phase, burstLeft);
+                        }
+                        break;
+                    }
+                    case TAG_QUEUES: {
+                        ready = new int[in.count()];
+                        for (int i = 0; i < ready.length; i++)
+                            ready[i] = job(in.uvarint(), w);
+                        int k = in.count();
+                        blocked = new int[k];
+                        wakeAt = new long[k];
+                        for (int i = 0; i < k; i++) {
+                            blocked[i] = job(in.uvarint(), w);
+                            wakeAt[i] = in.zigzagLong();
+                        }
+                        break;
+                    }
+                    case TAG_GANTT_LOG:
+                        logName = in.string();
+                        logged = in.count();
+                        logBytes = in.uvarintLong();
+                        break;
+                    case TAG_GANTT:
+                        tail = readGantt(in, names);
+                        break;
+                    default:
+                        in.skip(len);
+                }
+            }
+            if (config == null || state == null || ready == null || logName == null || tail == null)
+                throw new IOException("incomplete snapshot");
+            if (nextArrival > w.size() || finished > w.size() || last >= w.size())
+                throw new IOException("snapshot position out of range");
+            state.restoreIo(ioBusy, ioBusyUntil);
+
+            List<GanttEntry> gantt = new ArrayList<>(logged + tail.size());
+            if (logBytes > 0)
+                readGanttLog(path.toAbsolutePath().resolveSibling(logName), logBytes, names, gantt);
+            if (gantt.size() != logged)
+                throw new IOException("gantt log holds " + gantt.size() + " entries, snapshot expects " + logged);
+            gantt.addAll(tail);
+            return new RoundRobinSnapshot(config, fingerprint, time, totalBusy, finished, nextArrival, last, ready,
+                    blocked, wakeAt, state, gantt);
+        }
+    }
+
+    // the first {@code length} bytes of a log: a header, then one gantt section per append
+    private static void readGanttLog(Path log, long length, String[] names, List<GanttEntry> into)
+            throws IOException {
+        try (Input in = new Input(log, length)) {
+            in.header(KIND_GANTT_LOG);
+            while (in.hasMore()) {
+                int tag = in.u8();
+                long len = in.u64();
+                if (tag == TAG_GANTT)
+                    into.addAll(readGantt(in, names));
+                else
+                    in.skip(len);
+            }
+        }
+    }
+
+    private static int job(int index, Workload w) throws IOException {
+        if (index >= w.size())
+            throw new IOException("job index out of range: " + index);
+        return index;
+    }
+
+    // ids by name index, starts as deltas from the previous entry's end
+    private static void writeGantt(Output out, List<GanttEntry> gantt, Map<String, Integer> index)
+            throws IOException {
+        out.beginSection(TAG_GANTT);
+        out.uvarint(gantt.size());
+        long prevEnd = 0;
+        for (GanttEntry e : gantt) {
+            out.uvarint(index.get(e.id));
+            out.zigzag(e.start - prevEnd);
+            out.zigzag(e.end - e.start);
+            prevEnd = e.end;
+        }
+        out.endSection();
+    }
+
+    private static List<GanttEntry> readGantt(Input in, String[] ids) throws IOException {
+        int n = in.count();
+        List<GanttEntry> gantt = new ArrayList<>(n);
+        long prevEnd = 0;
+        for (int i = 0; i < n; i++) {
+            int idx = in.uvarint();
+            if (idx >= ids.length)
+                throw new IOException("name index out of range: " + idx);
+            long s = prevEnd + in.zigzagLong();
+            long e = s + in.zigzagLong();
+            gantt.add(new GanttEntry(ids[idx], s, e));
+            prevEnd = e;
+        }
+        return gantt;
+    }
+
+    private static void writeJobs(Output out, Workload w) throws IOException {
+        out.beginSection(TAG_JOBS);
+        out.uvarint(w.size());
+        long prevArrival = 0;
+        for (int i = 0; i < w.size(); i++) {
+            out.uvarint(w.idIndex(i));
+            out.zigzag(w.priority(i));
+            out.zigzag(w.arrival(i) - prevArrival);
+            out.zigzag(w.burst(i));
+            prevArrival = w.arrival(i);
+        }
+        out.endSection();
+        if (w.hasIo()) {
+            List<int[]> bursts = new ArrayList<>(w.size());
+            for (int i = 0; i < w.size(); i++)
+                bursts.add(w.bursts(i));
+            writePhases(out, bursts);
+        }
+    }
+
+    // CPU/I-O bursts per job, only for workloads that have any; a plain job is written as 0
+    private static void writePhases(Output out, List<int[]> bursts) throws IOException {
+        out.beginSection(TAG_PHASES);
+        out.uvarint(bursts.size());
+        for (int[] b : bursts) {
+            out.uvarint(b.length == 1 ? 0 : b.length);
+            if (b.length > 1)
+                for (int v : b)
+                    out.uvarint(v);
+        }
+        out.endSection();
+    }
+
+    // rebuilds the workload read from the jobs section with the bursts of each job
+    private static Workload readPhases(Input in, Workload w) throws IOException {
+        int n = in.count();
+        if (n != w.size())
+            throw new IOException("phases section does not match jobs section");
+        Workload.Builder b = Workload.builder(n);
+        for (int i = 0; i < n; i++) {
+            int k = in.count();
+            if (k == 0) {
+                b.add(w.id(i), w.priority(i), w.arrival(i), w.burst(i));
+                continue;
+            }
+            int[] bursts = new int[k];
+            for (int j = 0; j < k; j++)
+                bursts[j] = in.uvarint();
+            try {
+                b.add(w.id(i), w.priority(i), w.arrival(i), bursts);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("invalid phases for job " + i + ": " + ex.getMessage());
+            }
+        }
+        return b.build();
+    }
+
+    private static Workload requireJobs(Workload w) throws IOException {
+        if (w == null)
+            throw new IOException("jobs section must precede phases");
+        return w;
+    }
+
+    private static Workload readJobs(Input in, String[] names) throws IOException {
+        int n = in.count();
+        Workload.Builder b = Workload.builder(n);
+        long arrival = 0;
+        for (int i = 0; i < n; i++) {
+            int idx = in.uvarint();
+            if (idx >= names.length)
+                throw new IOException("name index out of range: " + idx);
+            int priority = in.zigzag();
+            arrival += in.zigzagLong();
+            b.add(names[idx], priority, arrival, in.zigzag());
+        }
+        return b.build();
+    }
+
+    private static TimeUnit readTimeUnit(Input in) throws IOException {
+        String name = in.string();
+        try {
+            return TimeUnit.valueOf(name);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("unknown time unit: " + name);
+        }
+    }
+
+    private static String[] readNames(Input in) throws IOException {
+        String[] names = new String[in.count()];
+        for (int i = 0; i < names.length; i++)
+            names[i] = in.string();
+        return names;
+    }
+
+    private static String[] requireNames(String[] names) throws IOException {
+        if (names == null)
+            throw new IOException("names section must precede its users");
+        return names;
+    }
+
+    private static void intern(String id, Map<String, Integer> index, List<String> names) {
+        if (!index.containsKey(id)) {
+            index.put(id, names.size());
+            names.add(id);
+        }
+    }
+
+    /** Buffered channel writer; section lengths are patched in after the payload. */
+    private static final class Output implements AutoCloseable {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20);
+        private long sectionLengthPos = -1;
+
+        Output(Path path) throws IOException {
+            ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        // continues the file at {@code at}, dropping anything after it
+        Output(Path path, long at) throws IOException {
+            ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            ch.truncate(at);
+            ch.position(at);
+        }
+
+        void header(int kind) throws IOException {
+            for (byte b : MAGIC)
+                u8(b);
+            u8(VERSION);
+            u8(kind);
+        }
+
+        void beginSection(int tag) throws IOException {
+            u8(tag);
+            sectionLengthPos = position();
+            ensure(8);
+            buf.putLong(0L);
+        }
+
+        void endSection() throws IOException {
+            flush();
+            long len = ch.position() - sectionLengthPos - 8;
+            ch.write(ByteBuffer.allocate(8).putLong(0, len), sectionLengthPos);
+        }
+
+        long position() throws IOException {
+            return ch.position() + buf.position();
+        }
+
+        void u8(int v) throws IOException {
+            ensure(1);
+            buf.put((byte) v);
+        }
+
+        void f64(double v) throws IOException {
+            ensure(8);
+            buf.putDouble(v);
+        }
+
+        void uvarint(long v) throws IOException {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            buf.put((byte) v);
+        }
+
+        // same bytes as the 32-bit encoding for any value that fits an int
+        void zigzag(long v) throws IOException {
+            uvarint((v << 1) ^ (v >> 63));
+        }
+
+        void string(String s) throws IOException {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            uvarint(bytes.length);
+            bytes(bytes, 0, bytes.length);
+        }
+
+        void bytes(byte[] b, int off, int len) throws IOException {
+            int end = off + len;
+            while (off < end) {
+                if (!buf.hasRemaining())
+                    flush();
+                int n = Math.min(buf.remaining(), end - off);
+                buf.put(b, off, n);
+                off += n;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buf.remaining() < bytes)
+                flush();
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining())
+                ch.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                ch.close();
+            }
+        }
+    }
+
+    /** Decodes directly from read-only mapped windows of the file. */
+    private static final class Input implements AutoCloseable {
+        private static final long WINDOW = 1L << 30;
+
+        private final FileChannel ch;
+        private final long size;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        Input(Path path) throws IOException {
+            ch = FileChannel.open(path, StandardOpenOption.READ);
+            size = ch.size();
+            map(0);
+        }
+
+        // only the first {@code length} bytes, which must exist
+        Input(Path path, long length) throws IOException {
+            ch = FileChannel.open(path, StandardOpenOption.READ);
+            if (ch.size() < length) {
+                ch.close();
+                throw new IOException(path.getFileName() + " is shorter than expected");
+            }
+            size = length;
+            map(0);
+        }
+
+        private void map(long at) throws IOException {
+            windowStart = at;
+            window = ch.map(FileChannel.MapMode.READ_ONLY, at, Math.min(WINDOW, size - at));
+        }
+
+        void header(int expectedKind) throws IOException {
+            for (byte b : MAGIC)
+                if (u8() != (b & 0xFF))
+                    throw new IOException("not a workload/schedule binary file");
+            int version = u8();
+            if (version != VERSION)
+                throw new IOException("unsupported format version " + version);
+            int kind = u8();
+            if (kind != expectedKind)
+                throw new IOException("expected file kind " + expectedKind + " but found " + kind);
+        }
+
+        boolean hasMore() {
+            return windowStart + window.position() < size;
+        }
+
+        int u8() throws IOException {
+            if (!window.hasRemaining()) {
+                long at = windowStart + window.position();
+                if (at >= size)
+                    throw new IOException("unexpected end of file");
+                map(at);
+            }
+            return window.get() & 0xFF;
+        }
+
+        long u64() throws IOException {
+            long v = 0;
+            for (int i = 0; i < 8; i++)
+                v = (v << 8) | u8();
+            return v;
+        }
+
+        double f64() throws IOException {
+            return Double.longBitsToDouble(u64());
+        }
+
+        int uvarint() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = u8();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    if (v > 0xFFFFFFFFL)
+                        break;
+                    return (int) v;
+                }
+            }
+            throw new IOException("malformed varint");
+        }
+
+        long uvarintLong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = u8();
+                if (shift == 63 && (b & 0x7E) != 0)
+                    break;
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0)
+                    return v;
+            }
+            throw new IOException("malformed varint");
+        }
+
+        int count() throws IOException {
+            int n = uvarint();
+            if (n < 0)
+                throw new IOException("negative count");
+            return n;
+        }
+
+        int zigzag() throws IOException {
+            int v = uvarint();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        long zigzagLong() throws IOException {
+            long v = uvarintLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+
+        String string() throws IOException {
+            byte[] bytes = new byte[count()];
+            for (int i = 0; i < bytes.length; i++)
+                bytes[i] = (byte) u8();
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void skip(long len) throws IOException {
+            long target = windowStart + window.position() + len;
+            if (target > size)
+                throw new IOException("section runs past end of file");
+            map(target);
+        }
+
+        @Override
+        public void close() throws IOException {
+            ch.close();
+        }
+    }
+}
@@ -1,33 +1,123 @@
 package util;
 
+import model.JobSpec;
 import model.Process;
+import model.Workload;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public class CSVLoader {
-    // CSV format: id,priority,arrival,burst
+    // CSV format: id,priority,arrival,burst[,io,burst]...
     public static List<Process> load(String path) throws IOException {
         List<Process> out = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(path))) {
             String line;
             while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#"))
-                    continue;
-                String[] parts = line.split(",");
-                if (parts.length < 4)
-                    continue;
-                String id = parts[0].trim();
-                int pr = Integer.parseInt(parts[1].trim());
-                int at = Integer.parseInt(parts[2].trim());
-                int b = Integer.parseInt(parts[3].trim());
-                out.add(new Process(id, pr, at, b));
+                Process p = parseLine(line);
+                if (p != null)
+                    out.add(p);
             }
         }
         return out;
     }
+
+    /** Like {@link #load} but straight into a workload; see {@link #loadWorkload(BufferedReader)}. */
+    public static Workload loadWorkload(String path) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+            return loadWorkload(br);
+        }
+    }
+
+    /**
+     * Reads every line of {@code reader} into a workload. Each job goes to the
+     * builder as its line is parsed, so the fingerprint is hashed in this loop
+     * and no {@link Process} objects are made. The caller owns (and closes)
+     * the reader.
+     */
+    public static Workload loadWorkload(BufferedReader reader) throws IOException {
+        Workload.Builder b = Workload.builder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = fields(line);
+            if (parts == null)
+                continue;
+            String id = parts[0].trim();
+            int pr = Integer.parseInt(parts[1].trim());
+            long at = Long.parseLong(parts[2].trim());
+            if (parts.length == 4)
+                b.add(id, pr, at, Integer.parseInt(parts[3].trim()));
+            else
+                b.add(id, pr, at, bursts(parts));
+        }
+        return b.build();
+    }
+
+    /**
+     * Lazily parses processes from {@code reader}, one line per
+     * {@code next()}; nothing is buffered beyond the reader itself, so this
+     * works on unbounded input such as a tailed log. The caller owns (and
+     * closes) the reader.
+     */
+    public static Iterator<Process> iterate(BufferedReader reader) {
+        return new Iterator<Process>() {
+            private Process next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    String line;
+                    while (next == null && (line = reader.readLine()) != null)
+                        next = parseLine(line);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return next != null;
+            }
+
+            @Override
+            public Process next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                Process p = next;
+                next = null;
+                return p;
+            }
+        };
+    }
+
+    // returns null for blank, comment and short lines
+    private static Process parseLine(String line) {
+        String[] parts = fields(line);
+        if (parts == null)
+            return null;
+        String id = parts[0].trim();
+        int pr = Integer.parseInt(parts[1].trim());
+        long at = Long.parseLong(parts[2].trim());
+        if (parts.length == 4)
+            return new Process(id, pr, at, Integer.parseInt(parts[3].trim()));
+        return new Process(new JobSpec(id, pr, at, bursts(parts)));
+    }
+
+    private static String[] fields(String line) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#"))
+            return null;
+        String[] parts = line.split(",");
+        return parts.length < 4 ? null : parts;
+    }
+
+    // the burst and trailing io,burst pairs
+    private static int[] bursts(String[] parts) {
+        int[] bursts = new int[parts.length - 3];
+        for (int k = 0; k < bursts.length; k++)
+            bursts[k] = Integer.parseInt(parts[k + 3].trim());
+        return bursts;
+    }
 }
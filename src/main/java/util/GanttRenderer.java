@@ -2,36 +2,108 @@ package util;
 
 import fcfs.GanttEntry;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 
+/**
+ * One-line ASCII timeline (one line per CPU for multi-CPU schedules), at most
+ * {@code width} columns wide. Each column covers the same slice of time and
+ * shows the first two characters of the id that covers most of it, so slices
+ * shorter than a column are aggregated instead of each taking a full column.
+ *
+ * A single-CPU schedule with a makespan up to {@code width} keeps the
+ * original rendering: entries in list order, each time unit printed as the
+ * id's first two characters, and zero-length entries shown once.
+ */
 public class GanttRenderer {
+    public static final int DEFAULT_WIDTH = 120;
+
     public static void render(List<GanttEntry> gantt) {
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+        try {
+            render(gantt, out, DEFAULT_WIDTH);
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static void render(List<GanttEntry> gantt, Writer out, int width) throws IOException {
+        if (width <= 0)
+            throw new IllegalArgumentException("width > 0");
         if (gantt.isEmpty()) {
-            System.out.println("<empty gantt>");
+            out.write("<empty gantt>\n");
             return;
         }
-        int makespan = gantt.get(gantt.size() - 1).end;
-
-        // Build a simple timeline with one char per unit time (suitable for small
-        // makespans)
-        int scale = Math.max(1, makespan / 120); // cap width ~120
-        StringBuilder line = new StringBuilder();
+        // entries of a multi-CPU schedule are grouped by CPU, not sorted by time
+        long makespan = 0;
+        int cpus = 1;
+        int labelWidth = 1;
         for (GanttEntry e : gantt) {
-            int len = Math.max(1, (e.end - e.start) / scale);
-            String bar = repeat(getLabel(e.id), len);
-            line.append(bar);
+            makespan = Math.max(makespan, e.end);
+            cpus = Math.max(cpus, e.cpu + 1);
+            labelWidth = Math.max(labelWidth, Math.min(2, e.id.length()));
         }
-        System.out.println(line.toString());
-    }
+        if (cpus == 1 && makespan <= width) {
+            StringBuilder line = new StringBuilder((int) makespan * 2 + 16);
+            for (GanttEntry e : gantt) {
+                int len = Math.min(2, e.id.length());
+                for (long unit = Math.max(1, e.end - e.start); unit > 0; unit--)
+                    line.append(e.id, 0, len);
+            }
+            line.append('\n');
+            out.append(line);
+            return;
+        }
+        long scale = Math.max(1, (makespan + width - 1) / width);
+        int columns = (int) Math.max(1, (makespan + scale - 1) / scale);
 
-    private static String getLabel(String id) {
-        return id.length() > 1 ? id.substring(0, 2) : id;
-    }
+        String[][] best = new String[cpus][columns];
+        long[][] bestCover = new long[cpus][columns];
+        // coverage of the id seen last in a column, so split slices of one id add up
+        String[] lastId = new String[cpus];
+        int[] lastCol = new int[cpus];
+        long[] lastCover = new long[cpus];
+        for (GanttEntry e : gantt) {
+            if (e.end <= e.start)
+                continue;
+            int c = e.cpu;
+            int lastColumn = (int) ((e.end - 1) / scale);
+            for (int col = (int) (e.start / scale); col <= lastColumn; col++) {
+                long from = Math.max(e.start, col * scale);
+                long to = Math.min(e.end, (col + 1) * scale);
+                long cover = to - from;
+                if (col == lastCol[c] && e.id.equals(lastId[c]))
+                    cover += lastCover[c];
+                lastId[c] = e.id;
+                lastCol[c] = col;
+                lastCover[c] = cover;
+                if (cover > bestCover[c][col]) {
+                    bestCover[c][col] = cover;
+                    best[c][col] = e.id;
+                }
+            }
+        }
 
-    private static String repeat(String s, int times) {
-        StringBuilder b = new StringBuilder();
-        for (int i = 0; i < times; i++)
-            b.append(s);
-        return b.toString();
+        StringBuilder line = new StringBuilder(columns * labelWidth + 16);
+        for (int c = 0; c < cpus; c++) {
+            line.setLength(0);
+            if (cpus > 1)
+                line.append("CPU ").append(c).append(": ");
+            for (int col = 0; col < columns; col++) {
+                String id = best[c][col];
+                int len = id == null ? 0 : Math.min(labelWidth, id.length());
+                if (len > 0)
+                    line.append(id, 0, len);
+                for (int pad = labelWidth - len; pad > 0; pad--)
+                    line.append(' ');
+            }
+            line.append('\n');
+            out.append(line);
+        }
     }
 }
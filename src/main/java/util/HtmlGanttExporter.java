@@ -2,39 +2,440 @@ package util;
 
 import fcfs.GanttEntry;
 import fcfs.ScheduleResult;
+import model.Process;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.util.List;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Writes a schedule as a standalone HTML page with one lane per process (or
+ * per CPU), streamed through a buffered writer as it is produced.
+ *
+ * Output size depends on the picture, not on the schedule: time is binned
+ * into pixel columns and every column of a row is painted with the id that
+ * covers most of it, with consecutive columns of the same id merged into one
+ * rectangle. Opacity shows how busy the rectangle actually was. When there
+ * are more lanes than {@code maxRows}, neighbouring lanes share a row the same
+ * way. A row therefore costs at most {@code widthPx} rectangles however many
+ * slices it holds.
+ *
+ * The picture is either inline SVG or, for very busy charts, a canvas drawn
+ * by a small script from data emitted in chunks of {@value #CHUNK} rectangles.
+ */
 public class HtmlGanttExporter {
+    private static final int CHUNK = 8192;
+    private static final int LEFT = 90;
+    private static final int TOP = 10;
+    private static final int AXIS = 30;
+
+    public enum Lanes {
+        PROCESS, CPU
+    }
+
+    public enum Format {
+        SVG, CANVAS
+    }
+
+    public static final class Options {
+        public final Lanes lanes;
+        public final Format format;
+        public final int widthPx;
+        public final int maxRows;
+
+        public Options(Lanes lanes, Format format, int widthPx, int maxRows) {
+            if (widthPx <= 0 || maxRows <= 0)
+                throw new IllegalArgumentException("widthPx > 0, maxRows > 0");
+            this.lanes = lanes;
+            this.format = format;
+            this.widthPx = widthPx;
+            this.maxRows = maxRows;
+        }
+    }
+
+    public static final Options DEFAULT = new Options(Lanes.PROCESS, Format.SVG, 1600, 1000);
+
     public static void export(ScheduleResult r, String path) throws IOException {
-        List<GanttEntry> gantt = r.gantt;
-        int makespan = r.makespan;
-        int width = Math.min(1200, Math.max(600, makespan * 5));
-        int height = 100 + gantt.size() * 20;
+        export(r, Path.of(path), DEFAULT);
+    }
+
+    public static void export(ScheduleResult r, Path path, Options options) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+                Writer out = new BufferedWriter(Channels.newWriter(ch, StandardCharsets.UTF_8), 1 << 16)) {
+            export(r, out, options);
+        }
+    }
+
+    /** Writes the page to {@code out}; the caller owns (and closes) the writer. */
+    public static void export(ScheduleResult r, Writer out, Options options) throws IOException {
+        // lanes: distinct process ids in result order, or CPUs 0..max
+        Map<String, Integer> laneOf = new HashMap<>();
+        String[] laneNames;
+        if (options.lanes == Lanes.PROCESS) {
+            for (Process p : r.processes)
+                laneOf.putIfAbsent(p.getId(), laneOf.size());
+            laneNames = new String[laneOf.size()];
+            laneOf.forEach((id, lane) -> laneNames[lane] = id);
+        } else {
+            int cpus = 1;
+            for (GanttEntry e : r.gantt)
+                cpus = Math.max(cpus, e.cpu + 1);
+            laneNames = new String[cpus];
+            for (int c = 0; c < cpus; c++)
+                laneNames[c] = "CPU " + c;
+        }
+        int lanes = Math.max(1, laneNames.length);
+        int rows = Math.min(lanes, options.maxRows);
+        int rowHeight = Math.max(2, Math.min(20, 1000 / rows));
+        int width = LEFT + options.widthPx + 20;
+        int height = TOP + rows * rowHeight + AXIS;
+        double timePerPx = Math.max(1, r.makespan) / (double) options.widthPx;
+
+        Page page = options.format == Format.SVG ? new SvgPage(out, rowHeight) : new CanvasPage(out, rowHeight);
+        page.begin(width, height);
+        if (rowHeight >= 10 && rows == lanes) {
+            for (int lane = 0; lane < lanes; lane++)
+                page.label(lane, laneNames[lane]);
+        }
+        axis(page, r.makespan, options.widthPx, TOP + rows * rowHeight);
+
+        Row[] rowState = new Row[rows];
+        for (int i = 0; i < rows; i++)
+            rowState[i] = new Row(i, page);
+        for (GanttEntry e : r.gantt) {
+            int lane;
+            if (options.lanes == Lanes.CPU) {
+                if ("idle".equals(e.id))
+                    continue;
+                lane = e.cpu;
+            } else {
+                Integer l = laneOf.get(e.id);
+                if (l == null)
+                    continue; // idle and context switches have no process lane
+                lane = l;
+            }
+            int row = rows == lanes ? lane : (int) ((long) lane * rows / lanes);
+            rowState[row].add(e.id, e.start / timePerPx, e.end / timePerPx);
+        }
+        for (Row row : rowState)
+            row.finish();
+        page.end();
+    }
+
+    private static void axis(Page page, long makespan, int widthPx, int y) throws IOException {
+        // about ten ticks at a round step (1, 2 or 5 times a power of ten); divides only, spans reach 2^63
+        long span = Math.max(1, makespan);
+        long step = 1;
+        for (long base = 1; step == 1 && span / base > 10; base *= 10) {
+            long n = span / base;
+            if (n / 2 <= 10)
+                step = 2 * base;
+            else if (n / 5 <= 10)
+                step = 5 * base;
+            else if (n / 10 <= 10)
+                step = 10 * base;
+        }
+        for (long t = 0;; t += step) {
+            page.tick((int) (t * (double) widthPx / span), y, t);
+            if (t > span - step)
+                break;
+        }
+    }
+
+    /** Pixel-column binning for one row; see the class comment. */
+    private static final class Row {
+        final int row;
+        final Page page;
+        // column being filled
+        int px = -1;
+        String lastId;
+        double lastCover;
+        String bestId;
+        double bestCover;
+        double cover;
+        // open rectangle
+        int runStart = -1;
+        int runEnd;
+        String runId;
+        double runCover;
+
+        Row(int row, Page page) {
+            this.row = row;
+            this.page = page;
+        }
+
+        void add(String id, double x0, double x1) throws IOException {
+            int first = (int) x0;
+            int last = Math.max(first, (int) Math.ceil(x1) - 1);
+            if (first < px) {
+                // out of time order (e.g. a process hopping CPUs); start afresh
+                closeColumn();
+                flush();
+            }
+            if (first == last) {
+                column(first, id, x1 - x0);
+                return;
+            }
+            column(first, id, first + 1 - x0);
+            closeColumn();
+            if (last > first + 1)
+                extend(first + 1, last, id, last - first - 1);
+            column(last, id, x1 - last);
+        }
+
+        void column(int p, String id, double c) throws IOException {
+            if (p != px) {
+                closeColumn();
+                px = p;
+            }
+            if (id.equals(lastId)) {
+                lastCover += c;
+            } else {
+                lastId = id;
+                lastCover = c;
+            }
+            if (lastCover > bestCover) {
+                bestId = id;
+                bestCover = lastCover;
+            }
+            cover += c;
+        }
+
+        void closeColumn() throws IOException {
+            if (px >= 0 && cover > 0)
+                extend(px, px + 1, bestId, Math.min(1.0, cover));
+            px = -1;
+            lastId = null;
+            bestId = null;
+            lastCover = bestCover = cover = 0;
+        }
+
+        void extend(int from, int to, String id, double c) throws IOException {
+            if (runStart >= 0 && from == runEnd && id.equals(runId)) {
+                runEnd = to;
+                runCover += c;
+                return;
+            }
+            flush();
+            runStart = from;
+            runEnd = to;
+            runId = id;
+            runCover = c;
+        }
+
+        void flush() throws IOException {
+            if (runStart >= 0)
+                page.rect(runStart, row, runEnd - runStart, runId, runCover / (runEnd - runStart));
+            runStart = -1;
+        }
+
+        void finish() throws IOException {
+            closeColumn();
+            flush();
+        }
+    }
 
-        StringBuilder svg = new StringBuilder();
-        svg.append(String.format("<svg xmlns='http://www.w3.org/2000/svg' width='%d' height='%d'>", width, height));
-        int y = 20;
-        for (GanttEntry e : gantt) {
-            int x = (int) ((double) e.start / makespan * (width - 100));
-            int w = Math.max(2, (int) ((double) (e.end - e.start) / makespan * (width - 100)));
-            svg.append(String.format("<rect x='%d' y='%d' width='%d' height='16' fill='%s' />", x + 50, y, w,
-                    colorFor(e.id)));
-            svg.append(String.format("<text x='%d' y='%d' font-size='10'>%s</text>", x + 52, y + 12, e.id));
-            y += 20;
+    static int hue(String id) {
+        return Math.abs(id.hashCode() % 360);
+    }
+
+    static String escape(String s) {
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String rep = c == '<' ? "&lt;" : c == '>' ? "&gt;" : c == '&' ? "&amp;" : c == '\'' ? "&#39;"
+                    : c == '"' ? "&quot;" : null;
+            if (rep != null && sb == null)
+                sb = new StringBuilder(s.substring(0, i));
+            if (sb != null) {
+                if (rep != null)
+                    sb.append(rep);
+                else
+                    sb.append(c);
+            }
         }
-        svg.append("</svg>");
+        return sb == null ? s : sb.toString();
+    }
 
-        String html = "<html><body>" + svg.toString() + "</body></html>";
-        try (FileWriter fw = new FileWriter(path)) {
-            fw.write(html);
+    // body of a single-quoted JS literal that is safe inside a <script> element
+    static String jsString(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 8);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' || c == '\'')
+                sb.append('\\').append(c);
+            else if (c == '<' || c < ' ')
+                sb.append(String.format("\\u%04x", (int) c));
+            else
+                sb.append(c);
         }
+        return sb.toString();
     }
 
-    private static String colorFor(String id) {
-        int h = Math.abs(id.hashCode()) % 360;
-        return "hsl(" + h + ",70%,60%)";
+    private abstract static class Page {
+        final Writer out;
+        final int rowHeight;
+
+        Page(Writer out, int rowHeight) {
+            this.out = out;
+            this.rowHeight = rowHeight;
+        }
+
+        abstract void begin(int width, int height) throws IOException;
+
+        abstract void label(int row, String name) throws IOException;
+
+        abstract void tick(int x, int y, long time) throws IOException;
+
+        abstract void rect(int x, int row, int w, String id, double density) throws IOException;
+
+        abstract void end() throws IOException;
+
+        // opacity in percent; fully busy rectangles are drawn solid
+        static int alpha(double density) {
+            return density >= 0.995 ? 100 : Math.max(20, (int) Math.round(density * 100));
+        }
+    }
+
+    private static final class SvgPage extends Page {
+        SvgPage(Writer out, int rowHeight) {
+            super(out, rowHeight);
+        }
+
+        @Override
+        void begin(int width, int height) throws IOException {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset='utf-8'></head><body>\n");
+            out.write("<svg xmlns='http://www.w3.org/2000/svg' width='" + width + "' height='" + height
+                    + "' font-family='sans-serif' font-size='10'>\n");
+        }
+
+        @Override
+        void label(int row, String name) throws IOException {
+            out.write("<text x='4' y='" + (TOP + row * rowHeight + rowHeight - 5) + "'>" + escape(name)
+                    + "</text>\n");
+        }
+
+        @Override
+        void tick(int x, int y, long time) throws IOException {
+            out.write("<line x1='" + (LEFT + x) + "' y1='" + TOP + "' x2='" + (LEFT + x) + "' y2='" + (y + 4)
+                    + "' stroke='#ddd'/><text x='" + (LEFT + x) + "' y='" + (y + 16) + "' text-anchor='middle'>"
+                    + time + "</text>\n");
+        }
+
+        @Override
+        void rect(int x, int row, int w, String id, double density) throws IOException {
+            int a = alpha(density);
+            out.write("<rect x='");
+            out.write(Integer.toString(LEFT + x));
+            out.write("' y='");
+            out.write(Integer.toString(TOP + row * rowHeight + (rowHeight > 4 ? 1 : 0)));
+            out.write("' width='");
+            out.write(Integer.toString(w));
+            out.write("' height='");
+            out.write(Integer.toString(rowHeight > 4 ? rowHeight - 2 : rowHeight));
+            out.write("' fill='hsl(");
+            out.write(Integer.toString(hue(id)));
+            out.write(",70%,55%)'");
+            if (a < 100) {
+                out.write(" fill-opacity='0.");
+                out.write(a < 10 ? "0" + a : Integer.toString(a));
+                out.write('\'');
+            }
+            out.write("><title>");
+            out.write(escape(id));
+            out.write("</title></rect>\n");
+        }
+
+        @Override
+        void end() throws IOException {
+            out.write("</svg>\n</body></html>\n");
+        }
+    }
+
+    /**
+     * Rectangles become {@code x,row,width,hue,alpha} quintuples pushed in
+     * script chunks, so the browser parses and draws a bounded amount at a time.
+     */
+    private static final class CanvasPage extends Page {
+        private final int[] buf = new int[CHUNK * 5];
+        private int len;
+
+        CanvasPage(Writer out, int rowHeight) {
+            super(out, rowHeight);
+        }
+
+        @Override
+        void begin(int width, int height) throws IOException {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset='utf-8'></head><body>\n");
+            out.write("<canvas id='gantt' width='" + width + "' height='" + height + "'></canvas>\n");
+            out.write("<script>\nconst G = { rh: " + rowHeight + ", left: " + LEFT + ", top: " + TOP
+                    + ", labels: [], ticks: [], rects: [] };\n</script>\n");
+        }
+
+        @Override
+        void label(int row, String name) throws IOException {
+            out.write("<script>G.labels.push([" + row + ",'" + jsString(name) + "']);</script>\n");
+        }
+
+        @Override
+        void tick(int x, int y, long time) throws IOException {
+            out.write("<script>G.ticks.push([" + x + "," + y + "," + time + "]);</script>\n");
+        }
+
+        @Override
+        void rect(int x, int row, int w, String id, double density) throws IOException {
+            if (len == buf.length)
+                chunk();
+            buf[len++] = x;
+            buf[len++] = row;
+            buf[len++] = w;
+            buf[len++] = hue(id);
+            buf[len++] = alpha(density);
+        }
+
+        private void chunk() throws IOException {
+            if (len == 0)
+                return;
+            StringBuilder sb = new StringBuilder(len * 5 + 64);
+            sb.append("<script>G.rects.push(");
+            for (int i = 0; i < len; i++) {
+                if (i > 0)
+                    sb.append(',');
+                sb.append(buf[i]);
+            }
+            sb.append(");</script>\n");
+            out.append(sb);
+            len = 0;
+        }
+
+        @Override
+        void end() throws IOException {
+            chunk();
+            out.write("<script>\n"
+                    + "(function () {\n"
+                    + "  const c = document.getElementById('gantt').getContext('2d');\n"
+                    + "  c.font = '10px sans-serif';\n"
+                    + "  for (const [row, name] of G.labels) c.fillText(name, 4, G.top + row * G.rh + G.rh - 5);\n"
+                    + "  c.textAlign = 'center';\n"
+                    + "  for (const [x, y, t] of G.ticks) {\n"
+                    + "    c.fillStyle = '#ddd'; c.fillRect(G.left + x, G.top, 1, y - G.top + 4);\n"
+                    + "    c.fillStyle = '#000'; c.fillText(t, G.left + x, y + 16);\n"
+                    + "  }\n"
+                    + "  const pad = G.rh > 4 ? 1 : 0, r = G.rects;\n"
+                    + "  for (let i = 0; i < r.length; i += 5) {\n"
+                    + "    c.fillStyle = 'hsla(' + r[i + 3] + ',70%,55%,' + r[i + 4] / 100 + ')';\n"
+                    + "    c.fillRect(G.left + r[i], G.top + r[i + 1] * G.rh + pad, r[i + 2], G.rh - 2 * pad);\n"
+                    + "  }\n"
+                    + "})();\n"
+                    + "</script>\n</body></html>\n");
+        }
     }
 }
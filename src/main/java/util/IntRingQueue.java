@@ -0,0 +1,80 @@
+package util;
+
+import java.util.NoSuchElementException;
+
+/**
+ * FIFO of primitive ints backed by a power-of-two ring buffer. Enqueue and
+ * dequeue never allocate (apart from doubling when full), unlike a
+ * {@code LinkedList<Integer>} that allocates a node and a box per element.
+ */
+public final class IntRingQueue {
+    private int[] buf;
+    private int head;
+    private int size;
+
+    public IntRingQueue() {
+        this(16);
+    }
+
+    public IntRingQueue(int expectedSize) {
+        int cap = Integer.highestOneBit(Math.max(16, expectedSize - 1) << 1);
+        buf = new int[cap];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addLast(int v) {
+        if (size == buf.length)
+            grow();
+        buf[(head + size) & (buf.length - 1)] = v;
+        size++;
+    }
+
+    public int removeFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        int v = buf[head];
+        head = (head + 1) & (buf.length - 1);
+        size--;
+        return v;
+    }
+
+    public int removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        size--;
+        return buf[(head + size) & (buf.length - 1)];
+    }
+
+    public int peekFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return buf[head];
+    }
+
+    /** Element at {@code index} positions from the head. */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return buf[(head + index) & (buf.length - 1)];
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int[] next = new int[buf.length << 1];
+        for (int i = 0; i < size; i++)
+            next[i] = buf[(head + i) & (buf.length - 1)];
+        buf = next;
+        head = 0;
+    }
+}
@@ -0,0 +1,129 @@
+package util;
+
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import metrics.Histogram;
+import model.Process;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a {@link ScheduleResult} as one JSON object: the summary, the
+ * turnaround/waiting/response distributions, every job and (optionally) the
+ * timeline. Output is streamed entry by entry, so the caller's writer should
+ * be buffered; nothing is built up in memory.
+ *
+ * <pre>
+ * {"makespan":13,"avgTurnaround":8.6,...,"waiting":{"p50":..,"p99":..,"max":..},
+ *  "processes":[{"id":"P1","priority":1,"arrival":0,"burst":5,"start":0,"completion":13},...],
+ *  "gantt":[{"id":"P1","start":0,"end":2},...]}
+ * </pre>
+ *
+ * Gantt entries carry {@code cpu} and {@code level} only when they are not 0.
+ */
+public class JsonExporter {
+
+    public static void write(ScheduleResult r, Writer out) throws IOException {
+        write(r, out, true);
+    }
+
+    public static void write(ScheduleResult r, Writer out, boolean gantt) throws IOException {
+        out.write("{\"makespan\":");
+        out.write(Long.toString(r.makespan));
+        field(out, "avgTurnaround", r.avgTurnaround);
+        field(out, "avgWaiting", r.avgWaiting);
+        field(out, "cpuUtilizationPercent", r.cpuUtilizationPercent);
+        field(out, "ioUtilizationPercent", r.ioUtilizationPercent);
+        histogram(out, "turnaround", r.metrics.turnaround);
+        histogram(out, "waiting", r.metrics.waiting);
+        histogram(out, "response", r.metrics.response);
+
+        out.write(",\"processes\":[");
+        boolean first = true;
+        for (Process p : r.processes) {
+            if (!first)
+                out.write(',');
+            first = false;
+            out.write("{\"id\":");
+            string(out, p.getId());
+            out.write(",\"priority\":" + p.getPriority());
+            out.write(",\"arrival\":" + p.getArrivalTime());
+            out.write(",\"burst\":" + p.getOriginalBurst());
+            out.write(",\"start\":" + p.getStartTime());
+            out.write(",\"completion\":" + p.getCompletionTime());
+            out.write('}');
+        }
+        out.write(']');
+
+        if (gantt) {
+            out.write(",\"gantt\":[");
+            first = true;
+            for (GanttEntry e : r.gantt) {
+                if (!first)
+                    out.write(',');
+                first = false;
+                out.write("{\"id\":");
+                string(out, e.id);
+                out.write(",\"start\":" + e.start);
+                out.write(",\"end\":" + e.end);
+                if (e.cpu != 0)
+                    out.write(",\"cpu\":" + e.cpu);
+                if (e.level != 0)
+                    out.write(",\"level\":" + e.level);
+                out.write('}');
+            }
+            out.write(']');
+        }
+        out.write("}\n");
+    }
+
+    // JSON has no NaN or infinity; averages over no jobs come out as null
+    private static void field(Writer out, String name, double v) throws IOException {
+        out.write(",\"" + name + "\":");
+        out.write(Double.isFinite(v) ? Double.toString(v) : "null");
+    }
+
+    private static void histogram(Writer out, String name, Histogram h) throws IOException {
+        out.write(",\"" + name + "\":{\"count\":" + h.count());
+        if (h.count() > 0) {
+            out.write(",\"min\":" + h.min());
+            out.write(",\"p50\":" + h.p50());
+            out.write(",\"p90\":" + h.p90());
+            out.write(",\"p99\":" + h.p99());
+            out.write(",\"p999\":" + h.p999());
+            out.write(",\"max\":" + h.max());
+        }
+        out.write('}');
+    }
+
+    private static void string(Writer out, String s) throws IOException {
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20)
+                        out.write(String.format("\\u%04x", (int) c));
+                    else
+                        out.write(c);
+            }
+        }
+        out.write('"');
+    }
+}
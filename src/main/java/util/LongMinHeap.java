@@ -0,0 +1,108 @@
+package util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of {@code (long key, int value)} pairs kept in two parallel
+ * primitive arrays, so the heap never boxes. Ordering follows the key, then
+ * the value, which keeps ties between events at one tick deterministic.
+ */
+public final class LongMinHeap {
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongMinHeap() {
+        this(16);
+    }
+
+    public LongMinHeap(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(long key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length << 1);
+            values = Arrays.copyOf(values, values.length << 1);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(key, value, keys[parent], values[parent]))
+                break;
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /** Smallest key, or {@code Long.MAX_VALUE} when the heap is empty. */
+    public long minKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[0];
+    }
+
+    public int minValue() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return values[0];
+    }
+
+    /** Removes the smallest pair and returns its value. */
+    public int poll() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        int top = values[0];
+        long lastKey = keys[--size];
+        int lastValue = values[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && less(keys[child + 1], values[child + 1], keys[child], values[child]))
+                child++;
+            if (!less(keys[child], values[child], lastKey, lastValue))
+                break;
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = lastKey;
+        values[i] = lastValue;
+        return top;
+    }
+
+    /** Key at {@code index} in heap-array order, for copying the contents out. */
+    public long keyAt(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return keys[index];
+    }
+
+    /** Value paired with {@link #keyAt}. */
+    public int valueAt(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return values[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private static boolean less(long k1, int v1, long k2, int v2) {
+        return k1 < k2 || (k1 == k2 && v1 < v2);
+    }
+}
@@ -23,16 +23,16 @@ public class MainRoundRobin {
         List<String[]> rows = new ArrayList<>();
         String[] headers = new String[] { "ID", "Arr", "Burst", "Start", "Completion", "Turnaround", "Waiting" };
         for (Process p : r.processes) {
-            int turnaround = p.getCompletionTime() - p.getArrivalTime();
-            int waiting = turnaround - p.getOriginalBurst();
+            long turnaround = p.getCompletionTime() - p.getArrivalTime();
+            long waiting = turnaround - p.getOriginalBurst();
             rows.add(new String[] {
                     p.getId(),
-                    Integer.toString(p.getArrivalTime()),
+                    Long.toString(p.getArrivalTime()),
                     Integer.toString(p.getOriginalBurst()),
-                    Integer.toString(p.getStartTime()),
-                    Integer.toString(p.getCompletionTime()),
-                    Integer.toString(turnaround),
-                    Integer.toString(waiting)
+                    Long.toString(p.getStartTime()),
+                    Long.toString(p.getCompletionTime()),
+                    Long.toString(turnaround),
+                    Long.toString(waiting)
             });
         }
 
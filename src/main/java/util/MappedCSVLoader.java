@@ -0,0 +1,326 @@
+package util;
+
+import model.Process;
+import model.Workload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * High-throughput loader for the same {@code id,priority,arrival,burst[,io,burst]...}
+ * format as {@link CSVLoader}. The file is memory-mapped, split into chunks at line
+ * boundaries and the chunks are parsed in parallel. Integers are parsed
+ * straight from the mapped bytes; the only String created per line is the id.
+ * A first parallel pass counts each chunk's lines, and every chunk then fills
+ * its own slot range of one shared {@link Workload.RangeBuilder}, so the
+ * columns are allocated once at their final size.
+ *
+ * Blank lines, {@code #} comments and lines with fewer than four fields are
+ * skipped like CSVLoader does, and like it, empty fields at the end of a line
+ * are ignored. A field that is not a valid integer fails the
+ * load with a {@link MalformedLineException} carrying the 1-based line number,
+ * as does an I/O burst without a CPU burst after it or a non-positive phase.
+ */
+public class MappedCSVLoader {
+    // a single mapping is limited to 2 GB; stay well below it
+    private static final long MAX_CHUNK_BYTES = 256L << 20;
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+
+    public static class MalformedLineException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final long lineNumber;
+
+        public MalformedLineException(long lineNumber, String message) {
+            super("line " + lineNumber + ": " + message);
+            this.lineNumber = lineNumber;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+    }
+
+    public static List<Process> load(String path) throws IOException {
+        return loadWorkload(Path.of(path)).toProcesses();
+    }
+
+    public static Workload loadWorkload(String path) throws IOException {
+        return loadWorkload(Path.of(path));
+    }
+
+    public static Workload loadWorkload(Path path) throws IOException {
+        return loadWorkload(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism target number of chunks; the actual count also depends
+     *                    on the file size (at least 1 MB, at most 256 MB each)
+     */
+    public static Workload loadWorkload(Path path, int parallelism) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            long[] bounds = chunkBounds(ch, size, Math.max(1, parallelism));
+            int chunks = bounds.length - 1;
+
+            // every line could be a job, so a chunk's line count is its slot count
+            MappedByteBuffer[] bufs = new MappedByteBuffer[chunks];
+            int[] lines = new int[chunks];
+            IOException[] mapErrors = new IOException[chunks];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                try {
+                    bufs[c] = ch.map(FileChannel.MapMode.READ_ONLY, bounds[c], bounds[c + 1] - bounds[c]);
+                    lines[c] = countLines(bufs[c]);
+                } catch (IOException ex) {
+                    mapErrors[c] = ex;
+                }
+            });
+            long totalLines = 0;
+            for (int c = 0; c < chunks; c++) {
+                if (mapErrors[c] != null)
+                    throw mapErrors[c];
+                totalLines += lines[c];
+            }
+            if (totalLines > Integer.MAX_VALUE - 8)
+                throw new IOException(totalLines + " lines, more than a workload can hold");
+
+            Workload.RangeBuilder b = Workload.rangeBuilder(lines);
+            Chunk[] parsed = new Chunk[chunks];
+            IntStream.range(0, chunks).parallel().forEach(c -> parsed[c] = parse(bufs[c], b.range(c)));
+
+            // line numbers are chunk-local until offset by the preceding chunks
+            long lineOffset = 0;
+            for (int c = 0; c < chunks; c++) {
+                Chunk chunk = parsed[c];
+                if (chunk.errorLine > 0)
+                    throw new MalformedLineException(lineOffset + chunk.errorLine, chunk.errorMessage);
+                lineOffset += chunk.lines;
+            }
+            return b.build();
+        }
+    }
+
+    private static int countLines(ByteBuffer buf) {
+        int limit = buf.limit();
+        int n = 0;
+        for (int i = 0; i < limit; i++)
+            if (buf.get(i) == '\n')
+                n++;
+        return limit > 0 && buf.get(limit - 1) != '\n' ? n + 1 : n;
+    }
+
+    // chunk start offsets, each just after a '\n' (plus the file size as the last bound)
+    private static long[] chunkBounds(FileChannel ch, long size, int parallelism) throws IOException {
+        long target = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, (size + parallelism - 1) / parallelism));
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long pos = target;
+        while (pos < size) {
+            long boundary = -1;
+            long scan = pos;
+            while (boundary < 0 && scan < size) {
+                probe.clear();
+                int read = ch.read(probe, scan);
+                if (read <= 0)
+                    break;
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        boundary = scan + i + 1;
+                        break;
+                    }
+                }
+                scan += read;
+            }
+            if (boundary < 0 || boundary >= size)
+                break;
+            if (boundary - bounds.get(bounds.size() - 1) > Integer.MAX_VALUE)
+                throw new IOException("line longer than 2 GB near offset " + pos);
+            bounds.add(boundary);
+            pos = boundary + target;
+        }
+        // the last chunk runs to the end of the file, so it needs the same check
+        if (size - bounds.get(bounds.size() - 1) > Integer.MAX_VALUE)
+            throw new IOException("line longer than 2 GB near offset " + bounds.get(bounds.size() - 1));
+        bounds.add(size);
+        long[] out = new long[bounds.size()];
+        for (int i = 0; i < out.length; i++)
+            out[i] = bounds.get(i);
+        return out;
+    }
+
+    private static final class Chunk {
+        long lines;
+        long errorLine;
+        String errorMessage;
+    }
+
+    private static final String[] FIELD_NAMES = { "priority", "arrival", "burst" };
+
+    private static Chunk parse(ByteBuffer buf, Workload.RangeBuilder.Range b) {
+        Chunk out = new Chunk();
+        int limit = buf.limit();
+        long[] fields = new long[3];
+        int[] phases = new int[8];
+        long line = 0;
+        int pos = 0;
+
+        while (pos < limit) {
+            line++;
+            int eol = pos;
+            while (eol < limit && buf.get(eol) != '\n')
+                eol++;
+            int next = eol + 1;
+            int end = eol;
+            if (end > pos && buf.get(end - 1) == '\r')
+                end--;
+
+            int s = skipBlanks(buf, pos, end);
+            // CSVLoader trims the line and String.split drops trailing empty fields
+            while (end > s && isBlank(buf.get(end - 1)))
+                end--;
+            while (end > s && buf.get(end - 1) == ',')
+                end--;
+            if (s >= end || buf.get(s) == '#') {
+                pos = next;
+                continue;
+            }
+
+            // id: up to the first comma, trimmed
+            int comma = s;
+            while (comma < end && buf.get(comma) != ',')
+                comma++;
+            int idEnd = comma;
+            while (idEnd > s && isBlank(buf.get(idEnd - 1)))
+                idEnd--;
+
+            // fewer than four fields -> skip the line, like CSVLoader
+            int commas = 0;
+            for (int i = comma; i < end && commas < 3; i++)
+                if (buf.get(i) == ',')
+                    commas++;
+            if (commas < 3) {
+                pos = next;
+                continue;
+            }
+
+            int p = comma;
+            for (int f = 0; f < 3; f++) {
+                p++; // past the comma
+                int fs = skipBlanks(buf, p, end);
+                int fe = fs;
+                while (fe < end && buf.get(fe) != ',')
+                    fe++;
+                int te = fe;
+                while (te > fs && isBlank(buf.get(te - 1)))
+                    te--;
+                // arrivals are 64-bit times, priority and burst plain ints
+                long v = f == 1 ? parseLong(buf, fs, te) : parseInt(buf, fs, te);
+                if (v == Long.MIN_VALUE) {
+                    out.errorLine = line;
+                    out.errorMessage = "invalid integer in field '" + FIELD_NAMES[f] + "'";
+                    out.lines = line;
+                    return out;
+                }
+                fields[f] = v;
+                p = fe;
+            }
+            if (p == end) {
+                b.add(idString(buf, s, idEnd), (int) fields[0], fields[1], (int) fields[2]);
+                pos = next;
+                continue;
+            }
+
+            // trailing io,burst pairs
+            phases[0] = (int) fields[2];
+            int count = 1;
+            while (p < end) {
+                p++;
+                int fs = skipBlanks(buf, p, end);
+                int fe = fs;
+                while (fe < end && buf.get(fe) != ',')
+                    fe++;
+                int te = fe;
+                while (te > fs && isBlank(buf.get(te - 1)))
+                    te--;
+                long v = parseInt(buf, fs, te);
+                if (v <= 0) {
+                    out.errorLine = line;
+                    out.errorMessage = (v == Long.MIN_VALUE ? "invalid integer" : "non-positive value")
+                            + " in field '" + ((count & 1) == 1 ? "io" : "burst") + "'";
+                    out.lines = line;
+                    return out;
+                }
+                if (count == phases.length)
+                    phases = Arrays.copyOf(phases, count * 2);
+                phases[count++] = (int) v;
+                p = fe;
+            }
+            if ((count & 1) == 0 || phases[0] <= 0) {
+                out.errorLine = line;
+                out.errorMessage = (count & 1) == 0 ? "io burst without a following cpu burst"
+                        : "non-positive value in field 'burst'";
+                out.lines = line;
+                return out;
+            }
+            b.add(idString(buf, s, idEnd), (int) fields[0], fields[1], Arrays.copyOf(phases, count));
+            pos = next;
+        }
+        out.lines = line;
+        return out;
+    }
+
+    private static String idString(ByteBuffer buf, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Long.MIN_VALUE signals an empty, non-numeric or out-of-range field
+    private static long parseInt(ByteBuffer buf, int from, int to) {
+        long v = parseLong(buf, from, to);
+        return v > Integer.MAX_VALUE || v < Integer.MIN_VALUE ? Long.MIN_VALUE : v;
+    }
+
+    private static long parseLong(ByteBuffer buf, int from, int to) {
+        if (from >= to)
+            return Long.MIN_VALUE;
+        boolean neg = false;
+        int i = from;
+        byte c = buf.get(i);
+        if (c == '-' || c == '+') {
+            neg = c == '-';
+            if (++i == to)
+                return Long.MIN_VALUE;
+        }
+        long v = 0;
+        for (; i < to; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9)
+                return Long.MIN_VALUE;
+            if (v > (Long.MAX_VALUE - d) / 10)
+                return Long.MIN_VALUE;
+            v = v * 10 + d;
+        }
+        return neg ? -v : v;
+    }
+
+    private static int skipBlanks(ByteBuffer buf, int from, int to) {
+        while (from < to && isBlank(buf.get(from)))
+            from++;
+        return from;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
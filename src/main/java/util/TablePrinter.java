@@ -1,46 +1,122 @@
 package util;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * ASCII tables. Every line is padded into one reused, pre-sized
+ * {@link StringBuilder} and handed to a single buffered {@link Writer}, so
+ * a million rows cost about as much as copying their text.
+ */
 public class TablePrinter {
+
     public static void printTable(List<String[]> rows, String[] headers) {
+        printTable(rows, headers, 0, 0);
+    }
+
+    /**
+     * @param pageSize repeat the header every {@code pageSize} rows; 0 for none
+     * @param maxRows  print only the first and last {@code maxRows / 2} rows
+     *                 (with a line counting the rest); 0 prints all rows
+     */
+    public static void printTable(List<String[]> rows, String[] headers, int pageSize, int maxRows) {
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+        try {
+            write(out, rows, headers, pageSize, maxRows);
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public static void write(Writer out, List<String[]> rows, String[] headers, int pageSize, int maxRows)
+            throws IOException {
+        if (pageSize < 0 || maxRows < 0)
+            throw new IllegalArgumentException("pageSize >= 0, maxRows >= 0");
+        int n = rows.size();
+        int head = n, tail = 0;
+        if (maxRows > 0 && n > maxRows) {
+            head = (maxRows + 1) / 2;
+            tail = maxRows / 2;
+        }
+
+        // widths only over the rows that are printed
         int cols = headers.length;
         int[] widths = new int[cols];
         for (int i = 0; i < cols; i++)
             widths[i] = headers[i].length();
-        for (String[] row : rows)
-            for (int i = 0; i < cols; i++)
-                widths[i] = Math.max(widths[i], row[i].length());
-        // build format and separator
-        StringBuilder fmt = new StringBuilder();
-        fmt.append("|");
-        StringBuilder sep = new StringBuilder();
-        sep.append("+");
-        for (int w : widths) {
-            fmt.append(" %-").append(w).append("s |");
-            sep.append(repeat('-', w + 2)).append('+');
-        }
+        for (int r = 0; r < head; r++)
+            widen(widths, rows.get(r));
+        for (int r = n - tail; r < n; r++)
+            widen(widths, rows.get(r));
 
-        // header
-        System.out.println(sep.toString());
-        System.out.printf(fmt.toString() + "%n", (Object[]) headers);
-        System.out.println(sep.toString());
+        int lineLength = 1;
+        for (int w : widths)
+            lineLength += w + 3;
+        char[] sepChars = new char[lineLength];
+        Arrays.fill(sepChars, '-');
+        sepChars[0] = '+';
+        for (int i = 0, pos = 0; i < cols; i++) {
+            pos += widths[i] + 3;
+            sepChars[pos] = '+';
+        }
+        String sep = new String(sepChars);
+        StringBuilder line = new StringBuilder(lineLength + 1);
 
-        if (rows.isEmpty()) {
-            System.out.println("(no rows)");
-            System.out.println(sep.toString());
+        out.write(sep);
+        out.write('\n');
+        writeRow(out, line, headers, widths);
+        out.write(sep);
+        out.write('\n');
+        if (n == 0) {
+            out.write("(no rows)\n");
+            out.write(sep);
+            out.write('\n');
             return;
         }
 
-        for (String[] row : rows)
-            System.out.printf(fmt.toString() + "%n", (Object[]) row);
-        System.out.println(sep.toString());
+        int printed = 0;
+        for (int r = 0; r < n; r++) {
+            if (r == head && head + tail < n) {
+                out.write("| ... " + (n - head - tail) + " more rows ...\n");
+                r = n - tail;
+                if (r == n)
+                    break;
+            }
+            if (pageSize > 0 && printed > 0 && printed % pageSize == 0) {
+                out.write(sep);
+                out.write('\n');
+                writeRow(out, line, headers, widths);
+                out.write(sep);
+                out.write('\n');
+            }
+            writeRow(out, line, rows.get(r), widths);
+            printed++;
+        }
+        out.write(sep);
+        out.write('\n');
     }
 
-    private static String repeat(char c, int times) {
-        StringBuilder b = new StringBuilder();
-        for (int i = 0; i < times; i++)
-            b.append(c);
-        return b.toString();
+    private static void widen(int[] widths, String[] row) {
+        for (int i = 0; i < widths.length; i++)
+            widths[i] = Math.max(widths[i], row[i].length());
+    }
+
+    private static void writeRow(Writer out, StringBuilder line, String[] cells, int[] widths) throws IOException {
+        line.setLength(0);
+        line.append('|');
+        for (int i = 0; i < widths.length; i++) {
+            line.append(' ').append(cells[i]);
+            for (int pad = widths[i] - cells[i].length(); pad > 0; pad--)
+                line.append(' ');
+            line.append(" |");
+        }
+        line.append('\n');
+        out.append(line);
     }
 }
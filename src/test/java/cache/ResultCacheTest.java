@@ -0,0 +1,149 @@
+package cache;
+
+import fcfs.FCFSScheduler;
+import fcfs.FCFSSimulator;
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import metrics.SchedulerListener;
+import model.Process;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rr.RoundRobinScheduler;
+import smp.Balancing;
+import smp.SmpScheduler;
+import util.BinaryFormat;
+import util.CSVLoader;
+import util.MappedCSVLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @TempDir
+    Path dir;
+
+    /** Round robin that counts its runs. */
+    private static final class Counting implements Scheduler {
+        final Scheduler inner = new RoundRobinScheduler(3);
+        int runs;
+
+        @Override
+        public ScheduleResult run(Workload w, SchedulerListener listener) {
+            runs++;
+            return inner.run(w, listener);
+        }
+
+        @Override
+        public String config() {
+            return "counting " + inner.config();
+        }
+    }
+
+    private static Workload workload(int n, int seed) {
+        return Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(n, 3, 1, 40, seed));
+    }
+
+    @Test
+    public void repeatedRunsHitTheCache() throws IOException {
+        Workload w = workload(2000, 1);
+        Counting s = new Counting();
+        ResultCache cache = new ResultCache(dir.resolve("c"), 1 << 26);
+
+        ScheduleResult first = cache.run(s, w);
+        ScheduleResult second = cache.run(s, w);
+        // a fresh instance picks up what is on disk
+        ScheduleResult third = new ResultCache(dir.resolve("c"), 1 << 26).run(s, w);
+
+        assertEquals(1, s.runs);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        for (ScheduleResult r : List.of(second, third)) {
+            assertEquals(first.makespan, r.makespan);
+            assertEquals(first.avgTurnaround, r.avgTurnaround, 0.0);
+            assertEquals(first.avgWaiting, r.avgWaiting, 0.0);
+            assertEquals(first.gantt.size(), r.gantt.size());
+            assertEquals(first.metrics.waiting.p99(), r.metrics.waiting.p99());
+            for (int i = 0; i < w.size(); i++)
+                assertEquals(first.processes.get(i).getCompletionTime(), r.processes.get(i).getCompletionTime());
+        }
+    }
+
+    @Test
+    public void keyCoversContentConfigAndUnit() throws IOException {
+        Path csv = dir.resolve("w.csv");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50_000; i++)
+            sb.append("J").append(i % 97).append(',').append(i % 5).append(',').append(i / 3).append(',')
+                    .append(1 + i % 13).append('\n');
+        Files.writeString(csv, sb);
+        Workload mapped = MappedCSVLoader.loadWorkload(csv, 4);
+        List<Process> listed = CSVLoader.load(csv.toString());
+        Path bin = dir.resolve("w.bin");
+        BinaryFormat.writeWorkload(mapped, bin);
+
+        // the same trace however it was loaded
+        Scheduler fcfs = new FCFSScheduler(1);
+        String key = ResultCache.key(fcfs, mapped);
+        assertEquals(key, ResultCache.key(fcfs, Workload.fromProcesses(listed)));
+        assertEquals(key, ResultCache.key(fcfs, BinaryFormat.readWorkload(bin)));
+
+        assertNotEquals(key, ResultCache.key(new FCFSScheduler(2), mapped));
+        assertNotEquals(ResultCache.key(new RoundRobinScheduler(2), mapped),
+                ResultCache.key(new RoundRobinScheduler(3), mapped));
+        assertNotEquals(key, ResultCache.key(fcfs, mapped.withTimeUnit(TimeUnit.MICROSECONDS)));
+        listed.set(123, new Process("J26", 3, 41, 2));
+        assertNotEquals(key, ResultCache.key(fcfs, Workload.fromProcesses(listed)));
+
+        // no config: never cached, still runs
+        SmpScheduler smp = new SmpScheduler(2, Balancing.GLOBAL, 4);
+        assertNull(ResultCache.key(smp, mapped));
+        ResultCache cache = new ResultCache(dir.resolve("c"), 1 << 20);
+        assertEquals(smp.run(mapped).makespan, cache.run(smp, mapped).makespan);
+        assertEquals(0, cache.entries());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws IOException {
+        Workload a = workload(500, 1), b = workload(500, 2), c = workload(500, 3);
+        Scheduler s = new RoundRobinScheduler(4);
+        Path probe = dir.resolve("probe.bin");
+        BinaryFormat.writeSchedule(s.run(a), probe);
+        long entry = Files.size(probe);
+
+        ResultCache cache = new ResultCache(dir.resolve("c"), entry * 5 / 2);
+        cache.run(s, a);
+        cache.run(s, b);
+        assertNotNull(cache.get(s, a)); // a is now the most recent
+        cache.run(s, c);
+
+        assertEquals(2, cache.entries());
+        assertTrue(cache.sizeBytes() <= entry * 5 / 2);
+        assertNotNull(cache.get(s, a));
+        assertNull(cache.get(s, b));
+        assertNotNull(cache.get(s, c));
+        // the bound also applies to what is found on disk
+        assertEquals(1, new ResultCache(dir.resolve("c"), entry * 3 / 2).entries());
+    }
+
+    @Test
+    public void corruptEntryIsAMiss() throws IOException {
+        Workload w = workload(300, 4);
+        Counting s = new Counting();
+        ResultCache cache = new ResultCache(dir.resolve("c"), 1 << 20);
+        cache.run(s, w);
+        Files.write(dir.resolve("c").resolve(ResultCache.key(s, w)), new byte[] { 'C', 'P', 'U', 'B', 1, 2, 3 });
+
+        assertNull(cache.get(s, w));
+        assertEquals(0, cache.entries());
+        cache.run(s, w);
+        assertEquals(2, s.runs);
+        assertNotNull(cache.get(s, w));
+    }
+}
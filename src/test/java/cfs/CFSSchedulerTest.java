@@ -0,0 +1,107 @@
+package cfs;
+
+import fcfs.FCFSSimulator;
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import model.Process;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CFSSchedulerTest {
+
+    @Test
+    public void equalWeightsShareTheTargetLatency() {
+        Workload w = Workload.builder().add("A", 0, 0, 48).add("B", 0, 0, 48).build();
+        ScheduleResult r = new CFSScheduler(24, 3).run(w);
+
+        // two runnable -> 12 ticks each, alternating
+        for (int i = 0; i < 8; i++) {
+            GanttEntry e = r.gantt.get(i);
+            assertEquals(i % 2 == 0 ? "A" : "B", e.id);
+            assertEquals(12 * i, e.start);
+            assertEquals(12 * (i + 1), e.end);
+        }
+        assertEquals(96, r.makespan);
+    }
+
+    @Test
+    public void heavierProcessGetsProportionallyMoreCpu() {
+        // nice -5 (3121) against nice 0 (1024)
+        Workload w = Workload.builder().add("heavy", 5, 0, 1000).add("light", 0, 0, 1000).build();
+        ScheduleResult r = new CFSScheduler().run(w);
+
+        long heavyDone = r.processes.stream().filter(p -> p.getId().equals("heavy")).findFirst().orElseThrow()
+                .getCompletionTime();
+        long lightRan = 0;
+        for (GanttEntry e : r.gantt) {
+            if (e.id.equals("light") && e.start < heavyDone)
+                lightRan += Math.min(e.end, heavyDone) - e.start;
+        }
+        double share = 1000.0 / (1000 + lightRan);
+        assertEquals(3121.0 / (3121 + 1024), share, 0.02);
+    }
+
+    @Test
+    public void manyRunnableStretchThePeriodToMinGranularity() {
+        Workload.Builder b = Workload.builder();
+        for (int i = 0; i < 20; i++)
+            b.add("P" + i, 0, 0, 100);
+        ScheduleResult r = new CFSScheduler(24, 3).run(b.build());
+        // 20 * 3 > 24, so every first slice is the minimum granularity
+        for (int i = 0; i < 20; i++)
+            assertEquals(3, r.gantt.get(i).end - r.gantt.get(i).start);
+    }
+
+    @Test
+    public void niceMappingIsClamped() {
+        assertEquals(1024, CFSScheduler.weightOf(0));
+        assertEquals(88761, CFSScheduler.weightOf(100));
+        assertEquals(15, CFSScheduler.weightOf(-100));
+        assertEquals(-3, CFSScheduler.niceOf(3));
+    }
+
+    @Test
+    public void loneProcessRunsInOneSlice() {
+        Workload w = Workload.builder().add("A", 0, 0, 1000).add("B", 0, 2000, 5).build();
+        ScheduleResult r = new CFSScheduler().run(w);
+        assertEquals(3, r.gantt.size());
+        assertEquals(1000, r.gantt.get(0).end);
+        assertEquals("idle", r.gantt.get(1).id);
+    }
+
+    @Test
+    public void largeRunCompletesEveryJob() {
+        Workload w = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(100_000, 2, 1, 50, 2));
+        ScheduleResult r = new CFSScheduler().run(w);
+        assertEquals(w.size(), r.metrics.turnaround.count());
+        long bursts = 0;
+        for (int j = 0; j < w.size(); j++)
+            bursts += w.burst(j);
+        long busy = r.gantt.stream().filter(e -> !e.id.equals("idle")).mapToLong(e -> e.end - e.start).sum();
+        assertEquals(bursts, busy);
+    }
+
+    @Test
+    public void vruntimeKeepsOrderingPastLongOverflow() {
+        // nice 19 gains ~2^52 vruntime per 2^30 ns run, so 2500 rounds pass 2^63
+        int rounds = 2500;
+        int run = 1 << 30;
+        long period = run + 10_000L;
+        Workload.Builder b = Workload.builder(2 * rounds).timeUnit(TimeUnit.NANOSECONDS);
+        for (int k = 0; k < rounds; k++) {
+            // a long job, then a short one arriving just before it is done
+            b.add("L" + k, -19, k * period, run);
+            b.add("S" + k, -19, k * period + run - 600, 1200);
+        }
+        ScheduleResult r = new CFSScheduler().run(b.build());
+
+        List<Process> ps = r.processes;
+        for (int k = 0; k < rounds; k++)
+            assertTrue(ps.get(2 * k + 1).getStartTime() < ps.get(2 * k).getCompletionTime(), "S" + k + " starved");
+    }
+}
@@ -1,6 +1,7 @@
 package fcfs;
 
 import model.Process;
+import model.Workload;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -53,4 +54,71 @@ public class FCFSSchedulerTest {
         assertEquals("B", r.processes.get(1).getId());
         assertEquals("C", r.processes.get(2).getId());
     }
+
+    @Test
+    public void blockedJobLetsOthersRun() {
+        Workload w = Workload.builder()
+                .add("A", 1, 0, new int[] { 2, 5, 3 })
+                .add("B", 1, 0, 4)
+                .build();
+        ScheduleResult r = new FCFSScheduler(0).run(w);
+
+        // A 0-2, blocked 2-7 while B runs 2-6, idle 6-7, A 7-10
+        assertEquals(10, r.makespan);
+        assertEquals(10, r.processes.get(0).getCompletionTime());
+        assertEquals(6, r.processes.get(1).getCompletionTime());
+        assertEquals("idle", r.gantt.get(2).id);
+        assertEquals(7, r.gantt.get(3).start);
+        // A never waits in the ready queue, B waits 2
+        assertEquals(1.0, r.avgWaiting, 1e-9);
+        assertEquals(90.0, r.cpuUtilizationPercent, 1e-9);
+        assertEquals(50.0, r.ioUtilizationPercent, 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> new srtf.SRTFScheduler().run(w));
+    }
+
+    @Test
+    public void inputListCanBeReused() {
+        List<Process> procs = FCFSSimulator.generateExtremeWorkload(500, 0, 5, 100, 3);
+
+        ScheduleResult first = new FCFSScheduler(2).run(procs);
+        ScheduleResult second = new FCFSScheduler(2).run(procs);
+        ScheduleResult fromColumns = new FCFSScheduler(2).run(Workload.fromProcesses(procs));
+
+        // inputs are not consumed by a run
+        for (Process p : procs) {
+            assertEquals(p.getOriginalBurst(), p.getRemainingBurst());
+            assertEquals(-1, p.getStartTime());
+        }
+        for (ScheduleResult r : List.of(second, fromColumns)) {
+            assertEquals(first.makespan, r.makespan);
+            assertEquals(first.avgTurnaround, r.avgTurnaround, 1e-9);
+            assertEquals(first.avgWaiting, r.avgWaiting, 1e-9);
+            assertEquals(first.gantt.size(), r.gantt.size());
+            for (int i = 0; i < procs.size(); i++) {
+                assertEquals(first.processes.get(i).getId(), r.processes.get(i).getId());
+                assertEquals(first.processes.get(i).getStartTime(), r.processes.get(i).getStartTime());
+                assertTrue(r.processes.get(i).isFinished());
+            }
+        }
+    }
+
+    @Test
+    public void timesPastIntRange() {
+        long base = Integer.MAX_VALUE - 5L;
+        Workload w = Workload.builder()
+                .add("A", 1, base, 10)
+                .add("B", 1, base + 1, Integer.MAX_VALUE)
+                .add("C", 1, 3L << 32, 7)
+                .build();
+        ScheduleResult r = new FCFSScheduler().run(w);
+
+        assertEquals(base + 10, r.processes.get(0).getCompletionTime());
+        assertEquals(base + 10 + Integer.MAX_VALUE, r.processes.get(1).getCompletionTime());
+        assertEquals(3L << 32, r.processes.get(2).getStartTime());
+        assertEquals((3L << 32) + 7, r.makespan);
+        // idle gaps on both sides of the int boundary
+        assertEquals(List.of("idle", "A", "B", "idle", "C"), r.gantt.stream().map(e -> e.id).toList());
+        assertEquals(3L << 32, r.gantt.get(3).end);
+        assertEquals(Integer.MAX_VALUE + 9L, r.metrics.turnaround.max());
+    }
 }
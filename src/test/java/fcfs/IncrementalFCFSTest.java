@@ -0,0 +1,145 @@
+package fcfs;
+
+import model.JobSpec;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalFCFSTest {
+
+    private static List<JobSpec> specs(int n) {
+        List<JobSpec> out = new ArrayList<>();
+        Random rnd = new Random(5);
+        long t = 0;
+        for (int i = 0; i < n; i++) {
+            t += 1 + rnd.nextInt(12); // distinct arrivals, so list order never breaks ties
+            out.add(new JobSpec("J" + i, 1, t, 1 + rnd.nextInt(15)));
+        }
+        return out;
+    }
+
+    private static void assertSameSchedule(ScheduleResult expected, ScheduleResult r) {
+        assertEquals(expected.makespan, r.makespan);
+        assertEquals(expected.avgTurnaround, r.avgTurnaround, 1e-9);
+        assertEquals(expected.avgWaiting, r.avgWaiting, 1e-9);
+        assertEquals(expected.cpuUtilizationPercent, r.cpuUtilizationPercent, 1e-9);
+        assertEquals(expected.metrics.waiting.p99(), r.metrics.waiting.p99());
+        assertEquals(expected.gantt.size(), r.gantt.size());
+        for (int i = 0; i < expected.gantt.size(); i++) {
+            assertEquals(expected.gantt.get(i).id, r.gantt.get(i).id);
+            assertEquals(expected.gantt.get(i).start, r.gantt.get(i).start);
+            assertEquals(expected.gantt.get(i).end, r.gantt.get(i).end);
+        }
+        for (int i = 0; i < expected.processes.size(); i++) {
+            assertEquals(expected.processes.get(i).getId(), r.processes.get(i).getId());
+            assertEquals(expected.processes.get(i).getStartTime(), r.processes.get(i).getStartTime());
+            assertEquals(expected.processes.get(i).getCompletionTime(), r.processes.get(i).getCompletionTime());
+        }
+    }
+
+    @Test
+    public void editResumesFromTheCheckpointBeforeIt() {
+        List<JobSpec> jobs = specs(20_000);
+        IncrementalFCFS inc = new IncrementalFCFS(Workload.fromSpecs(jobs), 2, 1000);
+        assertEquals(0, inc.resumedAt());
+        assertSameSchedule(new FCFSScheduler(2).run(Workload.fromSpecs(jobs)), inc.result());
+
+        // one job in the middle gets a longer burst
+        JobSpec old = jobs.get(12_345);
+        jobs.set(12_345, new JobSpec(old.getId(), 1, old.getArrivalTime(), old.getBurst() + 40));
+        Workload edited = Workload.fromSpecs(jobs);
+        ScheduleResult r = inc.update(edited);
+
+        assertEquals(12_000, inc.resumedAt());
+        assertSameSchedule(new FCFSScheduler(2).run(edited), r);
+
+        // unchanged: nothing is re-simulated
+        inc.update(Workload.fromSpecs(jobs));
+        assertEquals(jobs.size(), inc.resumedAt());
+        assertSameSchedule(new FCFSScheduler(2).run(edited), inc.result());
+    }
+
+    @Test
+    public void jobsAddedRemovedOrReordered() {
+        List<JobSpec> jobs = specs(5_000);
+        IncrementalFCFS inc = new IncrementalFCFS(Workload.fromSpecs(jobs), 0, 512);
+
+        // appended jobs arrive last, so only the tail runs
+        for (int i = 0; i < 300; i++)
+            jobs.add(new JobSpec("late" + i, 1, 1_000_000L + i, 3));
+        inc.update(Workload.fromSpecs(jobs));
+        assertEquals(4608, inc.resumedAt());
+        assertSameSchedule(new FCFSScheduler().run(Workload.fromSpecs(jobs)), inc.result());
+
+        // dropped from the end
+        List<JobSpec> shorter = new ArrayList<>(jobs.subList(0, 3_000));
+        inc.update(Workload.fromSpecs(shorter));
+        assertEquals(2560, inc.resumedAt());
+        assertSameSchedule(new FCFSScheduler().run(Workload.fromSpecs(shorter)), inc.result());
+
+        // a job moved to the front of the list but not in arrival order changes nothing before it
+        shorter.add(0, shorter.remove(2_900));
+        inc.update(Workload.fromSpecs(shorter));
+        assertEquals(3_000, inc.resumedAt());
+        assertSameSchedule(new FCFSScheduler().run(Workload.fromSpecs(shorter)), inc.result());
+
+        // an earlier arrival for the first job redoes everything
+        shorter.set(1, new JobSpec("J0", 1, 0, 99));
+        inc.update(Workload.fromSpecs(shorter));
+        assertEquals(0, inc.resumedAt());
+        assertSameSchedule(new FCFSScheduler().run(Workload.fromSpecs(shorter)), inc.result());
+    }
+
+    @Test
+    public void singleJobEditsMoveItInArrivalOrder() {
+        List<JobSpec> jobs = specs(10_000);
+        Random rnd = new Random(9);
+        IncrementalFCFS inc = new IncrementalFCFS(Workload.fromSpecs(jobs), 1, 500);
+
+        // longer burst in place: resumes at the checkpoint before the job
+        JobSpec old = jobs.get(7_777);
+        jobs.set(7_777, new JobSpec(old.getId(), 1, old.getArrivalTime(), old.getBurst() + 25));
+        inc.edit(7_777, jobs.get(7_777));
+        assertEquals(7_500, inc.resumedAt());
+        assertSameSchedule(new FCFSScheduler(1).run(Workload.fromSpecs(jobs)), inc.result());
+
+        // later and earlier arrivals, including ties with other jobs (broken by job index)
+        for (int e = 0; e < 40; e++) {
+            int job = rnd.nextInt(jobs.size());
+            long arrival = e % 3 == 0 ? jobs.get(rnd.nextInt(jobs.size())).getArrivalTime()
+                    : rnd.nextInt(80_000);
+            jobs.set(job, new JobSpec("E" + e, 2, arrival, rnd.nextInt(20)));
+            ScheduleResult r = inc.edit(job, jobs.get(job));
+            assertSameSchedule(new FCFSScheduler(1).run(Workload.fromSpecs(jobs)), r);
+        }
+
+        // only the priority: nothing to re-run
+        JobSpec j0 = jobs.get(0);
+        inc.edit(0, new JobSpec(j0.getId(), 9, j0.getArrivalTime(), j0.getBurst()));
+        assertEquals(jobs.size(), inc.resumedAt());
+        assertEquals(9, inc.result().processes.stream().filter(p -> p.getSpec().getId().equals(j0.getId())
+                && p.getArrivalTime() == j0.getArrivalTime()).findFirst().orElseThrow().getPriority());
+
+        // a whole-workload update still works after edits
+        List<JobSpec> fresh = specs(3_000);
+        inc.update(Workload.fromSpecs(fresh));
+        assertSameSchedule(new FCFSScheduler(1).run(Workload.fromSpecs(fresh)), inc.result());
+        assertThrows(IndexOutOfBoundsException.class, () -> inc.edit(3_000, j0));
+    }
+
+    @Test
+    public void rejectsIoBursts() {
+        Workload io = Workload.builder().add("A", 0, 0, new int[] { 1, 2, 3 }).build();
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalFCFS(io));
+        IncrementalFCFS inc = new IncrementalFCFS(Workload.builder().build());
+        assertEquals(0, inc.result().makespan);
+        assertThrows(IllegalArgumentException.class, () -> inc.update(io));
+        IncrementalFCFS one = new IncrementalFCFS(Workload.builder().add("A", 0, 0, 4).build());
+        assertThrows(IllegalArgumentException.class, () -> one.edit(0, io.spec(0)));
+    }
+}
@@ -0,0 +1,98 @@
+package fcfs;
+
+import model.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingFCFSSchedulerTest {
+
+    private static List<Process> sample() {
+        return List.of(
+                new Process("A", 1, 0, 2),
+                new Process("B", 1, 1, 3),
+                new Process("C", 1, 9, 1),
+                new Process("D", 1, 9, 4));
+    }
+
+    @Test
+    public void iteratorMatchesBatchScheduler() {
+        ScheduleResult batch = new FCFSScheduler(1).run(sample());
+
+        StreamingFCFSScheduler s = new StreamingFCFSScheduler(1);
+        List<GanttEntry> streamed = new ArrayList<>();
+        s.schedule(sample().iterator()).forEachRemaining(streamed::add);
+
+        assertEquals(batch.gantt.size(), streamed.size());
+        for (int i = 0; i < streamed.size(); i++) {
+            assertEquals(batch.gantt.get(i).id, streamed.get(i).id);
+            assertEquals(batch.gantt.get(i).start, streamed.get(i).start);
+            assertEquals(batch.gantt.get(i).end, streamed.get(i).end);
+        }
+        assertEquals(4, s.stats().completed);
+        assertEquals(batch.makespan, s.stats().time);
+        assertEquals(batch.avgTurnaround, s.stats().avgTurnaround, 1e-9);
+        assertEquals(batch.avgWaiting, s.stats().avgWaiting, 1e-9);
+        assertEquals(batch.cpuUtilizationPercent, s.stats().cpuUtilizationPercent, 1e-9);
+    }
+
+    @Test
+    public void pullsLazilyFromUnboundedSource() {
+        Iterator<Process> endless = new Iterator<Process>() {
+            int i = 0;
+
+            public boolean hasNext() {
+                return true;
+            }
+
+            public Process next() {
+                i++;
+                return new Process("P" + i, 0, i, 1);
+            }
+        };
+
+        StreamingFCFSScheduler s = new StreamingFCFSScheduler();
+        Iterator<GanttEntry> it = s.schedule(endless);
+        for (int k = 0; k < 10_000; k++)
+            it.next();
+
+        // each process arrives exactly as the previous one finishes: idle 0-1, then back to back
+        assertEquals(9_999, s.stats().completed);
+        assertEquals(100.0 * 9_999 / 10_000, s.stats().cpuUtilizationPercent, 1e-9);
+    }
+
+    @Test
+    public void rejectsOutOfOrderArrivals() {
+        StreamingFCFSScheduler s = new StreamingFCFSScheduler();
+        s.accept(new Process("A", 0, 5, 1), e -> {
+        });
+        assertThrows(IllegalArgumentException.class, () -> s.accept(new Process("B", 0, 4, 1), e -> {
+        }));
+    }
+
+    @Test
+    public void processorPublishesEntries() throws Exception {
+        StreamingFCFSScheduler s = new StreamingFCFSScheduler();
+        List<GanttEntry> received = new ArrayList<>();
+        try (SubmissionPublisher<Process> source = new SubmissionPublisher<>()) {
+            var processor = s.processor();
+            source.subscribe(processor);
+            CompletableFuture<Void> done = ((SubmissionPublisher<GanttEntry>) processor).consume(received::add);
+            sample().forEach(source::submit);
+            source.close();
+            done.get(10, TimeUnit.SECONDS);
+        }
+
+        // A, B, idle, C, D
+        assertEquals(5, received.size());
+        assertEquals("idle", received.get(2).id);
+        assertEquals(14, s.stats().time);
+    }
+}
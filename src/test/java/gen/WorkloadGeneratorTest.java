@@ -0,0 +1,119 @@
+package gen;
+
+import fcfs.FCFSScheduler;
+import fcfs.ScheduleResult;
+import fcfs.StreamingFCFSScheduler;
+import model.Process;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.CSVLoader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    private static double mean(Distribution d, int samples) {
+        SplittableRandom rnd = new SplittableRandom(42);
+        long sum = 0;
+        for (int i = 0; i < samples; i++)
+            sum += d.sample(rnd);
+        return (double) sum / samples;
+    }
+
+    @Test
+    public void parallelGenerationMatchesSequential() {
+        WorkloadGenerator gen = new WorkloadGenerator(9, ArrivalProcess.diurnal(50, 0.8, 10_000),
+                Distribution.pareto(2, 1.5), 1, 5);
+        int n = 5 * WorkloadGenerator.BLOCK_JOBS + 123;
+
+        Workload seq = gen.workload(n);
+        ForkJoinPool pool = new ForkJoinPool(6);
+        Workload par;
+        Iterator<Process> it;
+        try {
+            par = gen.workload(n, pool);
+            it = gen.iterator(n, pool);
+            for (int i = 0; i < n; i++) {
+                Process p = it.next();
+                assertEquals(seq.id(i), p.getId());
+                assertEquals(seq.arrival(i), p.getArrivalTime());
+                assertEquals(seq.burst(i), p.getOriginalBurst());
+                assertEquals(seq.priority(i), p.getPriority());
+            }
+            assertFalse(it.hasNext());
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(n, seq.size());
+        assertEquals(n, par.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(seq.arrival(i), par.arrival(i));
+            assertEquals(seq.burst(i), par.burst(i));
+            assertEquals(seq.priority(i), par.priority(i));
+            if (i > 0)
+                assertTrue(seq.arrival(i) >= seq.arrival(i - 1));
+        }
+        assertNotEquals(seq.burst(7), new WorkloadGenerator(10, ArrivalProcess.diurnal(50, 0.8, 10_000),
+                Distribution.pareto(2, 1.5), 1, 5).workload(8).burst(7));
+    }
+
+    @Test
+    public void distributionsHaveTheirMeans() {
+        assertEquals(100.5, mean(Distribution.exponential(100), 200_000), 1.5);
+        // pareto samples never fall below the scale
+        SplittableRandom rnd = new SplittableRandom(1);
+        for (int i = 0; i < 10_000; i++)
+            assertTrue(Distribution.pareto(10, 3).sample(rnd) >= 10);
+        assertEquals(0.9 * 5.5 + 0.1 * 500.5, mean(Distribution.bimodal(5, 500, 0.1), 200_000), 2.0);
+        // lognormal(4, 0.5): mean exp(4 + 0.125)
+        assertEquals(Math.exp(4.125) + 0.5, mean(Distribution.logNormal(4, 0.5), 200_000), 1.0);
+        assertEquals(7, Distribution.parse("const:7").sample(rnd));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.parse("pareto:2"));
+        assertThrows(IllegalArgumentException.class, () -> Distribution.parse("zipf:1"));
+    }
+
+    @Test
+    public void arrivalRatesAreHonoured() {
+        Workload w = new WorkloadGenerator(3, ArrivalProcess.poisson(4), Distribution.constant(1)).workload(100_000);
+        assertEquals(4.0, 100_000.0 / w.arrival(w.size() - 1), 0.1);
+
+        // diurnal: the first half of each period is the busy one
+        Workload d = new WorkloadGenerator(3, ArrivalProcess.diurnal(1, 0.9, 1000), Distribution.constant(1))
+                .workload(50_000);
+        int peak = 0;
+        for (int i = 0; i < d.size(); i++)
+            if (d.arrival(i) % 1000 < 500)
+                peak++;
+        // expected share (1 + 2 * 0.9 / pi) / 2 = 0.786
+        assertEquals(0.786, (double) peak / d.size(), 0.02);
+    }
+
+    @Test
+    public void streamsToCsvAndScheduler() throws IOException {
+        WorkloadGenerator gen = new WorkloadGenerator(5, ArrivalProcess.poisson(0.1), Distribution.exponential(8));
+        Path f = dir.resolve("gen.csv");
+        assertEquals(20_000, gen.writeCsv(20_000, f, null));
+
+        List<Process> loaded = CSVLoader.load(f.toString());
+        ScheduleResult batch = new FCFSScheduler(0).run(loaded);
+        StreamingFCFSScheduler streaming = new StreamingFCFSScheduler(0);
+        for (Iterator<Process> it = gen.iterator(20_000); it.hasNext();)
+            streaming.accept(it.next(), e -> {
+            });
+
+        assertEquals(batch.makespan, streaming.stats().time);
+        assertEquals(batch.avgWaiting, streaming.stats().avgWaiting, 1e-9);
+    }
+}
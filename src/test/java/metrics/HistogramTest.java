@@ -0,0 +1,107 @@
+package metrics;
+
+import fcfs.FCFSSimulator;
+import fcfs.ScheduleResult;
+import model.Process;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import rr.RoundRobinScheduler;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistogramTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        Histogram h = new Histogram();
+        for (int v = 1; v <= 100; v++)
+            h.record(v);
+        assertEquals(100, h.count());
+        assertEquals(50.5, h.mean(), 1e-12);
+        assertEquals(50, h.p50());
+        assertEquals(90, h.p90());
+        assertEquals(99, h.p99());
+        assertEquals(100, h.p999());
+        assertEquals(100, h.max());
+        assertEquals(1, h.min());
+    }
+
+    @Test
+    public void largeValuesStayWithinBucketPrecision() {
+        Random rnd = new Random(3);
+        long[] values = new long[100_000];
+        Histogram h = new Histogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(rnd.nextDouble() * 40);
+            h.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double p : new double[] { 1, 50, 90, 99, 99.9, 100 }) {
+            long exact = values[(int) Math.max(0, Math.ceil(p / 100 * values.length) - 1)];
+            long approx = h.percentile(p);
+            assertTrue(approx >= exact && approx <= exact + exact / 64, p + ": " + approx + " vs " + exact);
+        }
+        assertEquals(values[values.length - 1], h.max());
+    }
+
+    @Test
+    public void bucketBoundariesRoundTrip() {
+        for (long v : new long[] { 0, 127, 128, 129, 255, 256, 1 << 20, Integer.MAX_VALUE, Long.MAX_VALUE }) {
+            int i = Histogram.index(v);
+            assertTrue(Histogram.highestInBucket(i) >= v);
+            if (i > 0)
+                assertTrue(Histogram.highestInBucket(i - 1) < v);
+        }
+    }
+
+    @Test
+    public void mergeEqualsRecordingEverything() {
+        Histogram a = new Histogram(), b = new Histogram(), all = new Histogram();
+        for (int v = 0; v < 5000; v += 7) {
+            (v % 2 == 0 ? a : b).record(v);
+            all.record(v);
+        }
+        a.add(b);
+        assertEquals(all.count(), a.count());
+        assertEquals(all.sum(), a.sum());
+        assertEquals(all.p99(), a.p99());
+        assertEquals(all.min(), a.min());
+        assertEquals(all.max(), a.max());
+    }
+
+    @Test
+    public void schedulerMetricsMatchPerProcessValues() {
+        Workload w = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(500, 3, 1, 50, 2));
+        ScheduleResult r = new RoundRobinScheduler(5).run(w);
+
+        JobMetrics fromProcesses = JobMetrics.of(r.processes);
+        assertEquals(w.size(), r.metrics.turnaround.count());
+        assertEquals(fromProcesses.turnaround.sum(), r.metrics.turnaround.sum());
+        assertEquals(fromProcesses.waiting.p99(), r.metrics.waiting.p99());
+        assertEquals(fromProcesses.response.max(), r.metrics.response.max());
+        assertEquals(r.avgTurnaround, r.metrics.turnaround.mean(), 0.0);
+
+        long maxWait = 0;
+        for (Process p : r.processes)
+            maxWait = Math.max(maxWait, p.getCompletionTime() - p.getArrivalTime() - p.getOriginalBurst());
+        assertEquals(maxWait, r.metrics.waiting.max());
+    }
+
+    @Test
+    public void sumPastLongRangeKeepsTheMean() {
+        Histogram h = new Histogram(), other = new Histogram();
+        for (int i = 0; i < 4; i++)
+            h.record(Long.MAX_VALUE / 2);
+        other.record(Long.MAX_VALUE);
+        h.add(other);
+
+        assertEquals(Long.MAX_VALUE, h.sum());
+        assertEquals(3.0 * Long.MAX_VALUE / 5, h.mean(), 1e-12 * h.mean());
+        h.clear();
+        h.record(3);
+        assertEquals(3, h.sum());
+    }
+}
@@ -0,0 +1,109 @@
+package metrics;
+
+import fcfs.FCFSScheduler;
+import fcfs.FCFSSimulator;
+import fcfs.ScheduleResult;
+import fcfs.Scheduler;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import priority.PreemptivePriorityScheduler;
+import rr.RoundRobinScheduler;
+import smp.Balancing;
+import smp.SmpScheduler;
+import srtf.SRTFScheduler;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulerCountersTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void fcfsCountsSwitchesIdleAndQueueDepth() {
+        Workload w = Workload.builder().add("P1", 1, 0, 3).add("P2", 1, 1, 2).add("P3", 1, 2, 1)
+                .add("P4", 1, 20, 1).build();
+        SchedulerCounters c = new SchedulerCounters();
+        new FCFSScheduler(1).run(w, c);
+
+        assertEquals(4, c.dispatches);
+        assertEquals(0, c.preemptions);
+        assertEquals(4, c.completions);
+        // P1|CS|P2|CS|P3|idle|CS|P4
+        assertEquals(3, c.contextSwitches);
+        assertEquals(3, c.contextSwitchTime);
+        assertEquals(1, c.idlePeriods);
+        assertEquals(20 - 8, c.idleTime);
+        // only P3 is left waiting when P2 is dispatched
+        assertEquals(4, c.readyQueueDepth.count());
+        assertEquals(1, c.readyQueueDepth.sum());
+        assertEquals(1, c.readyQueueDepth.max());
+        assertTrue(c.phaseNanos.keySet().containsAll(List.of("prepare", "simulate", "collect")));
+    }
+
+    @Test
+    public void everyDispatchEndsInCompletionOrPreemption() {
+        Workload w = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(300, 4, 1, 40, 2));
+        List<Scheduler> schedulers = List.of(new RoundRobinScheduler(3), new SRTFScheduler(),
+                new PreemptivePriorityScheduler(), new SmpScheduler(4, Balancing.WORK_STEALING, 3));
+        for (Scheduler s : schedulers) {
+            SchedulerCounters c = new SchedulerCounters();
+            ScheduleResult r = s.run(w, c);
+            String name = s.getClass().getSimpleName();
+            assertEquals(w.size(), c.completions, name);
+            assertEquals(c.dispatches, c.completions + c.preemptions, name);
+            assertEquals(c.dispatches, c.readyQueueDepth.count(), name);
+
+            // a listener must not change the schedule
+            ScheduleResult plain = s.run(w);
+            assertEquals(plain.makespan, r.makespan, name);
+            assertEquals(plain.avgWaiting, r.avgWaiting, 0.0, name);
+        }
+    }
+
+    @Test
+    public void roundRobinPreemptsOnQuantumExpiry() {
+        Workload w = Workload.builder().add("A", 1, 0, 5).add("B", 1, 0, 2).build();
+        SchedulerCounters c = new SchedulerCounters();
+        new RoundRobinScheduler(2).run(w, c);
+
+        // A(0-2) B(2-4) A(4-5 merged to end): A preempted once
+        assertEquals(3, c.dispatches);
+        assertEquals(1, c.preemptions);
+        assertEquals(2, c.contextSwitches);
+        assertEquals(0, c.idlePeriods);
+    }
+
+    @Test
+    public void prometheusTextFormat() throws IOException {
+        Workload w = Workload.builder().add("P1", 1, 0, 3).add("P2", 1, 1, 2).add("P3", 1, 2, 1).build();
+        SchedulerCounters c = new SchedulerCounters();
+        ScheduleResult r = new FCFSScheduler().run(w, c);
+
+        StringWriter out = new StringWriter();
+        PrometheusExporter.write(out, Map.of("scheduler", "fcfs"), c, r.metrics);
+        String text = out.toString();
+        assertTrue(text.contains("# TYPE scheduler_dispatches_total counter\n"));
+        assertTrue(text.contains("scheduler_dispatches_total{scheduler=\"fcfs\"} 3\n"));
+        assertTrue(text.contains("scheduler_ready_queue_depth_bucket{scheduler=\"fcfs\",le=\"0\"} 2\n"));
+        assertTrue(text.contains("scheduler_ready_queue_depth_bucket{scheduler=\"fcfs\",le=\"+Inf\"} 3\n"));
+        assertTrue(text.contains("scheduler_job_turnaround_ticks{scheduler=\"fcfs\",quantile=\"0.5\"} 4\n"));
+        assertTrue(text.contains("scheduler_phase_seconds{scheduler=\"fcfs\",phase=\"simulate\"} "));
+
+        Path f = dir.resolve("scheduler.prom");
+        PrometheusExporter.write(f, Map.of(), c, null);
+        String file = Files.readString(f);
+        assertTrue(file.contains("scheduler_completions_total 3\n"));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
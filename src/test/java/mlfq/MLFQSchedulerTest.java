@@ -0,0 +1,164 @@
+package mlfq;
+
+import fcfs.FCFSSimulator;
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import rr.RoundRobinScheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MLFQSchedulerTest {
+
+    @Test
+    public void singleLevelIsRoundRobin() {
+        Workload w = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(300, 6, 1, 60, 2));
+        ScheduleResult rr = new RoundRobinScheduler(5).run(w);
+        ScheduleResult mlfq = new MLFQScheduler(new int[] { 5 }, 0).run(w);
+        for (int i = 0; i < w.size(); i++)
+            assertEquals(rr.processes.get(i).getCompletionTime(), mlfq.processes.get(i).getCompletionTime());
+        assertEquals(rr.avgWaiting, mlfq.avgWaiting, 1e-9);
+    }
+
+    @Test
+    public void longJobIsDemotedAndRecordsLevels() {
+        Workload w = Workload.builder().add("long", 1, 0, 30).add("short", 1, 5, 2).build();
+        ScheduleResult r = new MLFQScheduler(new int[] { 2, 4, 8 }, 0).run(w);
+
+        // long: L0 0-2, L1 2-5 (cut by the arrival), short 5-7 at L0, long L1 7-8, L2 8-30
+        List<GanttEntry> g = r.gantt;
+        assertEquals(5, g.size());
+        assertSlice(g.get(0), "long", 0, 2, 0);
+        assertSlice(g.get(1), "long", 2, 5, 1);
+        assertSlice(g.get(2), "short", 5, 7, 0);
+        assertSlice(g.get(3), "long", 7, 8, 1);
+        assertSlice(g.get(4), "long", 8, 32, 2);
+    }
+
+    @Test
+    public void boostBringsStarvedJobsBack() {
+        Workload.Builder b = Workload.builder().add("batch", 1, 0, 50);
+        // a steady stream of short interactive jobs that would starve it at level 0
+        for (int t = 1; t < 200; t += 2)
+            b.add("i" + t, 1, t, 2);
+        Workload w = b.build();
+
+        ScheduleResult noBoost = new MLFQScheduler(new int[] { 2, 4 }, 0).run(w);
+        ScheduleResult boost = new MLFQScheduler(new int[] { 2, 4 }, 20).run(w);
+        // without boosts it waits for the stream to end; with them it runs right after the first boost
+        assertEquals(202, secondSlice(noBoost, "batch").start);
+        GanttEntry boosted = secondSlice(boost, "batch");
+        assertEquals(22, boosted.start);
+        assertEquals(0, boosted.level);
+    }
+
+    @Test
+    public void matchesTickByTickReference() {
+        Random rnd = new Random(11);
+        for (int round = 0; round < 40; round++) {
+            int n = 1 + rnd.nextInt(30);
+            Workload.Builder b = Workload.builder();
+            for (int i = 0; i < n; i++)
+                b.add("P" + i, 1, rnd.nextInt(60), 1 + rnd.nextInt(25));
+            Workload w = b.build();
+            int[] quanta = { 1 + rnd.nextInt(3), 2 + rnd.nextInt(5), 4 + rnd.nextInt(8) };
+            int boost = round % 2 == 0 ? 0 : 10 + rnd.nextInt(30);
+
+            ScheduleResult r = new MLFQScheduler(quanta, boost).run(w);
+            int[] expected = reference(w, quanta, boost);
+            int[] order = w.arrivalOrder();
+            for (int k = 0; k < n; k++)
+                assertEquals(expected[order[k]], r.processes.get(k).getCompletionTime(), "round " + round);
+        }
+    }
+
+    @Test
+    public void handlesLargeWorkloads() {
+        Workload w = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(50_000, 3, 1, 200, 3));
+        ScheduleResult r = new MLFQScheduler().run(w);
+        assertEquals(w.size(), r.metrics.turnaround.count());
+    }
+
+    private static void assertSlice(GanttEntry e, String id, int start, int end, int level) {
+        assertEquals(id, e.id);
+        assertEquals(start, e.start);
+        assertEquals(end, e.end);
+        assertEquals(level, e.level);
+    }
+
+    private static GanttEntry secondSlice(ScheduleResult r, String id) {
+        return r.gantt.stream().filter(e -> e.id.equals(id)).skip(1).findFirst().orElseThrow();
+    }
+
+    /** One tick at a time, straight from the rules. */
+    private static int[] reference(Workload w, int[] quanta, int boost) {
+        int n = w.size();
+        int[] order = w.arrivalOrder();
+        int[] rem = new int[n];
+        int[] level = new int[n];
+        int[] used = new int[n];
+        int[] done = new int[n];
+        for (int j = 0; j < n; j++)
+            rem[j] = w.burst(j);
+        List<ArrayDeque<Integer>> queues = new ArrayList<>();
+        for (int l = 0; l < quanta.length; l++)
+            queues.add(new ArrayDeque<>());
+        int bottom = quanta.length - 1;
+
+        int finished = 0, next = 0, cur = -1;
+        for (int t = 0; finished < n; t++) {
+            boolean arrived = false;
+            while (next < n && w.arrival(order[next]) <= t) {
+                queues.get(0).addLast(order[next++]);
+                arrived = true;
+            }
+            boolean boostNow = boost > 0 && t > 0 && t % boost == 0;
+            if (cur >= 0) {
+                int l = level[cur];
+                if (rem[cur] == 0) {
+                    done[cur] = t;
+                    finished++;
+                    cur = -1;
+                } else if (used[cur] == quanta[l]) {
+                    used[cur] = 0;
+                    if (l < bottom)
+                        level[cur] = l + 1;
+                    queues.get(level[cur]).addLast(cur);
+                    cur = -1;
+                } else if ((l > 0 && arrived) || boostNow) {
+                    queues.get(l).addLast(cur);
+                    cur = -1;
+                }
+            }
+            if (boostNow) {
+                for (int l = 1; l < quanta.length; l++) {
+                    while (!queues.get(l).isEmpty())
+                        queues.get(0).addLast(queues.get(l).pollFirst());
+                }
+                for (int j : queues.get(0)) {
+                    level[j] = 0;
+                    used[j] = 0;
+                }
+            }
+            if (cur < 0) {
+                for (ArrayDeque<Integer> q : queues) {
+                    if (!q.isEmpty()) {
+                        cur = q.pollFirst();
+                        break;
+                    }
+                }
+            }
+            if (cur >= 0) {
+                rem[cur]--;
+                used[cur]++;
+            }
+        }
+        return done;
+    }
+}
@@ -0,0 +1,159 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.TimeUnit;
+
+public class WorkloadTest {
+
+    @Test
+    public void roundTripsThroughProcessList() {
+        List<Process> procs = List.of(
+                new Process("A", 3, 5, 2),
+                new Process("B", 1, 0, 7),
+                new Process("A", 2, 1, 4));
+
+        Workload w = Workload.fromProcesses(procs);
+
+        assertEquals(3, w.size());
+        assertEquals(2, w.distinctIds());
+        assertEquals(w.idIndex(0), w.idIndex(2));
+        List<Process> back = w.toProcesses();
+        for (int i = 0; i < procs.size(); i++) {
+            assertEquals(procs.get(i).getId(), back.get(i).getId());
+            assertEquals(procs.get(i).getPriority(), back.get(i).getPriority());
+            assertEquals(procs.get(i).getArrivalTime(), back.get(i).getArrivalTime());
+            assertEquals(procs.get(i).getOriginalBurst(), back.get(i).getRemainingBurst());
+        }
+    }
+
+    @Test
+    public void ioPhasesAreKeptPerJob() {
+        Workload w = Workload.builder(1)
+                .add("A", 0, 0, 4)
+                .add("B", 0, 1, new int[] { 2, 5, 3 })
+                .add("C", 0, 2, 1)
+                .build();
+
+        assertTrue(w.hasIo());
+        assertEquals(1, w.phaseCount(0));
+        assertEquals(3, w.phaseCount(1));
+        assertEquals(5, w.burst(1));
+        assertEquals(5, w.ioTime(1));
+        assertEquals(0, w.ioTime(2));
+        assertArrayEquals(new int[] { 2, 5, 3 }, w.bursts(1));
+        assertEquals(w.spec(1), w.toProcesses().get(1).getSpec());
+        assertThrows(IllegalArgumentException.class, () -> Workload.builder().add("D", 0, 0, new int[] { 2, 5 }));
+
+        // a slice never crosses into the I/O burst
+        ExecutionState s = w.newExecutionState();
+        assertEquals(2, s.runFor(1, 10, 1));
+        assertTrue(s.needsIo(1));
+        assertEquals(8, s.startIo(1, 3));
+        assertEquals(3, s.burstRemaining(1));
+        assertEquals(3, s.runFor(1, 10, 8));
+        assertTrue(s.isFinished(1));
+        assertEquals(5, s.ioBusyTime());
+    }
+
+    @Test
+    public void arrivalOrderIsStable() {
+        Workload.Builder b = Workload.builder(2);
+        b.add("P0", 0, 4, 1).add("P1", 0, 0, 1).add("P2", 0, 4, 1).add("P3", 0, 0, 1).add("P4", 0, 2, 1);
+
+        assertArrayEquals(new int[] { 1, 3, 4, 0, 2 }, b.build().arrivalOrder());
+    }
+
+    @Test
+    public void arrivalOrderBeyondPackedKeys() {
+        // the spread leaves no room for the index bits, so the merge sort path runs
+        Workload.Builder b = Workload.builder();
+        b.add("P0", 0, Long.MAX_VALUE / 2, 1).add("P1", 0, 0, 1).add("P2", 0, Long.MAX_VALUE / 2, 1)
+                .add("P3", 0, -(1L << 40), 1).add("P4", 0, Integer.MAX_VALUE + 1L, 1).add("P5", 0, 0, 1);
+
+        assertArrayEquals(new int[] { 3, 1, 5, 4, 0, 2 }, b.build().arrivalOrder());
+    }
+
+    @Test
+    public void timeUnitIsAWorkloadLabel() {
+        Workload ms = Workload.builder().add("A", 0, 5, 1).build();
+        Workload us = Workload.builder().timeUnit(TimeUnit.MICROSECONDS).add("A", 0, 5, 1).build();
+
+        assertEquals(TimeUnit.MILLISECONDS, ms.timeUnit());
+        assertEquals(TimeUnit.MICROSECONDS, us.timeUnit());
+        assertEquals(TimeUnit.NANOSECONDS, us.withTimeUnit(TimeUnit.NANOSECONDS).timeUnit());
+        assertEquals(5, us.withTimeUnit(TimeUnit.NANOSECONDS).arrival(0));
+        assertEquals(TimeUnit.MICROSECONDS, Workload.concat(List.of(us, us)).timeUnit());
+        assertThrows(IllegalArgumentException.class, () -> Workload.concat(List.of(ms, us)));
+    }
+
+    @Test
+    public void fingerprintFollowsContent() {
+        Workload.Builder b = Workload.builder();
+        for (int i = 0; i < 1000; i++)
+            b.add("P" + (i % 10), i % 3, i, 1 + i % 7);
+        Workload w = b.build();
+        Workload parts = Workload.concat(List.of(
+                Workload.fromProcesses(w.toProcesses().subList(0, 400)),
+                Workload.fromProcesses(w.toProcesses().subList(400, 1000))));
+
+        assertEquals(32, w.fingerprint().length());
+        assertEquals(w.fingerprint(), parts.fingerprint());
+        assertEquals(w.fingerprint(), w.withTimeUnit(TimeUnit.SECONDS).fingerprint());
+
+        // ids, order and I/O phases all count
+        Workload ab = Workload.builder().add("A", 0, 0, 5).add("B", 0, 0, 5).build();
+        assertNotEquals(ab.fingerprint(), Workload.builder().add("B", 0, 0, 5).add("A", 0, 0, 5).build().fingerprint());
+        assertNotEquals(ab.fingerprint(), Workload.builder().add("A", 0, 0, 5).add("C", 0, 0, 5).build().fingerprint());
+        assertNotEquals(Workload.builder().add("A", 0, 0, new int[] { 2, 1, 3 }).build().fingerprint(),
+                Workload.builder().add("A", 0, 0, new int[] { 3, 1, 2 }).build().fingerprint());
+        assertNotEquals(Workload.builder().add("A", 0, 0, new int[] { 2, 1, 3 }).build().fingerprint(),
+                Workload.builder().add("A", 0, 0, 5).build().fingerprint());
+    }
+
+    @Test
+    public void rangeBuilderMatchesBuilderInRangeOrder() {
+        Random rnd = new Random(5);
+        int[] capacities = { 40, 0, 25, 60 };
+        int[] used = { 30, 0, 25, 10 }; // gaps to close
+        Workload.RangeBuilder rb = Workload.rangeBuilder(capacities).timeUnit(TimeUnit.MICROSECONDS);
+        Workload.Builder b = Workload.builder().timeUnit(TimeUnit.MICROSECONDS);
+        long t = 0;
+        for (int r = 0; r < capacities.length; r++) {
+            for (int i = 0; i < used[r]; i++) {
+                String id = "P" + rnd.nextInt(12);
+                t += rnd.nextInt(4);
+                // only the last range does I/O, and not from its first job
+                if (r == 3 && i > 2 && rnd.nextBoolean()) {
+                    int[] bursts = { 1 + rnd.nextInt(5), 1 + rnd.nextInt(9), 1 + rnd.nextInt(5) };
+                    rb.range(r).add(id, i % 3, t, bursts);
+                    b.add(id, i % 3, t, bursts);
+                } else {
+                    int burst = 1 + rnd.nextInt(20);
+                    rb.range(r).add(id, i % 3, t, burst);
+                    b.add(id, i % 3, t, burst);
+                }
+            }
+        }
+        Workload expected = b.build();
+        Workload w = rb.build();
+
+        assertEquals(expected.size(), w.size());
+        assertEquals(expected.distinctIds(), w.distinctIds());
+        assertEquals(expected.fingerprint(), w.fingerprint());
+        assertEquals(TimeUnit.MICROSECONDS, w.timeUnit());
+        assertTrue(w.hasIo());
+        for (int j = 0; j < w.size(); j++) {
+            assertEquals(expected.spec(j), w.spec(j));
+            assertEquals(expected.idIndex(j), w.idIndex(j));
+            assertEquals(expected.ioTime(j), w.ioTime(j));
+        }
+        assertArrayEquals(expected.arrivalOrder(), w.arrivalOrder());
+        assertThrows(IllegalStateException.class,
+                () -> Workload.rangeBuilder(new int[] { 1 }).range(0).add("A", 0, 0, 1).add("B", 0, 0, 1));
+    }
+}
@@ -0,0 +1,123 @@
+package partition;
+
+import fcfs.FCFSScheduler;
+import fcfs.ScheduleResult;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import rr.RoundRobinScheduler;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionedSimulationTest {
+
+    private static Workload hosts(int hosts, int jobsPerHost) {
+        Random rnd = new Random(7);
+        Workload.Builder b = Workload.builder();
+        // interleave hosts so each partition has to be gathered from the whole trace
+        for (int j = 0; j < jobsPerHost; j++) {
+            for (int h = 0; h < hosts; h++)
+                b.add("h" + h + "/j" + j, 1, j * 3 + rnd.nextInt(3), 1 + rnd.nextInt(20));
+        }
+        return b.build();
+    }
+
+    @Test
+    public void splitsByPrefixInKeyOrder() {
+        Workload w = Workload.builder().add("b/1", 1, 0, 2).add("a/1", 1, 0, 3).add("b/2", 1, 1, 1)
+                .add("solo", 1, 2, 4).build();
+        List<PartitionedSimulation.Partition> parts = PartitionedSimulation.split(w,
+                PartitionedSimulation.idPrefix('/'));
+
+        assertEquals(3, parts.size());
+        assertEquals("a", parts.get(0).key);
+        assertEquals("b", parts.get(1).key);
+        assertEquals("solo", parts.get(2).key);
+        assertEquals(2, parts.get(1).workload.size());
+        assertEquals("b/1", parts.get(1).workload.id(0));
+        assertEquals("b/2", parts.get(1).workload.id(1));
+    }
+
+    @Test
+    public void partitionsMatchSeparateRuns() {
+        Workload w = hosts(5, 40);
+        PartitionedSimulation.Result r = PartitionedSimulation.run(w, PartitionedSimulation.idPrefix('/'),
+                new RoundRobinScheduler(4));
+
+        long tat = 0;
+        long makespan = 0;
+        for (PartitionedSimulation.Partition p : PartitionedSimulation.split(w, PartitionedSimulation.idPrefix('/'))) {
+            ScheduleResult alone = new RoundRobinScheduler(4).run(p.workload);
+            tat += Math.round(alone.avgTurnaround * p.workload.size());
+            makespan = Math.max(makespan, alone.makespan);
+        }
+        assertEquals(200, r.jobs);
+        assertEquals(makespan, r.makespan);
+        assertEquals((double) tat / 200, r.avgTurnaround, 1e-9);
+    }
+
+    @Test
+    public void resultIsIdenticalForAnyThreadCount() {
+        Workload w = hosts(64, 50);
+        FCFSScheduler s = new FCFSScheduler(1);
+        PartitionedSimulation.Result expected = PartitionedSimulation.run(w, PartitionedSimulation.idPrefix('/'), s,
+                new ForkJoinPool(1));
+
+        for (int threads : new int[] { 2, 4, 16 }) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                PartitionedSimulation.Result r = PartitionedSimulation.run(w, PartitionedSimulation.idPrefix('/'), s,
+                        pool);
+                assertEquals(expected.makespan, r.makespan);
+                assertEquals(Double.doubleToRawLongBits(expected.avgTurnaround),
+                        Double.doubleToRawLongBits(r.avgTurnaround));
+                assertEquals(Double.doubleToRawLongBits(expected.avgWaiting), Double.doubleToRawLongBits(r.avgWaiting));
+                assertEquals(Double.doubleToRawLongBits(expected.cpuUtilizationPercent),
+                        Double.doubleToRawLongBits(r.cpuUtilizationPercent));
+                for (int i = 0; i < expected.partitions.size(); i++)
+                    assertEquals(expected.partitions.get(i).key, r.partitions.get(i).key);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void ioBurstsAndTimeUnitSurviveTheSplit() {
+        Random rnd = new Random(11);
+        Workload.Builder b = Workload.builder().timeUnit(TimeUnit.MICROSECONDS);
+        for (int j = 0; j < 30; j++) {
+            for (int h = 0; h < 3; h++) {
+                if (rnd.nextBoolean())
+                    b.add("h" + h + "/j" + j, 1, j * 4L, new int[] { 1 + rnd.nextInt(5), 1 + rnd.nextInt(30),
+                            1 + rnd.nextInt(5) });
+                else
+                    b.add("h" + h + "/j" + j, 1, j * 4L, 1 + rnd.nextInt(8));
+            }
+        }
+        Workload w = b.build();
+        List<PartitionedSimulation.Partition> parts = PartitionedSimulation.split(w, PartitionedSimulation.idPrefix('/'));
+        long busy = 0, machineTime = 0, wait = 0;
+        for (PartitionedSimulation.Partition p : parts) {
+            assertEquals(TimeUnit.MICROSECONDS, p.workload.timeUnit());
+            assertTrue(p.workload.hasIo());
+            ScheduleResult alone = new RoundRobinScheduler(2).run(p.workload);
+            for (int j = 0; j < p.workload.size(); j++)
+                busy += p.workload.burst(j);
+            machineTime += alone.makespan;
+            wait += alone.metrics.waiting.sum();
+        }
+
+        PartitionedSimulation.Result r = PartitionedSimulation.run(w, PartitionedSimulation.idPrefix('/'),
+                new RoundRobinScheduler(2));
+        assertEquals((double) wait / w.size(), r.avgWaiting, 1e-9);
+        // I/O time is neither waiting nor CPU busy time
+        assertEquals(100.0 * busy / machineTime, r.cpuUtilizationPercent, 1e-9);
+        for (PartitionedSimulation.Row row : r.partitions)
+            assertTrue(row.busy < row.sumTurnaround - row.sumWaiting);
+    }
+}
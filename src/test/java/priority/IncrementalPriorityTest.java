@@ -0,0 +1,119 @@
+package priority;
+
+import fcfs.ScheduleResult;
+import model.JobSpec;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalPriorityTest {
+
+    private static List<JobSpec> specs(int n) {
+        List<JobSpec> out = new ArrayList<>();
+        Random rnd = new Random(21);
+        long t = 0;
+        for (int i = 0; i < n; i++) {
+            t += rnd.nextInt(20);
+            if (i % 7 == 6) {
+                // the same id, priority and arrival as the job before: only the heap layout orders them
+                JobSpec prev = out.get(i - 1);
+                out.add(new JobSpec(prev.getId(), prev.getPriority(), prev.getArrivalTime(), 1 + rnd.nextInt(18)));
+            } else {
+                out.add(new JobSpec("J" + i, rnd.nextInt(5), t, 1 + rnd.nextInt(18)));
+            }
+        }
+        return out;
+    }
+
+    private static void assertSameSchedule(ScheduleResult expected, ScheduleResult r) {
+        assertEquals(expected.makespan, r.makespan);
+        assertEquals(expected.avgTurnaround, r.avgTurnaround, 1e-9);
+        assertEquals(expected.avgWaiting, r.avgWaiting, 1e-9);
+        assertEquals(expected.cpuUtilizationPercent, r.cpuUtilizationPercent, 1e-9);
+        assertEquals(expected.metrics.waiting.p99(), r.metrics.waiting.p99());
+        assertEquals(expected.gantt.size(), r.gantt.size());
+        for (int i = 0; i < expected.gantt.size(); i++) {
+            assertEquals(expected.gantt.get(i).id, r.gantt.get(i).id);
+            assertEquals(expected.gantt.get(i).start, r.gantt.get(i).start);
+            assertEquals(expected.gantt.get(i).end, r.gantt.get(i).end);
+        }
+        assertEquals(expected.processes.size(), r.processes.size());
+        for (int i = 0; i < expected.processes.size(); i++) {
+            assertEquals(expected.processes.get(i).getId(), r.processes.get(i).getId());
+            assertEquals(expected.processes.get(i).getStartTime(), r.processes.get(i).getStartTime());
+            assertEquals(expected.processes.get(i).getCompletionTime(), r.processes.get(i).getCompletionTime());
+        }
+    }
+
+    @Test
+    public void editsMatchAFullRun() {
+        List<JobSpec> jobs = specs(20_000);
+        IncrementalPriority inc = new IncrementalPriority(Workload.fromSpecs(jobs), 500);
+        assertEquals(0, inc.resumedAt());
+        assertSameSchedule(new PreemptivePriorityScheduler().run(Workload.fromSpecs(jobs)), inc.result());
+
+        // a late priority change only re-runs the tail
+        JobSpec old = jobs.get(19_000);
+        jobs.set(19_000, new JobSpec(old.getId(), old.getPriority() + 3, old.getArrivalTime(), old.getBurst()));
+        inc.edit(19_000, jobs.get(19_000));
+        assertTrue(inc.resumedAt() > 18_000 && inc.resumedAt() <= 19_000, "resumed at " + inc.resumedAt());
+        assertSameSchedule(new PreemptivePriorityScheduler().run(Workload.fromSpecs(jobs)), inc.result());
+
+        // arrivals, bursts and priorities, including ties with other jobs
+        Random rnd = new Random(6);
+        for (int e = 0; e < 40; e++) {
+            int job = rnd.nextInt(jobs.size());
+            JobSpec other = jobs.get(rnd.nextInt(jobs.size()));
+            JobSpec spec = e % 3 == 0 ? new JobSpec(other.getId(), other.getPriority(), other.getArrivalTime(), 5)
+                    : new JobSpec("E" + e, rnd.nextInt(5), rnd.nextInt(200_000), 1 + rnd.nextInt(40));
+            jobs.set(job, spec);
+            assertSameSchedule(new PreemptivePriorityScheduler().run(Workload.fromSpecs(jobs)), inc.edit(job, spec));
+        }
+    }
+
+    @Test
+    public void checkpointsThatSawTheNewArrivalTimeAreSkipped() {
+        List<JobSpec> jobs = specs(400);
+        IncrementalPriority inc = new IncrementalPriority(Workload.fromSpecs(jobs), 1);
+        Random rnd = new Random(2);
+        for (int e = 0; e < 200; e++) {
+            int job = rnd.nextInt(jobs.size());
+            JobSpec other = jobs.get(rnd.nextInt(jobs.size()));
+            jobs.set(job, new JobSpec("E" + e, rnd.nextInt(5), other.getArrivalTime() + rnd.nextInt(3),
+                    1 + rnd.nextInt(25)));
+            assertSameSchedule(new PreemptivePriorityScheduler().run(Workload.fromSpecs(jobs)),
+                    inc.edit(job, jobs.get(job)));
+        }
+    }
+
+    @Test
+    public void updatesMatchAFullRun() {
+        List<JobSpec> jobs = specs(8_000);
+        IncrementalPriority inc = new IncrementalPriority(Workload.fromSpecs(jobs), 256);
+
+        long end = jobs.get(jobs.size() - 1).getArrivalTime();
+        for (int i = 0; i < 200; i++)
+            jobs.add(new JobSpec("late" + i, i % 4, end + 5 * i, 7));
+        inc.update(Workload.fromSpecs(jobs));
+        assertTrue(inc.resumedAt() > 7_000, "resumed at " + inc.resumedAt());
+        assertSameSchedule(new PreemptivePriorityScheduler().run(Workload.fromSpecs(jobs)), inc.result());
+
+        List<JobSpec> shorter = new ArrayList<>(jobs.subList(0, 5_000));
+        shorter.add(0, new JobSpec("moved", 9, shorter.get(4_000).getArrivalTime() + 1, 50));
+        inc.update(Workload.fromSpecs(shorter));
+        assertTrue(inc.resumedAt() > 3_000, "resumed at " + inc.resumedAt());
+        assertSameSchedule(new PreemptivePriorityScheduler().run(Workload.fromSpecs(shorter)), inc.result());
+    }
+
+    @Test
+    public void rejectsIoBursts() {
+        Workload io = Workload.builder().add("A", 0, 0, new int[] { 1, 2, 3 }).build();
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalPriority(io));
+        assertEquals(0, new IncrementalPriority(Workload.builder().build()).result().makespan);
+    }
+}
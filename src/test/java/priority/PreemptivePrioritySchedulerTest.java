@@ -0,0 +1,71 @@
+package priority;
+
+import fcfs.ScheduleResult;
+import model.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PreemptivePrioritySchedulerTest {
+
+    @Test
+    public void guideExampleTimeline() {
+        List<Process> procs = List.of(
+                new Process("P1", 2, 0, 5),
+                new Process("P2", 5, 2, 3),
+                new Process("P3", 3, 4, 2),
+                new Process("P4", 5, 5, 4));
+
+        ScheduleResult r = new PreemptivePriorityScheduler().run(procs);
+
+        assertEquals(14, r.makespan);
+        // P1 0-2, P2 2-5, P4 5-9, P3 9-11, P1 11-14
+        assertEquals(5, r.gantt.size());
+        assertEquals("P4", r.gantt.get(2).id);
+        assertEquals(5, r.gantt.get(2).start);
+        assertEquals(9, r.gantt.get(2).end);
+        assertEquals(14, completion(r, "P1"));
+        assertEquals(11, completion(r, "P3"));
+        // turnarounds 14, 3, 7, 4; waiting 9, 0, 5, 0
+        assertEquals(7.0, r.avgTurnaround, 1e-9);
+        assertEquals(3.5, r.avgWaiting, 1e-9);
+    }
+
+    @Test
+    public void equalPriorityArrivalDoesNotPreempt() {
+        List<Process> procs = List.of(
+                new Process("A", 1, 0, 4),
+                new Process("B", 1, 1, 1),
+                new Process("C", 1, 2, 1));
+
+        ScheduleResult r = new PreemptivePriorityScheduler().run(procs);
+
+        assertEquals("A", r.gantt.get(0).id);
+        assertEquals(4, r.gantt.get(0).end);
+        assertEquals(3, r.gantt.size());
+    }
+
+    @Test
+    public void traceSinkReceivesDecisionsOnly() {
+        List<String> lines = new ArrayList<>();
+        List<Process> procs = List.of(
+                new Process("A", 1, 0, 100),
+                new Process("B", 2, 50, 1));
+
+        new PreemptivePriorityScheduler(lines::add).run(procs);
+
+        assertEquals(List.of(
+                "t=0: running A(prio=1, arr=0, rem=100)",
+                "t=50: running B(prio=2, arr=50, rem=1)",
+                "t=51: finished B",
+                "t=51: running A(prio=1, arr=0, rem=50)",
+                "t=101: finished A"), lines);
+    }
+
+    private static long completion(ScheduleResult r, String id) {
+        return r.processes.stream().filter(p -> id.equals(p.getId())).findFirst().orElseThrow().getCompletionTime();
+    }
+}
@@ -0,0 +1,128 @@
+package rr;
+
+import fcfs.ScheduleResult;
+import model.JobSpec;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalRoundRobinTest {
+
+    private static List<JobSpec> specs(int n) {
+        List<JobSpec> out = new ArrayList<>();
+        Random rnd = new Random(11);
+        long t = 0;
+        for (int i = 0; i < n; i++) {
+            t += rnd.nextInt(20); // some ties, and the queue drains now and then
+            out.add(new JobSpec("J" + i, 1, t, 1 + rnd.nextInt(18)));
+        }
+        return out;
+    }
+
+    private static void assertSameSchedule(ScheduleResult expected, ScheduleResult r) {
+        assertEquals(expected.makespan, r.makespan);
+        assertEquals(expected.avgTurnaround, r.avgTurnaround, 1e-9);
+        assertEquals(expected.avgWaiting, r.avgWaiting, 1e-9);
+        assertEquals(expected.cpuUtilizationPercent, r.cpuUtilizationPercent, 1e-9);
+        assertEquals(expected.metrics.waiting.p99(), r.metrics.waiting.p99());
+        assertEquals(expected.gantt.size(), r.gantt.size());
+        for (int i = 0; i < expected.gantt.size(); i++) {
+            assertEquals(expected.gantt.get(i).id, r.gantt.get(i).id);
+            assertEquals(expected.gantt.get(i).start, r.gantt.get(i).start);
+            assertEquals(expected.gantt.get(i).end, r.gantt.get(i).end);
+        }
+        assertEquals(expected.processes.size(), r.processes.size());
+        for (int i = 0; i < expected.processes.size(); i++) {
+            assertEquals(expected.processes.get(i).getId(), r.processes.get(i).getId());
+            assertEquals(expected.processes.get(i).getStartTime(), r.processes.get(i).getStartTime());
+            assertEquals(expected.processes.get(i).getCompletionTime(), r.processes.get(i).getCompletionTime());
+        }
+    }
+
+    @Test
+    public void editsMatchAFullRun() {
+        List<JobSpec> jobs = specs(20_000);
+        IncrementalRoundRobin inc = new IncrementalRoundRobin(Workload.fromSpecs(jobs), 4, 500);
+        assertEquals(0, inc.resumedAt());
+        assertSameSchedule(new RoundRobinScheduler(4).run(Workload.fromSpecs(jobs)), inc.result());
+
+        // a late edit only re-runs the tail
+        JobSpec old = jobs.get(19_000);
+        jobs.set(19_000, new JobSpec(old.getId(), 1, old.getArrivalTime(), old.getBurst() + 30));
+        inc.edit(19_000, jobs.get(19_000));
+        assertTrue(inc.resumedAt() > 18_000 && inc.resumedAt() <= 19_000, "resumed at " + inc.resumedAt());
+        assertSameSchedule(new RoundRobinScheduler(4).run(Workload.fromSpecs(jobs)), inc.result());
+
+        // later and earlier arrivals, including ties with other jobs
+        Random rnd = new Random(4);
+        for (int e = 0; e < 40; e++) {
+            int job = rnd.nextInt(jobs.size());
+            long arrival = e % 3 == 0 ? jobs.get(rnd.nextInt(jobs.size())).getArrivalTime()
+                    : rnd.nextInt(200_000);
+            jobs.set(job, new JobSpec("E" + e, 1, arrival, 1 + rnd.nextInt(40)));
+            ScheduleResult r = inc.edit(job, jobs.get(job));
+            assertSameSchedule(new RoundRobinScheduler(4).run(Workload.fromSpecs(jobs)), r);
+        }
+
+        // Round Robin ignores priorities
+        JobSpec j0 = jobs.get(0);
+        inc.edit(0, new JobSpec(j0.getId(), 7, j0.getArrivalTime(), j0.getBurst()));
+        assertEquals(jobs.size(), inc.resumedAt());
+    }
+
+    @Test
+    public void checkpointsThatSawTheNewArrivalTimeAreSkipped() {
+        // a checkpoint at every admission, so moved jobs often land right at one whose clock is past them
+        List<JobSpec> jobs = specs(400);
+        IncrementalRoundRobin inc = new IncrementalRoundRobin(Workload.fromSpecs(jobs), 5, 1);
+        Random rnd = new Random(8);
+        for (int e = 0; e < 200; e++) {
+            int job = rnd.nextInt(jobs.size());
+            JobSpec other = jobs.get(rnd.nextInt(jobs.size()));
+            jobs.set(job, new JobSpec("E" + e, 1, other.getArrivalTime() + rnd.nextInt(3), 1 + rnd.nextInt(25)));
+            assertSameSchedule(new RoundRobinScheduler(5).run(Workload.fromSpecs(jobs)), inc.edit(job, jobs.get(job)));
+        }
+    }
+
+    @Test
+    public void updatesMatchAFullRun() {
+        List<JobSpec> jobs = specs(8_000);
+        IncrementalRoundRobin inc = new IncrementalRoundRobin(Workload.fromSpecs(jobs), 3, 256);
+
+        // appended jobs arrive last
+        long end = jobs.get(jobs.size() - 1).getArrivalTime();
+        for (int i = 0; i < 200; i++)
+            jobs.add(new JobSpec("late" + i, 1, end + 5 * i, 7));
+        inc.update(Workload.fromSpecs(jobs));
+        assertTrue(inc.resumedAt() > 7_000, "resumed at " + inc.resumedAt());
+        assertSameSchedule(new RoundRobinScheduler(3).run(Workload.fromSpecs(jobs)), inc.result());
+
+        // dropped from the end, then a job inserted at the front of the list but arriving mid-way
+        List<JobSpec> shorter = new ArrayList<>(jobs.subList(0, 5_000));
+        inc.update(Workload.fromSpecs(shorter));
+        assertSameSchedule(new RoundRobinScheduler(3).run(Workload.fromSpecs(shorter)), inc.result());
+        shorter.add(0, new JobSpec("moved", 1, shorter.get(4_000).getArrivalTime() + 1, 50));
+        inc.update(Workload.fromSpecs(shorter));
+        assertTrue(inc.resumedAt() > 3_000, "resumed at " + inc.resumedAt());
+        assertSameSchedule(new RoundRobinScheduler(3).run(Workload.fromSpecs(shorter)), inc.result());
+        // and single-job edits still line up with the new job indices
+        inc.edit(0, new JobSpec("moved", 1, 0, 9));
+        shorter.set(0, new JobSpec("moved", 1, 0, 9));
+        assertEquals(0, inc.resumedAt());
+        assertSameSchedule(new RoundRobinScheduler(3).run(Workload.fromSpecs(shorter)), inc.result());
+    }
+
+    @Test
+    public void rejectsIoBurstsAndBadQuantum() {
+        Workload io = Workload.builder().add("A", 0, 0, new int[] { 1, 2, 3 }).build();
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalRoundRobin(io, 4));
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalRoundRobin(Workload.builder().build(), 0));
+        IncrementalRoundRobin empty = new IncrementalRoundRobin(Workload.builder().build(), 4);
+        assertEquals(0, empty.result().makespan);
+    }
+}
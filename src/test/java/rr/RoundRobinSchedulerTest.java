@@ -1,15 +1,62 @@
 package rr;
 
+import fcfs.FCFSSimulator;
 import fcfs.ScheduleResult;
+import metrics.SchedulerListener;
 import model.Process;
+import model.Workload;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RoundRobinSchedulerTest {
 
+    @TempDir
+    Path dir;
+
+    /** Stands in for the JVM going away after a number of dispatches. */
+    private static final class Crash extends RuntimeException {
+    }
+
+    private static SchedulerListener crashAfter(int dispatches) {
+        return new SchedulerListener() {
+            int seen;
+
+            @Override
+            public void dispatch(long time, int cpu, int job, int readyDepth) {
+                if (++seen == dispatches)
+                    throw new Crash();
+            }
+        };
+    }
+
+    @Test
+    public void jobsBlockForIoInsteadOfRequeueing() {
+        Workload w = Workload.builder()
+                .add("A", 1, 0, new int[] { 2, 5, 3 })
+                .add("B", 1, 0, 3)
+                .build();
+        ScheduleResult r = new RoundRobinScheduler(1).run(w);
+
+        // A 0-1, B 1-2, A 2-3 then I/O until 8, B 3-5, idle, A 8-11
+        assertEquals(11, r.makespan);
+        assertEquals(11, r.processes.get(0).getCompletionTime());
+        assertEquals(5, r.processes.get(1).getCompletionTime());
+        assertEquals(8, r.gantt.get(r.gantt.size() - 1).start);
+        assertEquals((1 + 2) / 2.0, r.avgWaiting, 1e-9);
+        assertEquals(100.0 * 5 / 11, r.ioUtilizationPercent, 1e-9);
+    }
+
     @Test
     public void sampleCaseMatchesExpectedAverages() {
         List<Process> procs = List.of(
@@ -37,4 +84,168 @@ public class RoundRobinSchedulerTest {
         assertNotNull(p5);
         assertEquals(14, p5.getCompletionTime());
     }
+
+    @Test
+    public void concurrentRunsOnSharedWorkloadAgree() throws Exception {
+        Workload w = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(400, 0, 5, 100, 3));
+        ScheduleResult expected = new RoundRobinScheduler(3).run(w);
+
+        List<java.util.concurrent.CompletableFuture<ScheduleResult>> runs = new java.util.ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            runs.add(java.util.concurrent.CompletableFuture.supplyAsync(() -> new RoundRobinScheduler(3).run(w)));
+
+        for (var f : runs) {
+            ScheduleResult r = f.get();
+            assertEquals(expected.makespan, r.makespan);
+            assertEquals(expected.avgTurnaround, r.avgTurnaround, 1e-9);
+            for (int i = 0; i < w.size(); i++)
+                assertEquals(expected.processes.get(i).getCompletionTime(), r.processes.get(i).getCompletionTime());
+        }
+    }
+
+    @Test
+    public void loneProcessIsOneMergedSlice() {
+        List<Process> procs = List.of(
+                new Process("A", 1, 0, 1_000_000),
+                new Process("B", 1, 2_000_000, 3));
+
+        ScheduleResult r = new RoundRobinScheduler(1).run(procs);
+
+        // A alone, idle gap, B alone
+        assertEquals(2, r.gantt.size());
+        assertEquals(1_000_000, r.gantt.get(0).end);
+        assertEquals(2_000_003, r.makespan);
+    }
+
+    @Test
+    public void matchesQuantumByQuantumReference() {
+        Random rnd = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            List<Process> procs = new ArrayList<>();
+            for (int i = 0; i < 60; i++)
+                procs.add(new Process("P" + i, 1, rnd.nextInt(300), 1 + rnd.nextInt(40)));
+            int q = 1 + rnd.nextInt(8);
+
+            ScheduleResult r = new RoundRobinScheduler(q).run(procs);
+            long[] expected = referenceCompletions(procs, q);
+
+            for (int i = 0; i < procs.size(); i++) {
+                Process p = r.processes.get(i);
+                assertEquals(expected[Integer.parseInt(p.getId().substring(1))], p.getCompletionTime());
+            }
+            for (int i = 1; i < r.gantt.size(); i++) {
+                // merged: no two adjacent entries for the same id that touch
+                assertFalse(r.gantt.get(i).id.equals(r.gantt.get(i - 1).id)
+                        && r.gantt.get(i).start == r.gantt.get(i - 1).end);
+            }
+        }
+    }
+
+    // plain one-quantum-per-step simulation, used as an oracle
+    private static long[] referenceCompletions(List<Process> input, int q) {
+        List<Process> all = new ArrayList<>(input);
+        all.sort((a, b) -> Long.compare(a.getArrivalTime(), b.getArrivalTime()));
+        int n = all.size();
+        int[] remaining = new int[n];
+        long[] completion = new long[n];
+        for (int i = 0; i < n; i++)
+            remaining[i] = all.get(i).getOriginalBurst();
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        long time = 0;
+        int next = 0, done = 0;
+        while (done < n) {
+            if (ready.isEmpty())
+                time = Math.max(time, all.get(next).getArrivalTime());
+            while (next < n && all.get(next).getArrivalTime() <= time)
+                ready.add(next++);
+            int cur = ready.poll();
+            int run = Math.min(q, remaining[cur]);
+            remaining[cur] -= run;
+            time += run;
+            while (next < n && all.get(next).getArrivalTime() <= time)
+                ready.add(next++);
+            if (remaining[cur] == 0) {
+                completion[cur] = time;
+                done++;
+            } else {
+                ready.add(cur);
+            }
+        }
+        long[] byId = new long[n];
+        for (int i = 0; i < n; i++)
+            byId[Integer.parseInt(all.get(i).getId().substring(1))] = completion[i];
+        return byId;
+    }
+
+    @Test
+    public void timesPastIntRange() {
+        long base = 5L << 32;
+        Workload w = Workload.builder()
+                .add("A", 1, base, new int[] { 2, Integer.MAX_VALUE, 3 })
+                .add("B", 1, base + 1, 4)
+                .build();
+        ScheduleResult r = new RoundRobinScheduler(2).run(w);
+
+        // A blocks at base + 2 and wakes MAX_VALUE later, long after B is done
+        assertEquals(base + 6, r.processes.get(1).getCompletionTime());
+        assertEquals(base + 2 + Integer.MAX_VALUE + 3, r.makespan);
+        assertEquals(100.0 * Integer.MAX_VALUE / r.makespan, r.ioUtilizationPercent, 1e-9);
+    }
+
+    @Test
+    public void resumeFromSnapshotMatchesUninterruptedRun() throws IOException {
+        Workload.Builder b = Workload.builder();
+        Random rnd = new Random(11);
+        for (int i = 0; i < 3000; i++) {
+            if (i % 4 == 0)
+                b.add("J" + i, 1, i / 2, new int[] { 1 + rnd.nextInt(20), 1 + rnd.nextInt(40), 1 + rnd.nextInt(20) });
+            else
+                b.add("J" + i, 1, i / 2, 1 + rnd.nextInt(30));
+        }
+        Workload w = b.build();
+        ScheduleResult expected = new RoundRobinScheduler(3).run(w);
+
+        Path file = dir.resolve("rr.snap");
+        RoundRobinScheduler s = new RoundRobinScheduler(3, file, Duration.ZERO);
+        assertThrows(Crash.class, () -> s.run(w, crashAfter(7000)));
+        assertTrue(Files.exists(file));
+        // a resumed run keeps snapshotting, timeline included
+        assertThrows(Crash.class, () -> s.resume(w, file, crashAfter(3000)));
+
+        ScheduleResult r = new RoundRobinScheduler(3).resume(w, file);
+        assertEquals(expected.makespan, r.makespan);
+        assertEquals(expected.avgTurnaround, r.avgTurnaround, 1e-9);
+        assertEquals(expected.avgWaiting, r.avgWaiting, 1e-9);
+        assertEquals(expected.ioUtilizationPercent, r.ioUtilizationPercent, 1e-9);
+        assertEquals(expected.metrics.waiting.p99(), r.metrics.waiting.p99());
+        assertEquals(expected.gantt.size(), r.gantt.size());
+        for (int i = 0; i < expected.gantt.size(); i++) {
+            assertEquals(expected.gantt.get(i).id, r.gantt.get(i).id);
+            assertEquals(expected.gantt.get(i).start, r.gantt.get(i).start);
+            assertEquals(expected.gantt.get(i).end, r.gantt.get(i).end);
+        }
+        for (int i = 0; i < w.size(); i++) {
+            assertEquals(expected.processes.get(i).getStartTime(), r.processes.get(i).getStartTime());
+            assertEquals(expected.processes.get(i).getCompletionTime(), r.processes.get(i).getCompletionTime());
+        }
+
+        // a run that completes removes its snapshot and timeline log
+        s.run(w);
+        try (var left = Files.list(dir)) {
+            assertEquals(0, left.count());
+        }
+    }
+
+    @Test
+    public void snapshotOnlyResumesItsOwnRun() throws IOException {
+        Workload w = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(5000, 0, 5, 100, 3));
+        Path file = dir.resolve("rr.snap");
+        assertThrows(Crash.class, () -> new RoundRobinScheduler(2, file, Duration.ZERO).run(w, crashAfter(4000)));
+
+        assertThrows(IllegalArgumentException.class, () -> new RoundRobinScheduler(3).resume(w, file));
+        Workload other = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(5000, 0, 5, 100, 4));
+        assertThrows(IllegalArgumentException.class, () -> new RoundRobinScheduler(2).resume(other, file));
+        assertEquals(new RoundRobinScheduler(2).run(w).makespan, new RoundRobinScheduler(2).resume(w, file).makespan);
+        assertThrows(IllegalArgumentException.class, () -> new RoundRobinScheduler(2, file, Duration.ofSeconds(-1)));
+    }
 }
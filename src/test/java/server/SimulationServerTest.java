@@ -0,0 +1,151 @@
+package server;
+
+import fcfs.FCFSScheduler;
+import fcfs.ScheduleResult;
+import model.Workload;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rr.RoundRobinScheduler;
+import util.BinaryFormat;
+import util.MappedCSVLoader;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SimulationServerTest {
+
+    private static final String CSV = "P1,1,0,5\nP2,1,1,3\nP3,1,2,1\nP4,1,3,2\nP5,1,4,3\n";
+
+    @TempDir
+    Path dir;
+
+    private ThreadPoolExecutor workers;
+    private SimulationServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    public void start() throws IOException {
+        workers = SimulationServer.boundedWorkers(1, 1);
+        server = new SimulationServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), workers, null);
+        server.start();
+    }
+
+    @AfterEach
+    public void stop() throws InterruptedException {
+        server.stop();
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest req = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return client.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String json(String body, String field) {
+        Matcher m = Pattern.compile("\"" + field + "\":\"?([^,\"}]*)").matcher(body);
+        assertTrue(m.find(), field + " in " + body);
+        return m.group(1);
+    }
+
+    @Test
+    public void uploadOnceAndSimulateByHandle() throws Exception {
+        HttpResponse<String> up = post("/workloads", CSV);
+        assertEquals(201, up.statusCode());
+        String handle = json(up.body(), "handle");
+        assertEquals("5", json(up.body(), "jobs"));
+        // same trace, same handle
+        assertEquals(handle, json(post("/workloads", CSV).body(), "handle"));
+
+        Workload w = MappedCSVLoader.loadWorkload(Files.writeString(dir.resolve("w.csv"), CSV));
+        ScheduleResult rr = new RoundRobinScheduler(2).run(w);
+
+        HttpResponse<String> r = post("/simulate?workload=" + handle + "&scheduler=rr&quantum=2", "");
+        assertEquals(200, r.statusCode());
+        assertEquals(Long.toString(rr.makespan), json(r.body(), "makespan"));
+        assertEquals(rr.avgWaiting, Double.parseDouble(json(r.body(), "avgWaiting")), 1e-9);
+        assertTrue(r.body().contains("\"gantt\":["));
+        assertFalse(post("/simulate?workload=" + handle + "&gantt=false", "").body().contains("\"gantt\""));
+
+        // binary output reads back as a schedule
+        HttpRequest req = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port()
+                + "/simulate?workload=" + handle + "&scheduler=fcfs&cs=1&format=bin"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+        Path bin = client.send(req, HttpResponse.BodyHandlers.ofFile(dir.resolve("r.bin"))).body();
+        ScheduleResult fcfs = BinaryFormat.readSchedule(bin);
+        assertEquals(new FCFSScheduler(1).run(w).makespan, fcfs.makespan);
+        assertEquals(w.size(), fcfs.processes.size());
+
+        // one-off run of the body, and workloads can be dropped
+        assertEquals(Long.toString(rr.makespan), json(post("/simulate?scheduler=rr&quantum=2", CSV).body(),
+                "makespan"));
+        HttpRequest delete = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port()
+                + "/workloads/" + handle)).DELETE().build();
+        assertEquals(204, client.send(delete, HttpResponse.BodyHandlers.discarding()).statusCode());
+        assertEquals(404, post("/simulate?workload=" + handle, "").statusCode());
+    }
+
+    @Test
+    public void sameJobsInAnotherTimeUnitGetTheirOwnHandle() throws Exception {
+        String ms = json(post("/workloads", CSV).body(), "handle");
+        Workload csv = MappedCSVLoader.loadWorkload(Files.writeString(dir.resolve("w.csv"), CSV));
+        Path bin = dir.resolve("ns.bin");
+        BinaryFormat.writeWorkload(csv.withTimeUnit(TimeUnit.NANOSECONDS), bin);
+        HttpRequest req = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.port() + "/workloads"))
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofFile(bin)).build();
+        String ns = json(client.send(req, HttpResponse.BodyHandlers.ofString()).body(), "handle");
+
+        assertNotEquals(ms, ns);
+        assertEquals(200, post("/simulate?workload=" + ms, "").statusCode());
+        assertEquals(200, post("/simulate?workload=" + ns, "").statusCode());
+    }
+
+    @Test
+    public void badRequestsGet400() throws Exception {
+        assertEquals(400, post("/simulate?scheduler=lottery", CSV).statusCode());
+        assertEquals(400, post("/simulate?scheduler=rr&quantum=0", CSV).statusCode());
+        assertEquals(400, post("/simulate?format=xml", CSV).statusCode());
+        assertEquals(400, post("/workloads", "P1,1,zero,5\n").statusCode());
+        // SRTF has no I/O model
+        assertEquals(400, post("/simulate?scheduler=srtf", "P1,1,0,4,10,2\n").statusCode());
+    }
+
+    @Test
+    public void fullQueueIsTurnedAwayWith503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // one worker busy and one request queued fill the pool
+        for (int i = 0; i < 2; i++) {
+            workers.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        HttpResponse<String> r = post("/simulate", CSV);
+        assertEquals(503, r.statusCode());
+        assertTrue(r.headers().firstValue("Retry-After").isPresent());
+
+        release.countDown();
+        while (workers.getActiveCount() > 0 || !workers.getQueue().isEmpty())
+            Thread.sleep(5);
+        assertEquals(200, post("/simulate", CSV).statusCode());
+    }
+}
@@ -0,0 +1,105 @@
+package smp;
+
+import fcfs.FCFSSimulator;
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import rr.RoundRobinScheduler;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SmpSchedulerTest {
+
+    private static Workload workload() {
+        return Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(300, 5, 1, 60, 3));
+    }
+
+    @Test
+    public void singleGlobalCpuMatchesRoundRobin() {
+        Workload w = workload();
+        ScheduleResult expected = new RoundRobinScheduler(4).run(w);
+        SmpResult r = new SmpScheduler(1, Balancing.GLOBAL, 4).run(w);
+
+        assertEquals(expected.makespan, r.makespan);
+        assertEquals(expected.avgTurnaround, r.avgTurnaround, 1e-9);
+        assertEquals(expected.avgWaiting, r.avgWaiting, 1e-9);
+        for (int i = 0; i < w.size(); i++)
+            assertEquals(expected.processes.get(i).getCompletionTime(), r.processes.get(i).getCompletionTime());
+        assertEquals(0, r.migrations);
+    }
+
+    @Test
+    public void busyTimeIsConservedAcrossPolicies() {
+        Workload w = workload();
+        long bursts = 0;
+        for (int j = 0; j < w.size(); j++)
+            bursts += w.burst(j);
+
+        for (Balancing b : Balancing.values()) {
+            SmpResult r = new SmpScheduler(4, b, 5).run(w);
+            long busy = 0;
+            for (int c = 0; c < r.cpus; c++) {
+                for (GanttEntry e : r.cpuGantt.get(c)) {
+                    assertEquals(c, e.cpu);
+                    if (!"idle".equals(e.id))
+                        busy += e.end - e.start;
+                }
+            }
+            assertEquals(bursts, busy, b.name());
+            assertEquals(100.0 * bursts / (4.0 * r.makespan), r.cpuUtilizationPercent, 1e-9);
+            r.processes.forEach(p -> assertTrue(p.getCompletionTime() >= p.getArrivalTime() + p.getOriginalBurst()));
+        }
+    }
+
+    @Test
+    public void affinityNeverMigrates() {
+        SmpResult r = new SmpScheduler(3, Balancing.AFFINITY, 2).run(workload());
+        assertEquals(0, r.migrations);
+    }
+
+    @Test
+    public void stealingBalancesAnImbalancedLoad() {
+        // every job shares one id, so affinity pins them all to CPU 0
+        Workload.Builder b = Workload.builder();
+        for (int i = 0; i < 40; i++)
+            b.add("P", 1, 0, 10);
+        Workload w = b.build();
+
+        SmpResult pinned = new SmpScheduler(4, Balancing.AFFINITY, 10).run(w);
+        SmpResult stealing = new SmpScheduler(4, Balancing.WORK_STEALING, 10).run(w);
+        assertEquals(400, pinned.makespan);
+        assertEquals(100, stealing.makespan);
+        assertTrue(stealing.avgTurnaround < pinned.avgTurnaround);
+    }
+
+    @Test
+    public void globalQueueKeepsCpusBusy() {
+        Workload.Builder b = Workload.builder();
+        b.add("A", 1, 0, 6).add("B", 1, 0, 6).add("C", 1, 0, 6);
+        SmpResult r = new SmpScheduler(2, Balancing.GLOBAL, 3).run(b.build());
+
+        // A B on cpus 0/1, then C and A, then B and C
+        assertEquals(9, r.makespan);
+        assertEquals(100.0, r.cpuUtilizationPercent, 1e-9);
+        List<GanttEntry> cpu0 = r.cpuGantt.get(0);
+        assertEquals("A", cpu0.get(0).id);
+        assertEquals("C", cpu0.get(1).id);
+    }
+
+    @Test
+    public void timesPastIntRange() {
+        Workload.Builder b = Workload.builder();
+        for (int i = 0; i < 40; i++)
+            b.add("P" + i, 1, Integer.MAX_VALUE - 20L + i * (1L << 31), 50);
+        Workload w = b.build();
+        ScheduleResult expected = new RoundRobinScheduler(4).run(w);
+        SmpResult r = new SmpScheduler(1, Balancing.GLOBAL, 4).run(w);
+
+        assertEquals(Integer.MAX_VALUE - 20L + 39 * (1L << 31) + 50, r.makespan);
+        assertEquals(expected.makespan, r.makespan);
+        assertEquals(50.0, r.avgTurnaround, 1e-9);
+    }
+}
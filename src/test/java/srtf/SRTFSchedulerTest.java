@@ -0,0 +1,114 @@
+package srtf;
+
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import model.Process;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SRTFSchedulerTest {
+
+    @Test
+    public void guideExampleTimeline() {
+        List<Process> procs = List.of(
+                new Process("P1", 0, 3, 1),
+                new Process("P2", 0, 1, 4),
+                new Process("P3", 0, 4, 2),
+                new Process("P4", 0, 0, 6),
+                new Process("P5", 0, 2, 3));
+
+        ScheduleResult r = new SRTFScheduler().run(procs);
+
+        // ties on remaining time go to the earlier arrival, so P2 keeps the CPU
+        // when P5 (t=2) and P3 (t=4) arrive with an equal remaining time
+        assertEquals(16, r.makespan);
+        assertEquals(4, completion(r, "P1"));
+        assertEquals(6, completion(r, "P2"));
+        assertEquals(8, completion(r, "P3"));
+        assertEquals(11, completion(r, "P5"));
+        assertEquals(16, completion(r, "P4"));
+
+        // P4 0-1, P2 1-3, P1 3-4, P2 4-6, P3 6-8, P5 8-11, P4 11-16
+        assertEquals(7, r.gantt.size());
+        GanttEntry second = r.gantt.get(1);
+        assertEquals("P2", second.id);
+        assertEquals(1, second.start);
+        assertEquals(3, second.end);
+    }
+
+    @Test
+    public void idleGapAndMergedSlices() {
+        List<Process> procs = List.of(
+                new Process("A", 0, 0, 2),
+                new Process("B", 0, 1, 5),
+                new Process("C", 0, 10, 1));
+
+        ScheduleResult r = new SRTFScheduler().run(procs);
+
+        // A is not preempted by B, B runs alone, then idle until C
+        assertEquals(4, r.gantt.size());
+        assertEquals("B", r.gantt.get(1).id);
+        assertEquals(2, r.gantt.get(1).start);
+        assertEquals(7, r.gantt.get(1).end);
+        assertEquals("idle", r.gantt.get(2).id);
+        assertEquals(11, r.makespan);
+        assertEquals(100.0 * 8 / 11, r.cpuUtilizationPercent, 1e-9);
+    }
+
+    @Test
+    public void matchesPerTickScanOnRandomWorkload() {
+        Random rnd = new Random(7);
+        List<Process> procs = new ArrayList<>();
+        List<Process> copy = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int arrival = rnd.nextInt(400);
+            int burst = 1 + rnd.nextInt(20);
+            procs.add(new Process("P" + i, 0, arrival, burst));
+            copy.add(new Process("P" + i, 0, arrival, burst));
+        }
+
+        ScheduleResult r = new SRTFScheduler().run(procs);
+
+        assertEquals(perTickAvgTurnaround(copy), r.avgTurnaround, 1e-9);
+    }
+
+    // the original tick-by-tick scan, kept as an oracle
+    private static double perTickAvgTurnaround(List<Process> processes) {
+        processes.sort((a, b) -> Long.compare(a.getArrivalTime(), b.getArrivalTime()));
+        int n = processes.size();
+        long time = 0;
+        int complete = 0;
+        long total = 0;
+        while (complete != n) {
+            int shortest = -1;
+            int minRemaining = Integer.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                Process p = processes.get(i);
+                if (p.getArrivalTime() <= time && p.getRemainingBurst() > 0 && p.getRemainingBurst() < minRemaining) {
+                    minRemaining = p.getRemainingBurst();
+                    shortest = i;
+                }
+            }
+            if (shortest == -1) {
+                time++;
+                continue;
+            }
+            processes.get(shortest).runFor(1, time);
+            time++;
+            if (processes.get(shortest).isFinished()) {
+                complete++;
+                total += time - processes.get(shortest).getArrivalTime();
+            }
+        }
+        return (double) total / n;
+    }
+
+    private static long completion(ScheduleResult r, String id) {
+        return r.processes.stream().filter(p -> id.equals(p.getId())).findFirst().orElseThrow().getCompletionTime();
+    }
+}
@@ -0,0 +1,50 @@
+package sweep;
+
+import fcfs.FCFSScheduler;
+import fcfs.FCFSSimulator;
+import fcfs.ScheduleResult;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import rr.RoundRobinScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParameterSweepTest {
+
+    @Test
+    public void concurrentRunsMatchSequentialRunsOnSharedWorkload() {
+        Workload w = Workload.fromProcesses(FCFSSimulator.generateExtremeWorkload(2000, 0, 5, 100, 3));
+        List<ParameterSweep.Config> grid = new ArrayList<>();
+        grid.addAll(ParameterSweep.fcfsContextSwitches(0, 10));
+        grid.addAll(ParameterSweep.roundRobinQuanta(1, 40));
+
+        ForkJoinPool pool = new ForkJoinPool(8);
+        List<ParameterSweep.Row> rows;
+        try {
+            rows = ParameterSweep.run(w, grid, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(51, rows.size());
+        for (int cs = 0; cs <= 10; cs++) {
+            ScheduleResult expected = new FCFSScheduler(cs).run(w.toProcesses());
+            ParameterSweep.Row row = rows.get(cs);
+            assertEquals("FCFS cs=" + cs, row.label);
+            assertEquals(expected.makespan, row.makespan);
+            assertEquals(expected.avgWaiting, row.avgWaiting, 1e-9);
+        }
+        for (int q = 1; q <= 40; q++) {
+            ScheduleResult expected = new RoundRobinScheduler(q).run(w.toProcesses());
+            ParameterSweep.Row row = rows.get(10 + q);
+            assertEquals("RR q=" + q, row.label);
+            assertEquals(expected.makespan, row.makespan);
+            assertEquals(expected.avgTurnaround, row.avgTurnaround, 1e-9);
+            assertEquals(expected.gantt.size(), row.ganttEntries);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package util;
+
+import fcfs.FCFSSimulator;
+import fcfs.ScheduleResult;
+import model.Process;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rr.RoundRobinScheduler;
+import smp.Balancing;
+import smp.SmpScheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import fcfs.FCFSScheduler;
+import java.util.concurrent.TimeUnit;
+
+public class BinaryFormatTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void workloadRoundTrip() throws IOException {
+        Workload w = Workload.builder()
+                .add("A", -3, 10, 5)
+                .add("B", 2, 0, 1)
+                .add("A", 7, Integer.MAX_VALUE, Integer.MAX_VALUE)
+                .add("ünï", 0, 4, 0)
+                .build();
+        Path f = dir.resolve("w.bin");
+
+        BinaryFormat.writeWorkload(w, f);
+        Workload back = BinaryFormat.readWorkload(f);
+
+        assertEquals(w.size(), back.size());
+        assertEquals(3, back.distinctIds());
+        for (int i = 0; i < w.size(); i++) {
+            assertEquals(w.id(i), back.id(i));
+            assertEquals(w.priority(i), back.priority(i));
+            assertEquals(w.arrival(i), back.arrival(i));
+            assertEquals(w.burst(i), back.burst(i));
+        }
+    }
+
+    @Test
+    public void ioPhasesRoundTrip() throws IOException {
+        Workload w = Workload.builder()
+                .add("A", 0, 0, 4)
+                .add("B", 1, 2, new int[] { 3, 7, 1, 2, 5 })
+                .build();
+        Path wf = dir.resolve("io.bin");
+        BinaryFormat.writeWorkload(w, wf);
+        Workload back = BinaryFormat.readWorkload(wf);
+
+        assertTrue(back.hasIo());
+        assertEquals(w.spec(0), back.spec(0));
+        assertEquals(w.spec(1), back.spec(1));
+
+        ScheduleResult r = new RoundRobinScheduler(2).run(w);
+        Path sf = dir.resolve("io-sched.bin");
+        BinaryFormat.writeSchedule(r, sf);
+        ScheduleResult rb = BinaryFormat.readSchedule(sf);
+        assertEquals(r.ioUtilizationPercent, rb.ioUtilizationPercent, 1e-12);
+        assertEquals(r.processes.get(1).getSpec(), rb.processes.get(1).getSpec());
+        assertEquals(r.avgWaiting, rb.metrics.waiting.mean(), 1e-9);
+    }
+
+    @Test
+    public void scheduleRoundTrip() throws IOException {
+        List<Process> procs = FCFSSimulator.generateExtremeWorkload(200, 0, 5, 100, 3);
+        ScheduleResult r = new RoundRobinScheduler(4).run(procs);
+        Path f = dir.resolve("s.bin");
+
+        BinaryFormat.writeSchedule(r, f);
+        ScheduleResult back = BinaryFormat.readSchedule(f);
+
+        assertEquals(r.makespan, back.makespan);
+        assertEquals(r.avgTurnaround, back.avgTurnaround, 0.0);
+        assertEquals(r.avgWaiting, back.avgWaiting, 0.0);
+        assertEquals(r.cpuUtilizationPercent, back.cpuUtilizationPercent, 0.0);
+        assertEquals(r.gantt.size(), back.gantt.size());
+        for (int i = 0; i < r.gantt.size(); i++) {
+            assertEquals(r.gantt.get(i).id, back.gantt.get(i).id);
+            assertEquals(r.gantt.get(i).start, back.gantt.get(i).start);
+            assertEquals(r.gantt.get(i).end, back.gantt.get(i).end);
+        }
+        for (int i = 0; i < r.processes.size(); i++) {
+            assertEquals(r.processes.get(i).getId(), back.processes.get(i).getId());
+            assertEquals(r.processes.get(i).getStartTime(), back.processes.get(i).getStartTime());
+            assertEquals(r.processes.get(i).getCompletionTime(), back.processes.get(i).getCompletionTime());
+        }
+    }
+
+    @Test
+    public void multiCpuScheduleKeepsCpus() throws IOException {
+        List<Process> procs = FCFSSimulator.generateExtremeWorkload(100, 0, 5, 50, 2);
+        ScheduleResult r = new SmpScheduler(3, Balancing.WORK_STEALING, 4).run(Workload.fromProcesses(procs));
+        Path f = dir.resolve("smp.bin");
+
+        BinaryFormat.writeSchedule(r, f);
+        ScheduleResult back = BinaryFormat.readSchedule(f);
+
+        assertEquals(r.gantt.size(), back.gantt.size());
+        for (int i = 0; i < r.gantt.size(); i++) {
+            assertEquals(r.gantt.get(i).start, back.gantt.get(i).start);
+            assertEquals(r.gantt.get(i).cpu, back.gantt.get(i).cpu);
+        }
+    }
+
+    @Test
+    public void deltaEncodingIsCompact() throws IOException {
+        Workload.Builder b = Workload.builder();
+        for (int i = 0; i < 10_000; i++)
+            b.add("J" + (i % 10), 1, 1_000_000 + i, 50);
+        Path f = dir.resolve("dense.bin");
+
+        BinaryFormat.writeWorkload(b.build(), f);
+
+        // id index, priority, arrival delta and burst all fit in one byte each
+        assertTrue(Files.size(f) < 10_000 * 4 + 200, "size " + Files.size(f));
+    }
+
+    @Test
+    public void rejectsWrongKindAndVersion() throws IOException {
+        Path f = dir.resolve("x.bin");
+        BinaryFormat.writeWorkload(Workload.builder().add("A", 1, 0, 1).build(), f);
+        assertThrows(IOException.class, () -> BinaryFormat.readSchedule(f));
+
+        byte[] bytes = Files.readAllBytes(f);
+        bytes[4] = 99;
+        Files.write(f, bytes);
+        IOException ex = assertThrows(IOException.class, () -> BinaryFormat.readWorkload(f));
+        assertTrue(ex.getMessage().contains("version"));
+    }
+
+    @Test
+    public void timesPastIntRangeRoundTrip() throws IOException {
+        Workload w = Workload.builder()
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .add("A", 0, Integer.MAX_VALUE - 1L, 10)
+                .add("B", 0, 7L << 40, 3)
+                .build();
+        Path wf = dir.resolve("ns.bin");
+        BinaryFormat.writeWorkload(w, wf);
+        Workload back = BinaryFormat.readWorkload(wf);
+        assertEquals(TimeUnit.NANOSECONDS, back.timeUnit());
+        assertEquals(7L << 40, back.arrival(1));
+
+        ScheduleResult r = new FCFSScheduler().run(w);
+        Path sf = dir.resolve("ns-schedule.bin");
+        BinaryFormat.writeSchedule(r, sf);
+        ScheduleResult s = BinaryFormat.readSchedule(sf);
+        assertEquals((7L << 40) + 3, s.makespan);
+        assertEquals(Integer.MAX_VALUE + 9L, s.processes.get(0).getCompletionTime());
+        for (int i = 0; i < r.gantt.size(); i++) {
+            assertEquals(r.gantt.get(i).start, s.gantt.get(i).start);
+            assertEquals(r.gantt.get(i).end, s.gantt.get(i).end);
+        }
+        // millisecond workloads carry no unit section
+        Path mf = dir.resolve("ms.bin");
+        BinaryFormat.writeWorkload(w.withTimeUnit(TimeUnit.MILLISECONDS), mf);
+        assertTrue(Files.size(mf) < Files.size(wf));
+    }
+}
@@ -0,0 +1,58 @@
+package util;
+
+import fcfs.GanttEntry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GanttRendererTest {
+
+    private static String render(List<GanttEntry> gantt, int width) throws IOException {
+        StringWriter out = new StringWriter();
+        GanttRenderer.render(gantt, out, width);
+        return out.toString();
+    }
+
+    @Test
+    public void oneColumnPerUnitForShortSchedules() throws IOException {
+        List<GanttEntry> g = List.of(new GanttEntry("P1", 0, 3), new GanttEntry("CS", 3, 4),
+                new GanttEntry("P2", 4, 6));
+        assertEquals("P1P1P1CSP2P2\n", render(g, 120));
+    }
+
+    @Test
+    public void shortSchedulesKeepTheOriginalRendering() throws IOException {
+        // output of the renderer before binning: one- and three-character ids, a zero-length switch, no gap fill
+        List<GanttEntry> g = List.of(new GanttEntry("A", 0, 2), new GanttEntry("CS", 2, 2),
+                new GanttEntry("P10", 2, 5), new GanttEntry("idle", 5, 6), new GanttEntry("B", 6, 7),
+                new GanttEntry("C", 9, 10));
+        assertEquals("AACSP1P1P1idBC\n", render(g, 120));
+    }
+
+    @Test
+    public void subScaleSlicesShareColumns() throws IOException {
+        // 10k one-unit slices alternating A/B, then a long C: width stays at 100 columns
+        List<GanttEntry> g = new ArrayList<>();
+        for (int t = 0; t < 10_000; t++)
+            g.add(new GanttEntry(t % 2 == 0 ? "A" : "B", t, t + 1));
+        g.add(new GanttEntry("C", 10_000, 20_000));
+        String line = render(g, 100).trim();
+
+        assertEquals(100, line.length());
+        assertEquals(50, line.chars().filter(ch -> ch == 'C').count());
+        assertFalse(line.substring(0, 50).contains("C"));
+    }
+
+    @Test
+    public void makespanIsTheLatestEndAndCpusGetLines() throws IOException {
+        // SMP results list entries CPU by CPU, so the last entry is not the latest
+        List<GanttEntry> g = List.of(new GanttEntry("A", 0, 8, 0), new GanttEntry("B", 0, 2, 1),
+                new GanttEntry("C", 4, 6, 1));
+        assertEquals("CPU 0: AAAAAAAA\nCPU 1: BB  CC  \n", render(g, 120));
+    }
+}
@@ -0,0 +1,127 @@
+package util;
+
+import fcfs.FCFSScheduler;
+import fcfs.GanttEntry;
+import fcfs.ScheduleResult;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import rr.RoundRobinScheduler;
+import smp.Balancing;
+import smp.SmpScheduler;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HtmlGanttExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private static String render(ScheduleResult r, HtmlGanttExporter.Options o) throws IOException {
+        StringWriter out = new StringWriter();
+        HtmlGanttExporter.export(r, out, o);
+        return out.toString();
+    }
+
+    private static int count(String s, String needle) {
+        int n = 0;
+        for (int i = s.indexOf(needle); i >= 0; i = s.indexOf(needle, i + 1))
+            n++;
+        return n;
+    }
+
+    @Test
+    public void onePerLaneAndMergedColumns() throws IOException {
+        Workload w = Workload.builder().add("A", 1, 0, 50).add("B<&>", 1, 0, 50).build();
+        ScheduleResult r = new FCFSScheduler(0).run(w);
+        String html = render(r, new HtmlGanttExporter.Options(HtmlGanttExporter.Lanes.PROCESS,
+                HtmlGanttExporter.Format.SVG, 100, 10));
+
+        assertEquals(2, count(html, "<rect"));
+        assertTrue(html.contains(">A</text>"));
+        assertTrue(html.contains(">B&lt;&amp;&gt;</text>"));
+        assertFalse(html.contains("fill-opacity"));
+    }
+
+    @Test
+    public void subPixelSlicesAreAggregated() throws IOException {
+        // two jobs alternating every time unit: 20k slices, each lane half busy everywhere
+        ScheduleResult r = new RoundRobinScheduler(1).run(Workload.builder().add("A", 1, 0, 10_000)
+                .add("B", 1, 0, 10_000).build());
+        assertEquals(20_000, r.gantt.size());
+
+        String html = render(r, new HtmlGanttExporter.Options(HtmlGanttExporter.Lanes.PROCESS,
+                HtmlGanttExporter.Format.SVG, 200, 10));
+        assertEquals(2, count(html, "<rect"));
+        assertEquals(2, count(html, "fill-opacity='0.50'"));
+    }
+
+    @Test
+    public void outputIsBoundedByThePicture() throws IOException {
+        // a million slices on one lane: at most one rectangle per pixel column
+        List<GanttEntry> gantt = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++)
+            gantt.add(new GanttEntry(i % 3 == 0 ? "idle" : "J" + (i % 7), 2 * i, 2 * i + 1 + i % 2, i % 4));
+        ScheduleResult r = new ScheduleResult(List.of(), gantt, 0, 0, 0, 2_000_000);
+        Path f = dir.resolve("big.html");
+
+        HtmlGanttExporter.export(r, f, new HtmlGanttExporter.Options(HtmlGanttExporter.Lanes.CPU,
+                HtmlGanttExporter.Format.SVG, 1000, 100));
+        String html = Files.readString(f);
+        assertTrue(count(html, "<rect") <= 4 * 1000);
+        assertTrue(html.contains(">CPU 3</text>"));
+        assertTrue(Files.size(f) < 1 << 20);
+
+        Path c = dir.resolve("big-canvas.html");
+        HtmlGanttExporter.export(r, c, new HtmlGanttExporter.Options(HtmlGanttExporter.Lanes.CPU,
+                HtmlGanttExporter.Format.CANVAS, 5000, 100));
+        String canvas = Files.readString(c);
+        assertTrue(count(canvas, "G.rects.push(") >= 2);
+        assertTrue(canvas.contains("<canvas id='gantt'"));
+    }
+
+    @Test
+    public void manyLanesShareRows() throws IOException {
+        Workload.Builder b = Workload.builder();
+        for (int i = 0; i < 5000; i++)
+            b.add("P" + i, 1, i, 3);
+        ScheduleResult r = new SmpScheduler(4, Balancing.GLOBAL, 2).run(b.build());
+
+        String html = render(r, new HtmlGanttExporter.Options(HtmlGanttExporter.Lanes.PROCESS,
+                HtmlGanttExporter.Format.SVG, 500, 100));
+        // rows too thin for labels, and never more rectangles than rows x columns
+        assertFalse(html.contains("<text x='4'"));
+        assertTrue(count(html, "<rect") <= 100 * 500);
+        assertTrue(count(html, "<rect") >= 100);
+    }
+
+    @Test
+    public void axisStaysOnThePictureForHugeSpans() throws IOException {
+        for (long makespan : new long[] { 100_000_000_000_000_000L, Long.MAX_VALUE - 1 }) {
+            List<GanttEntry> gantt = List.of(new GanttEntry("A", 0, makespan / 2), new GanttEntry("B", makespan / 2,
+                    makespan));
+            ScheduleResult r = new ScheduleResult(List.of(), gantt, 0, 0, 0, makespan);
+            String html = render(r, new HtmlGanttExporter.Options(HtmlGanttExporter.Lanes.CPU,
+                    HtmlGanttExporter.Format.SVG, 1000, 10));
+
+            Matcher m = Pattern.compile("<line x1='(\\d+)'").matcher(html);
+            int ticks = 0, lastX = -1;
+            while (m.find()) {
+                int x = Integer.parseInt(m.group(1)) - 90;
+                assertTrue(x > lastX && x <= 1000, "tick at " + x);
+                lastX = x;
+                ticks++;
+            }
+            assertTrue(ticks >= 5 && ticks <= 11, ticks + " ticks");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package util;
+
+import model.Process;
+import model.Workload;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedCSVLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void matchesCSVLoaderOnSample() throws IOException {
+        Path f = dir.resolve("w.csv");
+        Files.writeString(f, "# id,priority,arrival,burst\n"
+                + "P1,1,0,5\r\n"
+                + "\n"
+                + "  P2 , 2 , 2 , 3 \n"
+                + "short,1,2\n"
+                + "P3,-1,4,2,6,1\n"
+                + "P4,3,5,4");
+
+        List<Process> expected = CSVLoader.load(f.toString());
+        List<Process> actual = MappedCSVLoader.load(f.toString());
+
+        assertEquals(4, actual.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getPriority(), actual.get(i).getPriority());
+            assertEquals(expected.get(i).getArrivalTime(), actual.get(i).getArrivalTime());
+            assertEquals(expected.get(i).getOriginalBurst(), actual.get(i).getOriginalBurst());
+            assertEquals(expected.get(i).getSpec(), actual.get(i).getSpec());
+        }
+        assertArrayEquals(new int[] { 2, 6, 1 }, actual.get(2).getSpec().getBursts());
+
+        Workload w = CSVLoader.loadWorkload(f.toString());
+        assertEquals(4, w.size());
+        assertArrayEquals(new int[] { 2, 6, 1 }, w.bursts(2));
+        assertEquals(MappedCSVLoader.loadWorkload(f).fingerprint(), w.fingerprint());
+    }
+
+    @Test
+    public void trailingEmptyFieldsAreIgnoredLikeCSVLoader() throws IOException {
+        Path f = dir.resolve("trailing.csv");
+        Files.writeString(f, "J1,0,0,5,\n"
+                + "a,,,\n"
+                + ",,,,\n"
+                + "J2,1,3,4,2,1,,\r\n"
+                + "J3,1,4,2 ,\t\n"
+                + "J4,2,5,,,\n");
+
+        List<Process> expected = CSVLoader.load(f.toString());
+        List<Process> actual = MappedCSVLoader.load(f.toString());
+
+        assertEquals(3, expected.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+            assertEquals(expected.get(i).getSpec(), actual.get(i).getSpec());
+        assertArrayEquals(new int[] { 4, 2, 1 }, actual.get(1).getSpec().getBursts());
+        assertEquals(CSVLoader.loadWorkload(f.toString()).fingerprint(),
+                MappedCSVLoader.loadWorkload(f).fingerprint());
+    }
+
+    @Test
+    public void rejectsUnpairedIoBurst() throws IOException {
+        Path f = dir.resolve("io.csv");
+        Files.writeString(f, "P1,1,0,5,3,2\nP2,1,1,4,3\n");
+
+        MappedCSVLoader.MalformedLineException ex = assertThrows(MappedCSVLoader.MalformedLineException.class,
+                () -> MappedCSVLoader.loadWorkload(f));
+        assertEquals(2, ex.getLineNumber());
+        assertThrows(IllegalArgumentException.class, () -> CSVLoader.load(f.toString()));
+    }
+
+    @Test
+    public void parallelChunksKeepOrderAndInternIds() throws IOException {
+        Path f = dir.resolve("big.csv");
+        Random rnd = new Random(3);
+        StringBuilder sb = new StringBuilder();
+        int n = 300_000; // several MB -> several chunks
+        for (int i = 0; i < n; i++)
+            sb.append("J").append(i % 1000).append(',').append(rnd.nextInt(5)).append(',').append(i).append(',')
+                    .append(1 + rnd.nextInt(100)).append('\n');
+        Files.writeString(f, sb);
+
+        Workload w = MappedCSVLoader.loadWorkload(f, 8);
+
+        assertEquals(n, w.size());
+        assertEquals(1000, w.distinctIds());
+        for (int i = 0; i < n; i += 997) {
+            assertEquals(i, w.arrival(i));
+            assertEquals("J" + (i % 1000), w.id(i));
+        }
+        assertEquals(Workload.fromProcesses(CSVLoader.load(f.toString())).fingerprint(), w.fingerprint());
+        assertEquals(CSVLoader.loadWorkload(f.toString()).fingerprint(), w.fingerprint());
+    }
+
+    @Test
+    public void malformedLineReportsGlobalLineNumber() throws IOException {
+        Path f = dir.resolve("bad.csv");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200_000; i++)
+            sb.append("P").append(i).append(",1,").append(i).append(",10\n");
+        sb.append("oops,1,x7,3\n");
+        Files.writeString(f, sb);
+
+        MappedCSVLoader.MalformedLineException ex = assertThrows(MappedCSVLoader.MalformedLineException.class,
+                () -> MappedCSVLoader.loadWorkload(f, 4));
+        assertEquals(200_001, ex.getLineNumber());
+        assertTrue(ex.getMessage().contains("arrival"));
+    }
+
+    @Test
+    public void arrivalsPastIntRange() throws IOException {
+        Path f = dir.resolve("wide.csv");
+        Files.writeString(f, "A,1,2147483648,5\nB,1,9000000000000000000,3\nC,1,5,2147483648\n");
+
+        MappedCSVLoader.MalformedLineException ex = assertThrows(MappedCSVLoader.MalformedLineException.class,
+                () -> MappedCSVLoader.loadWorkload(f, 1));
+        assertEquals(3, ex.getLineNumber());
+        assertTrue(ex.getMessage().contains("burst"));
+
+        Files.writeString(f, "A,1,2147483648,5\nB,1,9000000000000000000,3\n");
+        Workload w = MappedCSVLoader.loadWorkload(f, 1);
+        assertEquals(2147483648L, w.arrival(0));
+        assertEquals(9_000_000_000_000_000_000L, w.arrival(1));
+        assertEquals(w.arrival(1), CSVLoader.load(f.toString()).get(1).getArrivalTime());
+    }
+
+    @Test
+    public void lastLineOver2GbIsAnIOException() throws IOException {
+        Path f = dir.resolve("huge.csv");
+        Files.writeString(f, "P1,1,0,5\n");
+        // sparse: one 2 GB line without a newline after the first
+        try (RandomAccessFile raf = new RandomAccessFile(f.toFile(), "rw")) {
+            raf.setLength(Integer.MAX_VALUE + 64L);
+        }
+        IOException ex = assertThrows(IOException.class, () -> MappedCSVLoader.loadWorkload(f, 1));
+        assertTrue(ex.getMessage().contains("2 GB"), ex.getMessage());
+    }
+}
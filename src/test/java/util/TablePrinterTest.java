@@ -0,0 +1,56 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TablePrinterTest {
+
+    private static String table(List<String[]> rows, int pageSize, int maxRows) throws IOException {
+        StringWriter out = new StringWriter();
+        TablePrinter.write(out, rows, new String[] { "ID", "Value" }, pageSize, maxRows);
+        return out.toString();
+    }
+
+    private static List<String[]> rows(int n) {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            rows.add(new String[] { "P" + i, Long.toString((long) i * i) });
+        return rows;
+    }
+
+    @Test
+    public void padsColumnsToTheWidestCell() throws IOException {
+        assertEquals("+-----+-------+\n"
+                + "| ID  | Value |\n"
+                + "+-----+-------+\n"
+                + "| P0  | 0     |\n"
+                + "| P1  | 1     |\n"
+                + "| P10 | 100   |\n"
+                + "+-----+-------+\n", table(List.of(rows(11).get(0), rows(11).get(1), rows(11).get(10)), 0, 0));
+        assertTrue(table(List.of(), 0, 0).contains("(no rows)"));
+    }
+
+    @Test
+    public void truncatesToHeadAndTail() throws IOException {
+        String out = table(rows(1_000_000), 0, 4);
+        String[] lines = out.split("\n");
+        // sep, header, sep, 2 head rows, omitted line, 2 tail rows, sep
+        assertEquals(9, lines.length);
+        assertEquals("| P1      | 1            |", lines[4]);
+        assertEquals("| ... 999996 more rows ...", lines[5]);
+        assertEquals("| P999999 | 999998000001 |", lines[7]);
+    }
+
+    @Test
+    public void repeatsHeaderPerPage() throws IOException {
+        String out = table(rows(10), 4, 0);
+        assertEquals(3, out.split("\\| ID", -1).length - 1);
+        assertEquals(10, out.split("\\| P", -1).length - 1);
+    }
+}